@@ -4,6 +4,7 @@ plugins {
     id("java-library")
     id("maven-publish")
     id("org.jreleaser") version "1.18.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.kaktushose"
@@ -96,6 +97,10 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion = "1.37"
+}
+
 java {
     toolchain {
         languageVersion = JavaLanguageVersion.of(23)
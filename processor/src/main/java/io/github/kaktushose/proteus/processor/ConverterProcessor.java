@@ -0,0 +1,187 @@
+package io.github.kaktushose.proteus.processor;
+
+import io.github.kaktushose.proteus.annotation.GenerateConverter;
+import io.github.kaktushose.proteus.annotation.GenerateConverters;
+import io.github.kaktushose.proteus.annotation.Mapping;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/// Generates the converters declared by [GenerateConverter] annotations.
+///
+/// The graph consists of all methods annotated with [Mapping] of the current compilation. For every declared
+/// conversion the shortest lossy and lossless paths are resolved and written as plain Java code into a class named
+/// `<Annotated>Converters`, placed next to the annotated type.
+///
+/// Mappers are collected over all rounds, thus methods annotated with [Mapping] in sources generated by other processors
+/// are part of the graph, too. The converters of a type are generated as soon as every declared conversion has a path.
+/// Otherwise, they are deferred while rounds keep adding methods annotated with [Mapping] or [GenerateConverter], and
+/// generated in the first round that doesn't add any. Converters are never generated in the final round, because the
+/// compiler warns about sources created in the final round, which fails builds that treat warnings as errors. If a
+/// conversion still has no path once processing is over, an error is reported instead.
+public final class ConverterProcessor extends AbstractProcessor {
+
+    private static final String GENERATE_CONVERTER = GenerateConverter.class.getCanonicalName();
+    private static final String GENERATE_CONVERTERS = GenerateConverters.class.getCanonicalName();
+
+    private final List<MapperMethod> mappers = new ArrayList<>();
+    private final Set<String> pending = new LinkedHashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Mapping.class.getCanonicalName(), GENERATE_CONVERTER, GENERATE_CONVERTERS);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        boolean added = false;
+        for (Element element : roundEnv.getElementsAnnotatedWith(Mapping.class)) {
+            added = true;
+            MapperMethod mapper = MapperMethod.of((ExecutableElement) element, processingEnv.getTypeUtils(), processingEnv.getMessager());
+            if (mapper != null) {
+                mappers.add(mapper);
+            }
+        }
+        // elements must not be reused across rounds, thus only their names are kept
+        for (Class<? extends Annotation> annotation : List.of(GenerateConverter.class, GenerateConverters.class)) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                added = true;
+                pending.add(((TypeElement) element).getQualifiedName().toString());
+            }
+        }
+
+        PathFinder finder = new PathFinder(mappers);
+        for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            TypeElement element = processingEnv.getElementUtils().getTypeElement(iterator.next());
+            // a later round might still add the missing mappers, unless this round didn't add anything
+            if (added && !roundEnv.processingOver() && !resolvable(element, finder)) {
+                continue;
+            }
+            iterator.remove();
+            // in the final round, only deferred types without a path are left, thus nothing gets written
+            generate(element, finder);
+        }
+        return true;
+    }
+
+    // whether every declared conversion of the element has a path, conversions that are invalid anyway don't count
+    private boolean resolvable(TypeElement element, PathFinder finder) {
+        for (AnnotationMirror annotation : conversions(element)) {
+            String source = classValue(annotation, "source");
+            String target = classValue(annotation, "target");
+            if (source != null && target != null && !source.equals(target) && finder.find(source, target, false) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement element, PathFinder finder) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        String className = element.getSimpleName() + "Converters";
+        ConverterWriter writer = new ConverterWriter(packageName, className, element.getQualifiedName().toString());
+
+        Set<String> names = new HashSet<>();
+        boolean valid = true;
+        for (AnnotationMirror annotation : conversions(element)) {
+            String source = classValue(annotation, "source");
+            String target = classValue(annotation, "target");
+            if (source == null || target == null) {
+                error("Converters can only be generated between class types", element, annotation);
+                valid = false;
+                continue;
+            }
+
+            String name = "convert%sTo%s".formatted(simpleName(source), simpleName(target));
+            if (!names.add(name)) {
+                error("Duplicate converter '%s'".formatted(name), element, annotation);
+                valid = false;
+                continue;
+            }
+
+            if (source.equals(target)) {
+                writer.conversion(name, source, target, List.of(), List.of());
+                continue;
+            }
+            List<MapperMethod> lossy = finder.find(source, target, false);
+            if (lossy == null) {
+                error("Found no path to convert from '%s' to '%s'!".formatted(source, target), element, annotation);
+                valid = false;
+                continue;
+            }
+            writer.conversion(name, source, target, lossy, finder.find(source, target, true));
+        }
+
+        if (!valid) {
+            return;
+        }
+        try (Writer out = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, element).openWriter()) {
+            out.write(writer.write());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write %s: %s".formatted(className, e.getMessage()), element);
+        }
+    }
+
+    // returns the GenerateConverter annotations of the element, both direct and wrapped by GenerateConverters
+    private List<AnnotationMirror> conversions(Element element) {
+        List<AnnotationMirror> conversions = new ArrayList<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (name.equals(GENERATE_CONVERTER)) {
+                conversions.add(annotation);
+            } else if (name.equals(GENERATE_CONVERTERS)) {
+                AnnotationValue value = value(annotation, "value");
+                if (value != null && value.getValue() instanceof List<?> wrapped) {
+                    for (Object entry : wrapped) {
+                        conversions.add((AnnotationMirror) ((AnnotationValue) entry).getValue());
+                    }
+                }
+            }
+        }
+        return conversions;
+    }
+
+    @Nullable
+    private String classValue(AnnotationMirror annotation, String name) {
+        AnnotationValue value = value(annotation, name);
+        if (value == null || !(value.getValue() instanceof TypeMirror type) || !(type instanceof DeclaredType)) {
+            return null;
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    @Nullable
+    private static AnnotationValue value(AnnotationMirror annotation, String name) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private static String simpleName(@NotNull String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    private void error(String message, Element element, AnnotationMirror annotation) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element, annotation);
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.kaktushose.proteus.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/// Writes the source code of a class holding generated converters.
+///
+/// Every distinct path becomes a private method that calls the mappers along the path in straight-line code. The
+/// contexts of the failures are held by a `GeneratedPath` constant per path.
+final class ConverterWriter {
+
+    private final String packageName;
+    private final String className;
+    private final String declaringType;
+    private final List<String> constants = new ArrayList<>();
+    private final List<String> methods = new ArrayList<>();
+    private final List<List<MapperMethod>> paths = new ArrayList<>();
+
+    /// Creates a new [ConverterWriter].
+    ///
+    /// @param packageName   the package of the generated class
+    /// @param className     the simple name of the generated class
+    /// @param declaringType the qualified name of the type declaring the conversions
+    ConverterWriter(@NotNull String packageName, @NotNull String className, @NotNull String declaringType) {
+        this.packageName = packageName;
+        this.className = className;
+        this.declaringType = declaringType;
+    }
+
+    /// Adds the converter methods of a declared conversion.
+    ///
+    /// @param name     the name of the converter methods
+    /// @param source   the qualified source class
+    /// @param target   the qualified target class
+    /// @param lossy    the path used for lossy conversions, empty if the source and target are equal
+    /// @param lossless the path used for lossless conversions or `null` if only lossy paths exist
+    void conversion(@NotNull String name,
+                    @NotNull String source,
+                    @NotNull String target,
+                    @NotNull List<MapperMethod> lossy,
+                    @Nullable List<MapperMethod> lossless) {
+        String body;
+        if (lossy.isEmpty()) {
+            body = "return new ConversionResult.Success<>(value, true);";
+        } else {
+            String lossyPath = path(lossy, source, target);
+            if (lossless == null) {
+                body = "return lossless ? GeneratedPath.noLosslessPath(%s.class, %s.class) : %s(value, false);".formatted(source, target, lossyPath);
+            } else if (lossless.equals(lossy)) {
+                body = "return %s(value, lossless);".formatted(lossyPath);
+            } else {
+                body = "return lossless ? %s(value, true) : %s(value, false);".formatted(path(lossless, source, target), lossyPath);
+            }
+        }
+
+        methods.add("""
+                    /// Converts the given value from [%1$s] to [%2$s], see `Proteus#convert(Object, Type, Type)`.
+                    ///
+                    /// @param value the value to convert
+                    /// @return a [ConversionResult] either holding the converted value or the error
+                    public static ConversionResult<%2$s> %3$s(%1$s value) {
+                        return %3$s(value, false);
+                    }
+
+                    /// Converts the given value from [%1$s] to [%2$s], see `Proteus#convert(Object, Type, Type, boolean)`.
+                    ///
+                    /// @param value    the value to convert
+                    /// @param lossless whether to convert lossless or not
+                    /// @return a [ConversionResult] either holding the converted value or the error
+                    public static ConversionResult<%2$s> %3$s(%1$s value, boolean lossless) {
+                        %4$s
+                    }
+                """.formatted(source, target, name, body));
+    }
+
+    // returns the name of the method executing the given path, writing it on first use
+    private String path(List<MapperMethod> path, String source, String target) {
+        int index = paths.indexOf(path);
+        if (index >= 0) {
+            return "path" + index;
+        }
+        index = paths.size();
+        paths.add(path);
+
+        String constant = "PATH_" + index;
+        String types = path.stream().map(step -> step.target() + ".class").collect(Collectors.joining(", ", source + ".class, ", ""));
+        String mappers = path.stream()
+                .map(step -> "Mapper.<%s, %s>uni((source, context) -> %s)".formatted(step.sourceType(), step.targetType(), call(step, "source", "context")))
+                .collect(Collectors.joining(",\n                        "));
+        constants.add("""
+                    private static final GeneratedPath %s = GeneratedPath.of(
+                            List.of(%s),
+                            List.of(
+                                    %s
+                            )
+                    );
+                """.formatted(constant, types, mappers.replace("\n", "\n        ")));
+
+        StringBuilder body = new StringBuilder("boolean lastLossless;\n");
+        String value = "value";
+        for (int i = 0; i < path.size(); i++) {
+            MapperMethod step = path.get(i);
+            String next = "v" + i;
+            body.append("""
+                    %1$s %2$s;
+                    switch (%3$s) {
+                        case MappingResult.Lossless<%1$s>(var success) -> {
+                            %2$s = success;
+                            lastLossless = true;
+                        }
+                        case MappingResult.Lossy<%1$s>(var success) -> {
+                            if (lossless) {
+                                return %4$s.noLosslessConversion(%5$d);
+                            }
+                            %2$s = success;
+                            lastLossless = false;
+                        }
+                        case MappingResult.Failure<%1$s>(var message) -> {
+                            return %4$s.mappingFailed(%5$d, message);
+                        }
+                    }
+                    """.formatted(step.targetType(), next, call(step, value, "%s.mappingContext(%d)".formatted(constant, i)), constant, i));
+            value = next;
+        }
+        body.append("return new ConversionResult.Success<>(%s, lastLossless);".formatted(value));
+
+        methods.add("""
+                    private static ConversionResult<%s> path%d(%s value, boolean lossless) {
+                        %s
+                    }
+                """.formatted(target, index, source, body.toString().replace("\n", "\n            ")));
+        return "path" + index;
+    }
+
+    private static String call(MapperMethod step, String value, String context) {
+        if (step.context()) {
+            return "%s.%s(%s, %s)".formatted(step.owner(), step.name(), value, context);
+        }
+        return "%s.%s(%s)".formatted(step.owner(), step.name(), value);
+    }
+
+    /// Writes the source code of the generated class.
+    ///
+    /// @return the source code
+    @NotNull
+    String write() {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("""
+                import io.github.kaktushose.proteus.annotation.GeneratedPath;
+                import io.github.kaktushose.proteus.conversion.ConversionResult;
+                import io.github.kaktushose.proteus.mapping.Mapper;
+                import io.github.kaktushose.proteus.mapping.MappingResult;
+
+                import java.util.List;
+
+                /// Converters for the conversions declared by [%s], generated by the proteus annotation processor.
+                public final class %s {
+
+                """.formatted(declaringType, className));
+        constants.forEach(constant -> source.append(constant).append('\n'));
+        source.append("    private %s() {}\n".formatted(className));
+        methods.forEach(method -> source.append('\n').append(method));
+        source.append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.kaktushose.proteus.processor;
+
+import io.github.kaktushose.proteus.annotation.Mapping;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/// A static method annotated with [Mapping], i.e. an edge of the graph the annotation processor searches.
+///
+/// @param owner      the qualified name of the class declaring the method
+/// @param name       the name of the method
+/// @param source     the erased, qualified source class, used as the vertex the edge starts at
+/// @param target     the erased, qualified target class, used as the vertex the edge ends at
+/// @param sourceType the declared source type, used in the generated code
+/// @param targetType the declared target type, used in the generated code
+/// @param context    whether the method takes a [Mapper.MappingContext] as its second parameter
+/// @param cost       the cost of the mapper
+/// @param flags      the [Flag]s of the mapper
+record MapperMethod(@NotNull String owner,
+                    @NotNull String name,
+                    @NotNull String source,
+                    @NotNull String target,
+                    @NotNull String sourceType,
+                    @NotNull String targetType,
+                    boolean context,
+                    int cost,
+                    @NotNull Set<Flag> flags) {
+
+    private static final String MAPPING_RESULT = MappingResult.class.getCanonicalName();
+    private static final String MAPPING_CONTEXT = Mapper.MappingContext.class.getCanonicalName();
+
+    /// Reads the given annotated method. Reports an error and returns `null` if the method isn't a valid mapper.
+    ///
+    /// @param method   the method annotated with [Mapping]
+    /// @param types    the [Types] utility of the processing environment
+    /// @param messager the [Messager] to report errors with
+    /// @return the [MapperMethod] or `null` if the method is invalid
+    @Nullable
+    static MapperMethod of(@NotNull ExecutableElement method, @NotNull Types types, @NotNull Messager messager) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapping methods must be static and not private", method);
+            return null;
+        }
+
+        List<TypeMirror> parameters = method.getParameters().stream().map(Element::asType).toList();
+        if (parameters.isEmpty() || parameters.size() > 2
+                || parameters.getFirst().getKind() != TypeKind.DECLARED
+                || (parameters.size() == 2 && !types.erasure(parameters.get(1)).toString().equals(MAPPING_CONTEXT))) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapping methods must take the source value and optionally a MappingContext", method);
+            return null;
+        }
+
+        TypeMirror returnType = method.getReturnType();
+        if (!(returnType instanceof DeclaredType declared)
+                || !types.erasure(declared).toString().equals(MAPPING_RESULT)
+                || declared.getTypeArguments().size() != 1
+                || declared.getTypeArguments().getFirst().getKind() != TypeKind.DECLARED) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapping methods must return a MappingResult of the target type", method);
+            return null;
+        }
+
+        Mapping mapping = method.getAnnotation(Mapping.class);
+        Set<Flag> flags = Set.copyOf(Arrays.asList(mapping.flags()));
+        if (mapping.cost() < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cost must be >= 0", method);
+            return null;
+        }
+        if (flags.contains(Flag.LOSSLESS) && flags.contains(Flag.LOSSY)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "A mapper cannot be flagged as both lossless and lossy", method);
+            return null;
+        }
+
+        TypeMirror sourceType = parameters.getFirst();
+        TypeMirror targetType = declared.getTypeArguments().getFirst();
+        return new MapperMethod(
+                ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString(),
+                method.getSimpleName().toString(),
+                types.erasure(sourceType).toString(),
+                types.erasure(targetType).toString(),
+                sourceType.toString(),
+                targetType.toString(),
+                parameters.size() == 2,
+                mapping.cost(),
+                flags
+        );
+    }
+
+    /// Whether this mapper is flagged with [Flag#LOSSY], thus can't be part of a lossless path.
+    ///
+    /// @return `true` if this mapper is lossy
+    boolean lossy() {
+        return flags.contains(Flag.LOSSY);
+    }
+
+    /// Whether this mapper is flagged with [Flag#LOSSLESS].
+    ///
+    /// @return `true` if this mapper is lossless
+    boolean lossless() {
+        return flags.contains(Flag.LOSSLESS);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.kaktushose.proteus.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/// Finds the shortest path between two classes over the [MapperMethod]s of a compilation.
+///
+/// Like the graph of `Proteus`, the path with the lowest total cost wins. Ties are broken by the amount of mappers that
+/// aren't flagged as lossless, then by the amount of steps and finally by the qualified owner and the name of the mappers
+/// along the path. Thus, the generated code depends neither on the iteration order of the compiler nor on the order in
+/// which the mappers were declared or found.
+final class PathFinder {
+
+    private static final Comparator<MapperMethod> STEP = Comparator.comparing(MapperMethod::owner)
+            .thenComparing(MapperMethod::name)
+            .thenComparing(MapperMethod::target)
+            .thenComparing(MapperMethod::context);
+    private static final Comparator<Candidate> ORDER = Comparator.comparingLong(Candidate::cost)
+            .thenComparingInt(Candidate::lossySteps)
+            .thenComparingInt(candidate -> candidate.path().size())
+            .thenComparing(Candidate::path, PathFinder::compareSteps);
+
+    private final Map<String, List<MapperMethod>> adjacency = new HashMap<>();
+
+    /// Creates a new [PathFinder].
+    ///
+    /// @param mappers all [MapperMethod]s of the compilation
+    PathFinder(@NotNull List<MapperMethod> mappers) {
+        for (MapperMethod mapper : mappers) {
+            adjacency.computeIfAbsent(mapper.source(), _ -> new ArrayList<>()).add(mapper);
+        }
+    }
+
+    /// Finds the shortest path between the given classes.
+    ///
+    /// @param source   the erased, qualified source class
+    /// @param target   the erased, qualified target class
+    /// @param lossless whether to skip mappers flagged as lossy
+    /// @return the [MapperMethod]s along the path or `null` if no path exists
+    @Nullable
+    List<MapperMethod> find(@NotNull String source, @NotNull String target, boolean lossless) {
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(ORDER);
+        Set<String> settled = new HashSet<>();
+        queue.add(new Candidate(source, 0, 0, List.of()));
+
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (candidate.vertex().equals(target)) {
+                return candidate.path();
+            }
+            if (!settled.add(candidate.vertex())) {
+                continue;
+            }
+            for (MapperMethod mapper : adjacency.getOrDefault(candidate.vertex(), List.of())) {
+                if ((lossless && mapper.lossy()) || settled.contains(mapper.target())) {
+                    continue;
+                }
+                List<MapperMethod> path = new ArrayList<>(candidate.path());
+                path.add(mapper);
+                queue.add(new Candidate(
+                        mapper.target(),
+                        candidate.cost() + mapper.cost(),
+                        candidate.lossySteps() + (mapper.lossless() ? 0 : 1),
+                        List.copyOf(path)
+                ));
+            }
+        }
+        return null;
+    }
+
+    // compares paths of the same length step by step
+    private static int compareSteps(List<MapperMethod> left, List<MapperMethod> right) {
+        for (int i = 0; i < left.size(); i++) {
+            int result = STEP.compare(left.get(i), right.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private record Candidate(String vertex, long cost, int lossySteps, List<MapperMethod> path) {}
+}
@@ -0,0 +1,336 @@
+package io.github.kaktushose.proteus.processor;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConverterProcessorTest {
+
+    private static final String MAPPERS = """
+            package test;
+
+            import io.github.kaktushose.proteus.annotation.GenerateConverter;
+            import io.github.kaktushose.proteus.annotation.Mapping;
+            import io.github.kaktushose.proteus.mapping.Flag;
+            import io.github.kaktushose.proteus.mapping.Mapper.MappingContext;
+            import io.github.kaktushose.proteus.mapping.MappingResult;
+
+            @GenerateConverter(source = String.class, target = Long.class)
+            @GenerateConverter(source = String.class, target = Double.class)
+            @GenerateConverter(source = Double.class, target = Float.class)
+            @GenerateConverter(source = String.class, target = String.class)
+            public class Mappers {
+
+                @Mapping(flags = Flag.LOSSLESS)
+                public static MappingResult<Integer> parse(String value, MappingContext<String, Integer> context) {
+                    try {
+                        return MappingResult.lossless(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        return MappingResult.failure("Cannot parse '%s' as %s".formatted(value, context.into()));
+                    }
+                }
+
+                @Mapping(flags = Flag.LOSSLESS)
+                public static MappingResult<Long> widen(Integer value) {
+                    return MappingResult.lossless(value.longValue());
+                }
+
+                @Mapping(cost = 50)
+                public static MappingResult<Long> expensive(String value) {
+                    return MappingResult.lossless(0L);
+                }
+
+                @Mapping
+                public static MappingResult<Double> toDouble(Long value) {
+                    double result = value;
+                    return (long) result == value ? MappingResult.lossless(result) : MappingResult.lossy(result);
+                }
+
+                @Mapping(flags = Flag.LOSSY)
+                public static MappingResult<Float> toFloat(Double value) {
+                    return MappingResult.lossy(value.floatValue());
+                }
+            }
+            """;
+
+    private static Class<?> mappers;
+    private static Class<?> converters;
+    private static Proteus proteus;
+
+    @BeforeAll
+    static void compile(@TempDir Path output) throws Exception {
+        assertTrue(compile(output, MAPPERS).isEmpty());
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, ConverterProcessorTest.class.getClassLoader());
+        mappers = loader.loadClass("test.Mappers");
+        converters = loader.loadClass("test.MappersConverters");
+
+        proteus = Proteus.builder().defaultMappers().build();
+        register(String.class, Integer.class, "parse", Proteus.DEFAULT_COST, Flag.LOSSLESS);
+        register(Integer.class, Long.class, "widen", Proteus.DEFAULT_COST, Flag.LOSSLESS);
+        register(String.class, Long.class, "expensive", 50);
+        register(Long.class, Double.class, "toDouble", Proteus.DEFAULT_COST);
+        register(Double.class, Float.class, "toFloat", Proteus.DEFAULT_COST, Flag.LOSSY);
+    }
+
+    private static <S, T> void register(Class<S> source, Class<T> target, String name, int cost, Flag... flags) throws NoSuchMethodException {
+        Method method = List.of(mappers.getMethods()).stream()
+                .filter(it -> it.getName().equals(name))
+                .findFirst()
+                .orElseThrow(NoSuchMethodException::new);
+        proteus.register(Type.of(source), Type.of(target), Mapper.<S, T>uni((value, context) -> {
+            try {
+                Object[] arguments = method.getParameterCount() == 2 ? new Object[]{value, context} : new Object[]{value};
+                @SuppressWarnings("unchecked")
+                MappingResult<T> result = (MappingResult<T>) method.invoke(null, arguments);
+                return result;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }), cost, flags);
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(Path output, String source, Processor... processors) throws IOException {
+        return compile(output, source, List.of(), processors);
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(Path output, String source, List<String> flags, Processor... processors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///test/Mappers.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = new ArrayList<>(List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString(),
+                "-s", Files.createDirectories(output.resolve("generated")).toString()
+        ));
+        options.addAll(flags);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(file));
+        List<Processor> all = new ArrayList<>(List.of(processors));
+        all.add(new ConverterProcessor());
+        task.setProcessors(all);
+        task.call();
+
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private static Object convert(String name, Object value, boolean lossless) throws Exception {
+        try {
+            return converters.getMethod(name, value.getClass(), boolean.class).invoke(null, value, lossless);
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> void assertMatches(String name, S value, Class<?> target, boolean lossless) throws Exception {
+        ConversionResult<?> expected = proteus.convert(value, Type.of((Class<S>) value.getClass()), Type.of(target), lossless);
+        Object actual = convert(name, value, lossless);
+
+        switch (expected) {
+            case ConversionResult.Success<?> success -> assertEquals(success, actual);
+            case ConversionResult.Failure<?> failure -> {
+                ConversionResult.Failure<?> generated = assertInstanceOf(ConversionResult.Failure.class, actual);
+                assertEquals(failure.errorType(), generated.errorType());
+                assertEquals(failure.message(), generated.message());
+                if (failure.context() == null) {
+                    assertNull(generated.context());
+                } else {
+                    assertEquals(failure.context().step().from(), generated.context().step().from());
+                    assertEquals(failure.context().step().into(), generated.context().step().into());
+                    assertEquals(failure.context().path().size(), generated.context().path().size());
+                }
+            }
+        }
+    }
+
+    @Test
+    void generatedConverter_withShortestPath_ShouldMatchProteus() throws Exception {
+        assertEquals(new ConversionResult.Success<>(42L, true), convert("convertStringToLong", "42", false));
+        assertMatches("convertStringToLong", "42", Long.class, false);
+        assertMatches("convertStringToLong", "42", Long.class, true);
+        assertMatches("convertStringToDouble", "7", Double.class, false);
+        assertMatches("convertStringToDouble", "7", Double.class, true);
+    }
+
+    @Test
+    void generatedConverter_withFailingMapper_ShouldMatchProteus() throws Exception {
+        assertMatches("convertStringToLong", "abc", Long.class, false);
+        assertMatches("convertStringToDouble", "abc", Double.class, true);
+    }
+
+    @Test
+    void generatedConverter_withLossyPath_ShouldMatchProteus() throws Exception {
+        assertMatches("convertDoubleToFloat", 1.5, Float.class, false);
+        assertMatches("convertDoubleToFloat", 1.5, Float.class, true);
+    }
+
+    @Test
+    void generatedConverter_withSameType_ShouldReturnValue() throws Exception {
+        assertEquals(new ConversionResult.Success<>("a", true), convert("convertStringToString", "a", true));
+        assertMatches("convertStringToString", "a", String.class, false);
+    }
+
+    @Test
+    void generatedConverter_withoutLosslessFlag_ShouldConvertLossy() throws Exception {
+        Method method = converters.getMethod("convertStringToLong", String.class);
+
+        assertEquals(new ConversionResult.Success<>(1L, true), method.invoke(null, "1"));
+    }
+
+    @Test
+    void processor_withoutPath_ShouldFailCompilation(@TempDir Path output) throws IOException {
+        String source = MAPPERS.replace("target = Float.class", "target = Integer.class");
+
+        var errors = compile(output, source);
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.getFirst().getMessage(null).contains("Found no path to convert from 'java.lang.Double' to 'java.lang.Integer'"));
+    }
+
+    @Test
+    void processor_withInvalidMapping_ShouldFailCompilation(@TempDir Path output) throws IOException {
+        String source = MAPPERS.replace("public static MappingResult<Float> toFloat", "public MappingResult<Float> toFloat");
+
+        var errors = compile(output, source);
+
+        assertFalse(errors.isEmpty());
+        assertTrue(errors.getFirst().getMessage(null).contains("Mapping methods must be static and not private"));
+    }
+
+    @Test
+    void processor_withWarningsAsErrors_ShouldCompile(@TempDir Path output) throws IOException {
+        assertTrue(compile(output, MAPPERS, List.of("-Werror")).isEmpty());
+
+        assertTrue(Files.exists(output.resolve("generated/test/MappersConverters.java")));
+    }
+
+    @Test
+    void processor_withEqualPaths_ShouldPreferMapperByOwnerAndName(@TempDir Path output) throws IOException {
+        String source = """
+                package test;
+
+                import io.github.kaktushose.proteus.annotation.GenerateConverter;
+                import io.github.kaktushose.proteus.annotation.Mapping;
+                import io.github.kaktushose.proteus.mapping.MappingResult;
+
+                @GenerateConverter(source = String.class, target = Long.class)
+                public class Mappers {
+
+                    @Mapping
+                    public static MappingResult<Long> zeta(String value) {
+                        return MappingResult.lossless(0L);
+                    }
+
+                    @Mapping
+                    public static MappingResult<Long> alpha(String value) {
+                        return MappingResult.lossless(1L);
+                    }
+                }
+                """;
+
+        assertTrue(compile(output, source).isEmpty());
+
+        String generated = Files.readString(output.resolve("generated/test/MappersConverters.java"));
+        assertTrue(generated.contains("test.Mappers.alpha("));
+        assertFalse(generated.contains("test.Mappers.zeta("));
+    }
+
+    @Test
+    void processor_withMappingInLaterRound_ShouldUseMapping(@TempDir Path output) throws Exception {
+        String source = """
+                package test;
+
+                import io.github.kaktushose.proteus.annotation.GenerateConverter;
+
+                @GenerateConverter(source = Long.class, target = java.math.BigInteger.class)
+                public class Mappers {}
+                """;
+
+        assertTrue(compile(output, source, List.of("-Werror"), new LaterMappers()).isEmpty());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, ConverterProcessorTest.class.getClassLoader())) {
+            Method method = loader.loadClass("test.MappersConverters").getMethod("convertLongToBigInteger", Long.class);
+            assertEquals(new ConversionResult.Success<>(java.math.BigInteger.TWO, true), method.invoke(null, 2L));
+        }
+    }
+
+    // generates a class with a mapping method in the first round, thus the mapping is only found in the second round
+    private static final class LaterMappers extends AbstractProcessor {
+
+        private boolean generated;
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Set.of("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (generated) {
+                return false;
+            }
+            generated = true;
+            try (var out = processingEnv.getFiler().createSourceFile("test.Later").openWriter()) {
+                out.write("""
+                        package test;
+
+                        import io.github.kaktushose.proteus.annotation.Mapping;
+                        import io.github.kaktushose.proteus.mapping.MappingResult;
+
+                        public class Later {
+
+                            @Mapping
+                            public static MappingResult<java.math.BigInteger> toBigInteger(Long value) {
+                                return MappingResult.lossless(java.math.BigInteger.valueOf(value));
+                            }
+                        }
+                        """);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return false;
+        }
+    }
+}
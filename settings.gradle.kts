@@ -1,2 +1,4 @@
 rootProject.name = "proteus"
 
+include("processor")
+project(":processor").name = "proteus-processor"
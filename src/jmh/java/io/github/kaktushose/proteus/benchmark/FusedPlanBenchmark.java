@@ -0,0 +1,60 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures three-step conversions while `paths` different paths are used in turn. Each path has its own mappers, so
+/// a shared call site for all mappers sees `paths * 3` receivers.
+///
+/// Run with `./gradlew jmh`. Because every plan is fused into its own handle, the time per conversion should stay about
+/// the same with an increasing amount of paths instead of degrading once the call site becomes megamorphic.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FusedPlanBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int paths;
+
+    private Proteus proteus;
+    private Type<Integer>[] sources;
+    private Type<Integer>[] targets;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        proteus = Proteus.create();
+        sources = new Type[paths];
+        targets = new Type[paths];
+        for (int path = 0; path < paths; path++) {
+            Type<Integer> source = Type.of(new NamedFormat(path + "-0"), Integer.class);
+            Type<Integer> first = Type.of(new NamedFormat(path + "-1"), Integer.class);
+            Type<Integer> second = Type.of(new NamedFormat(path + "-2"), Integer.class);
+            Type<Integer> target = Type.of(new NamedFormat(path + "-3"), Integer.class);
+            int offset = path;
+            proteus.register(source, first, Mapper.uni((value, _) -> MappingResult.lossless(value + offset)));
+            proteus.register(first, second, Mapper.uni((value, _) -> MappingResult.lossless(value * 31)));
+            proteus.register(second, target, Mapper.uni((value, _) -> MappingResult.lossless(value ^ offset)));
+            sources[path] = source;
+            targets[path] = target;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void convert(Blackhole blackhole) {
+        for (int i = 0; i < 8; i++) {
+            int path = i % paths;
+            blackhole.consume(proteus.convert(i, sources[path], targets[path]));
+        }
+    }
+}
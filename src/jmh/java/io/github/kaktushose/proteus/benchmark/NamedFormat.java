@@ -0,0 +1,19 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.type.Format;
+
+/// A [Format] that is identified by its name, shared by all benchmarks.
+///
+/// @param name the name of the format
+record NamedFormat(String name) implements Format {
+
+    @Override
+    public boolean equals(Format other) {
+        return other instanceof NamedFormat(String otherName) && name.equals(otherName);
+    }
+
+    @Override
+    public int formatHashCode() {
+        return name.hashCode();
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/// Measures the throughput of converting a batch of values sequentially and in parallel with an increasing amount of
+/// worker threads. The mapper hashes its input a few times, so the conversion is bound by the CPU.
+///
+/// Run with `./gradlew jmh`. With a scaling conversion, the time per batch drops close to linearly with `parallelism`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelBulkBenchmark {
+
+    private static final Type<Integer> SOURCE = Type.of(new NamedFormat("source"), Integer.class);
+    private static final Type<Long> MIDDLE = Type.of(new NamedFormat("middle"), Long.class);
+    private static final Type<Long> TARGET = Type.of(new NamedFormat("target"), Long.class);
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private Proteus proteus;
+    private Integer[] values;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        proteus = Proteus.create();
+        proteus.register(SOURCE, MIDDLE, Mapper.uni((value, _) -> MappingResult.lossless(mix(value))));
+        proteus.register(MIDDLE, TARGET, Mapper.uni((value, _) -> MappingResult.lossless(mix(value))));
+        values = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BulkResult<Long> sequential() {
+        return proteus.convertAll(values, SOURCE, TARGET);
+    }
+
+    @Benchmark
+    public BulkResult<Long> parallel() {
+        return proteus.convertAllParallel(values, SOURCE, TARGET, false, pool);
+    }
+
+    private static long mix(long value) {
+        for (int i = 0; i < 16; i++) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+        }
+        return value;
+    }
+}
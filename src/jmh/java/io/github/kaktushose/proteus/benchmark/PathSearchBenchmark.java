@@ -0,0 +1,72 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures a conversion whose path isn't cached yet on a large layered graph, comparing the [SearchStrategy]s.
+///
+/// Every vertex of a layer has an edge to `fanOut` vertices of the next layer, thus the forward search expands almost
+/// the entire graph before it reaches the target in the last layer. The path cache is recreated before every
+/// invocation, so every conversion searches the path.
+///
+/// Run with `./gradlew jmh`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathSearchBenchmark {
+
+    @Param({"FORWARD", "BIDIRECTIONAL"})
+    private SearchStrategy strategy;
+
+    @Param({"6"})
+    private int depth;
+
+    @Param({"200"})
+    private int width;
+
+    @Param({"8"})
+    private int fanOut;
+
+    private Proteus proteus;
+    private Type<String> source;
+    private Type<String> target;
+
+    @Setup
+    public void setup() {
+        proteus = Proteus.builder().defaultMappers().searchStrategy(strategy).build();
+        Mapper.UniMapper<String, String> identity = Mapper.uni((value, _) -> MappingResult.lossless(value));
+        for (int layer = 0; layer < depth; layer++) {
+            for (int i = 0; i < width; i++) {
+                for (int j = 0; j < fanOut; j++) {
+                    proteus.register(type(layer, i), type(layer + 1, (i * fanOut + j) % width), identity);
+                }
+            }
+        }
+        source = type(0, 0);
+        target = type(depth, width / 2);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        proteus.reconfigureCacheSize(1000);
+    }
+
+    @Benchmark
+    public ConversionResult<String> uncachedConversion() {
+        return proteus.convert("value", source, target);
+    }
+
+    private static Type<String> type(int layer, int index) {
+        return Type.of(new NamedFormat(layer + ":" + index), String.class);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.DoubleToDoubleMapper;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.DoubleToLongMapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/// Compares converting primitive values with [Proteus#convert(Object, Type, Type, boolean)], which boxes the value and
+/// every intermediate result, to [Proteus#convertToLong(double, Type, Type, java.util.function.ToLongFunction)], which
+/// runs a path of [PrimitiveMapper]s on primitive values.
+///
+/// Run with `./gradlew jmh`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveConversionBenchmark {
+
+    private static final Type<Double> CELSIUS = Type.of(new NamedFormat("celsius"), Double.class);
+    private static final Type<Double> FAHRENHEIT = Type.of(new NamedFormat("fahrenheit"), Double.class);
+    private static final Type<Long> ROUNDED = Type.of(new NamedFormat("rounded"), Long.class);
+
+    @Param({"1000000"})
+    private int size;
+
+    private Proteus proteus;
+    private double[] values;
+
+    @Setup
+    public void setup() {
+        proteus = Proteus.create();
+        proteus.register(CELSIUS, FAHRENHEIT, (DoubleToDoubleMapper) value -> value * 1.8 + 32);
+        proteus.register(FAHRENHEIT, ROUNDED, (DoubleToLongMapper) Math::round);
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i * 0.5;
+        }
+    }
+
+    @Benchmark
+    public void boxed(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(proteus.convert(value, CELSIUS, ROUNDED, true).orElseThrow().longValue());
+        }
+    }
+
+    @Benchmark
+    public void primitive(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(proteus.convertToLong(value, CELSIUS, ROUNDED, _ -> -1));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Converter;
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/// Compares converting the elements of a stream with a [Proteus#convert(Object, Type, Type)] call per element to the
+/// stream integrations of a [Converter], which resolve the path once.
+///
+/// Run with `./gradlew jmh`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamConversionBenchmark {
+
+    private static final Type<Integer> SOURCE = Type.of(new NamedFormat("source"), Integer.class);
+    private static final Type<Integer> TARGET = Type.of(new NamedFormat("target"), Integer.class);
+
+    @Param({"10000000"})
+    private int size;
+
+    private Proteus proteus;
+    private Converter<Integer, Integer> converter;
+    private List<Integer> values;
+
+    @Setup
+    public void setup() {
+        proteus = Proteus.create();
+        proteus.register(SOURCE, TARGET, Mapper.uni((value, _) -> MappingResult.lossless(value + 1)));
+        converter = proteus.converter(SOURCE, TARGET);
+        values = IntStream.range(0, size).boxed().toList();
+    }
+
+    @Benchmark
+    public List<Integer> perElementConvert() {
+        return values.stream().map(value -> proteus.convert(value, SOURCE, TARGET).orElseThrow()).toList();
+    }
+
+    @Benchmark
+    public List<Integer> mapMulti() {
+        return values.stream().<Integer>mapMulti(converter.dropFailures(_ -> {})).toList();
+    }
+
+    @Benchmark
+    public BulkResult<Integer> bulkResultCollector() {
+        return values.stream().collect(converter.toBulkResult());
+    }
+
+    @Benchmark
+    public BulkResult<Integer> parallelBulkResultCollector() {
+        return values.parallelStream().collect(converter.toBulkResult());
+    }
+}
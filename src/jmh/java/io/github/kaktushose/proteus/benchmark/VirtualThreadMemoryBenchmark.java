@@ -0,0 +1,87 @@
+package io.github.kaktushose.proteus.benchmark;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/// Measures the heap retained per virtual thread after the thread has performed a conversion and is parked, both for a
+/// conversion whose mapper starts a nested conversion and for one whose mapper doesn't.
+///
+/// Run with `./gradlew jmh`. The retained bytes are reported as the `retainedBytesPerThread` secondary result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadMemoryBenchmark {
+
+    private static final Type<String> OUTER = Type.of(new NamedFormat("outer"), String.class);
+    private static final Type<String> INNER = Type.of(new NamedFormat("inner"), String.class);
+    private static final Type<String> TARGET = Type.of(new NamedFormat("target"), String.class);
+
+    @Param({"100000"})
+    private int threads;
+
+    @Param({"true", "false"})
+    private boolean nested;
+
+    private Proteus proteus;
+
+    @Setup
+    public void setup() {
+        proteus = Proteus.create();
+        proteus.from(INNER).into(TARGET, Mapper.uni((source, _) -> MappingResult.lossless(source)));
+        proteus.from(OUTER).into(TARGET, Mapper.uni((source, _) ->
+                MappingResult.of(proteus.convert(source, INNER, TARGET))
+        ));
+    }
+
+    @Benchmark
+    public void conversion(Memory memory) throws InterruptedException {
+        Type<String> source = nested ? OUTER : INNER;
+        CountDownLatch converted = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>(threads);
+
+        long before = usedHeap();
+        for (int i = 0; i < threads; i++) {
+            started.add(Thread.ofVirtual().start(() -> {
+                proteus.convert("value", source, TARGET);
+                converted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        converted.await();
+        long after = usedHeap();
+
+        release.countDown();
+        for (Thread thread : started) {
+            thread.join();
+        }
+        memory.retainedBytesPerThread = (after - before) / threads;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+        public long retainedBytesPerThread;
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.ErrorType.*;
+
+/// Converts a batch of values along a single, already resolved [ConversionPlan] and collects the results into a
+/// [BulkResult].
+///
+/// The converted values are written into one shared array, thus a successful element doesn't allocate anything besides
+/// the values returned by its mappers. Failures are collected in a sparse index instead.
+final class BulkConversion {
+
+    private static final int INITIAL_FAILURES = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Proteus proteus;
+    @Nullable
+    private final ConversionPlan plan;
+    @Nullable
+    private final ConversionResult.Failure<?> unreachable;
+    private final boolean lossless;
+    private Object[] values;
+    private boolean[] lossy;
+    private int size;
+    private int[] failedIndices;
+    private ConversionResult.Failure<?>[] failures;
+    private int failureCount;
+
+    /// Creates a new bulk conversion for the given amount of values.
+    ///
+    /// @param proteus  the [Proteus] instance to apply the mappers with
+    /// @param plan     the non-empty [ConversionPlan] to execute
+    /// @param lossless whether to fail on lossy results
+    /// @param size     the amount of values
+    BulkConversion(@NotNull Proteus proteus, @NotNull ConversionPlan plan, boolean lossless, int size) {
+        this(proteus, plan, null, lossless, size);
+        this.size = size;
+    }
+
+    /// Creates a new, empty bulk conversion that grows with every value added by [#add(Object)].
+    ///
+    /// @param proteus     the [Proteus] instance to apply the mappers with
+    /// @param plan        the [ConversionPlan] to execute or `null` if the source and target are equal
+    /// @param unreachable the [ConversionResult.Failure] every value fails with or `null` if the plan isn't empty
+    /// @param lossless    whether to fail on lossy results
+    BulkConversion(@NotNull Proteus proteus,
+                   @Nullable ConversionPlan plan,
+                   @Nullable ConversionResult.Failure<?> unreachable,
+                   boolean lossless) {
+        this(proteus, plan, unreachable, lossless, INITIAL_CAPACITY);
+    }
+
+    private BulkConversion(@NotNull Proteus proteus,
+                           @Nullable ConversionPlan plan,
+                           @Nullable ConversionResult.Failure<?> unreachable,
+                           boolean lossless,
+                           int capacity) {
+        this.proteus = proteus;
+        this.plan = plan;
+        this.unreachable = unreachable;
+        this.lossless = lossless;
+        this.values = new Object[capacity];
+        this.lossy = new boolean[capacity];
+        this.failedIndices = new int[INITIAL_FAILURES];
+        this.failures = new ConversionResult.Failure<?>[INITIAL_FAILURES];
+    }
+
+    private BulkConversion(@NotNull BulkConversion parent) {
+        this.proteus = parent.proteus;
+        this.plan = parent.plan;
+        this.unreachable = parent.unreachable;
+        this.lossless = parent.lossless;
+        this.values = parent.values;
+        this.lossy = parent.lossy;
+        this.size = parent.size;
+        this.failedIndices = new int[INITIAL_FAILURES];
+        this.failures = new ConversionResult.Failure<?>[INITIAL_FAILURES];
+    }
+
+    /// Creates a bulk conversion that writes the converted values into the same arrays as this one but collects its
+    /// failures separately. This allows converting disjoint ranges of the input concurrently, see [#append(BulkConversion)].
+    ///
+    /// @return a new [BulkConversion] sharing the converted values with this one
+    @NotNull
+    BulkConversion fork() {
+        return new BulkConversion(this);
+    }
+
+    /// Appends the failures of the given bulk conversion to the failures of this one. The given conversion must have
+    /// been created by [#fork()] and must have converted a range of the input that follows all ranges of this one.
+    ///
+    /// @param other the [BulkConversion] to append
+    void append(@NotNull BulkConversion other) {
+        for (int i = 0; i < other.failureCount; i++) {
+            fail(other.failedIndices[i], other.failures[i]);
+        }
+    }
+
+    /// Converts the given values and stores the results starting at index `0`.
+    ///
+    /// @param input the values to convert
+    void convert(@NotNull Object[] input) {
+        for (int i = 0; i < input.length; i++) {
+            convert(i, input[i]);
+        }
+    }
+
+    /// Converts the given value and stores its result after all values converted so far, growing this conversion if
+    /// needed.
+    ///
+    /// @param value the value to convert
+    void add(@NotNull Object value) {
+        ensureCapacity(size + 1);
+        convert(size++, value);
+    }
+
+    /// Appends the values and failures of the given bulk conversion to this one. Used to combine the partial results
+    /// of a parallel stream, see [#add(Object)].
+    ///
+    /// @param other the [BulkConversion] to append
+    void combine(@NotNull BulkConversion other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.values, 0, values, size, other.size);
+        System.arraycopy(other.lossy, 0, lossy, size, other.size);
+        for (int i = 0; i < other.failureCount; i++) {
+            fail(size + other.failedIndices[i], other.failures[i]);
+        }
+        size += other.size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            int grown = Math.max(capacity, values.length * 2);
+            values = Arrays.copyOf(values, grown);
+            lossy = Arrays.copyOf(lossy, grown);
+        }
+    }
+
+    /// Converts the given value and stores its result at the given index.
+    ///
+    /// @param index the index of the value
+    /// @param value the value to convert
+    void convert(int index, @NotNull Object value) {
+        if (unreachable != null) {
+            fail(index, unreachable);
+            return;
+        }
+        Object intermediate = value;
+        boolean lastLossy = false;
+        int steps = plan == null ? 0 : plan.size();
+        for (int i = 0; i < steps; i++) {
+            ConversionPlan.Step step = plan.step(i);
+            switch (proteus.applyMapper(step, intermediate)) {
+                case MappingResult.Lossless<Object>(Object success) -> {
+                    intermediate = success;
+                    lastLossy = false;
+                }
+                case MappingResult.Lossy<Object>(Object success) -> {
+                    if (lossless) {
+                        fail(index, new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", step.conversionContext()));
+                        return;
+                    }
+                    intermediate = success;
+                    lastLossy = true;
+                }
+                case MappingResult.Failure<Object>(String message) -> {
+                    fail(index, new ConversionResult.Failure<>(MAPPING_FAILED, message, step.conversionContext()));
+                    return;
+                }
+            }
+        }
+        values[index] = intermediate;
+        lossy[index] = lastLossy;
+    }
+
+    private void fail(int index, @NotNull ConversionResult.Failure<?> failure) {
+        if (failureCount == failedIndices.length) {
+            failedIndices = Arrays.copyOf(failedIndices, failureCount * 2);
+            failures = Arrays.copyOf(failures, failureCount * 2);
+        }
+        failedIndices[failureCount] = index;
+        failures[failureCount] = failure;
+        failureCount++;
+    }
+
+    /// Creates the [BulkResult] of a batch whose source and target [io.github.kaktushose.proteus.type.Type] are equal,
+    /// thus every value is returned as is.
+    ///
+    /// @param input the values to convert
+    /// @param <T>   the type of the converted values
+    /// @return the [BulkResult]
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <T> BulkResult<T> identity(@NotNull Object[] input) {
+        return new BulkResult<>(input.clone(), new boolean[input.length], new int[0], (ConversionResult.Failure<T>[]) new ConversionResult.Failure<?>[0]);
+    }
+
+    /// Creates the [BulkResult] of all converted values.
+    ///
+    /// @param <T> the type of the converted values
+    /// @return the [BulkResult]
+    @NotNull
+    @SuppressWarnings("unchecked")
+    <T> BulkResult<T> result() {
+        return new BulkResult<>(
+                size == values.length ? values : Arrays.copyOf(values, size),
+                size == lossy.length ? lossy : Arrays.copyOf(lossy, size),
+                Arrays.copyOf(failedIndices, failureCount),
+                (ConversionResult.Failure<T>[]) Arrays.copyOf(failures, failureCount)
+        );
+    }
+}
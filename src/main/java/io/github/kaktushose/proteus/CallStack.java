@@ -0,0 +1,110 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.CyclingConversionException;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Edge;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/// Frame of the [Edge]s whose mappers are currently executing on a thread. Used to detect cycling mapper calls.
+///
+/// Frames are immutable and link to the frame of their caller, thus the frames of a conversion are never copied, also
+/// not if they are handed to other threads, see [#bind(CallStack)]. A frame is only bound to the thread while its
+/// mapper is executing, because that's the only way a conversion started from inside a mapper can find the frames of
+/// its callers. Additionally, only the calls of mappers that start nested conversions are bound at all, see
+/// [ConversionPlan.Nesting]. Thus, a conversion that doesn't nest usually doesn't touch the thread local. As soon as
+/// the outermost mapper of a virtual thread returns, the thread local gets removed again, so the vast amount of
+/// short-lived virtual threads some applications convert on don't retain any frames. The [List] of called [Edge]s is
+/// only created if a cycle was detected.
+///
+/// @implNote A `ScopedValue` would be the natural fit for virtual threads, but it is still a preview API in the Java
+/// version proteus is built with.
+final class CallStack {
+
+    private static final ThreadLocal<CallStack> CURRENT = new ThreadLocal<>();
+
+    private final ConversionPlan.Step step;
+    private final CallStack caller;
+
+    private CallStack(@NotNull ConversionPlan.Step step, @Nullable CallStack caller) {
+        this.step = step;
+        this.caller = caller;
+    }
+
+    /// Binds a new frame for the given [ConversionPlan.Step] to the current thread. Call [#restore(CallStack)] with the
+    /// returned frame once the mapper of the step returned. If the new frame is nested into another one, the mapper of
+    /// the other frame is recorded as starting nested conversions, see [ConversionPlan.Nesting#nested()].
+    ///
+    /// @param step the [ConversionPlan.Step] whose mapper is about to be called
+    /// @return the frame of the caller or `null` if no tracked mapper is executing on the current thread
+    /// @throws CyclingConversionException if the [Edge] of the given step is already executing on the current thread
+    @Nullable
+    static CallStack enter(@NotNull ConversionPlan.Step step) {
+        CallStack caller = CURRENT.get();
+        if (caller != null) {
+            caller.step.nesting().nested();
+        }
+        Edge edge = step.edge();
+        for (CallStack frame = caller; frame != null; frame = frame.caller) {
+            if (frame.step.edge() == edge || frame.step.edge().equals(edge)) {
+                throw new CyclingConversionException(edge, snapshot(caller));
+            }
+        }
+        CURRENT.set(new CallStack(step, caller));
+        return caller;
+    }
+
+    /// Gets the frame of the current thread, so it can be handed to other threads that perform a part of the same
+    /// conversion, see [#bind(CallStack)].
+    ///
+    /// @return the innermost frame of the current thread or `null` if no tracked mapper is executing on the current thread
+    @Nullable
+    static CallStack inherit() {
+        CallStack current = CURRENT.get();
+        if (current == null) {
+            CURRENT.remove();
+        }
+        return current;
+    }
+
+    /// Binds the given frame to the current thread, replacing the frame the current thread might already hold, e.g. if
+    /// a fork/join worker executes a task while it waits for another one. Call [#restore(CallStack)] with the returned
+    /// frame afterward.
+    ///
+    /// @param frame the inherited frame, see [#inherit()]
+    /// @return the previously bound frame or `null` if no tracked mapper is executing on the current thread
+    @Nullable
+    static CallStack bind(@Nullable CallStack frame) {
+        CallStack previous = CURRENT.get();
+        restore(frame);
+        return previous;
+    }
+
+    /// Binds the given frame to the current thread again, see [#enter(ConversionPlan.Step)] and [#bind(CallStack)]. If no
+    /// frame is given and the current thread is virtual, the thread local gets removed. Platform threads keep their
+    /// entry instead, because removing and re-adding it allocates a new entry of the thread local map for every call.
+    ///
+    /// @param previous the frame returned by [#enter(ConversionPlan.Step)] or [#bind(CallStack)]
+    static void restore(@Nullable CallStack previous) {
+        if (previous == null && Thread.currentThread().isVirtual()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // returns the edges of the given frame and its callers, outermost first
+    @NotNull
+    private static List<Edge> snapshot(@Nullable CallStack frame) {
+        List<Edge> edges = new ArrayList<>();
+        for (; frame != null; frame = frame.caller) {
+            edges.add(frame.step.edge());
+        }
+        Collections.reverse(edges);
+        return edges;
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan.Step;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+
+import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.ErrorType.*;
+
+/// The template [PlanCompiler] defines a hidden class from for every compiled plan. This class itself is never loaded,
+/// only its bytes are used.
+///
+/// Each hidden class reads its [PlanCompiler.ClassData] into static final fields, which the JIT treats as constants.
+/// [#execute(Object, boolean)] calls the steps in straight-line code, the steps beyond the size of the plan are folded
+/// away. The mappers are still called through [Proteus#applyMapper(Step, Object)], which is shared by all plans, thus
+/// the call site of the mapper inside it is megamorphic and its profile doesn't help. Only if the JIT inlines
+/// `applyMapper` into `execute`, the step and with it the mapper become constants, which lets the JIT devirtualize and
+/// inline the mapper call without a profile.
+final class CompiledPlanTemplate {
+
+    private static final Proteus PROTEUS;
+    private static final int SIZE;
+    private static final Step S0;
+    private static final Step S1;
+    private static final Step S2;
+    private static final Step S3;
+    private static final Step S4;
+    private static final Step S5;
+    private static final Step S6;
+    private static final Step S7;
+
+    static {
+        PlanCompiler.ClassData data;
+        try {
+            data = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, PlanCompiler.ClassData.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        Step[] steps = data.steps();
+        PROTEUS = data.proteus();
+        SIZE = steps.length;
+        S0 = step(steps, 0);
+        S1 = step(steps, 1);
+        S2 = step(steps, 2);
+        S3 = step(steps, 3);
+        S4 = step(steps, 4);
+        S5 = step(steps, 5);
+        S6 = step(steps, 6);
+        S7 = step(steps, 7);
+    }
+
+    private CompiledPlanTemplate() {}
+
+    private static Step step(Step[] steps, int index) {
+        return index < steps.length ? steps[index] : null;
+    }
+
+    /// Executes the compiled plan.
+    ///
+    /// @param value    the value to convert
+    /// @param lossless whether to fail on lossy results
+    /// @return the [ConversionResult] of the conversion
+    static ConversionResult<?> execute(Object value, boolean lossless) {
+        MappingResult<Object> result = PROTEUS.applyMapper(S0, value);
+        if (halts(result, lossless)) return halt(S0, result);
+        if (SIZE == 1) return success(result);
+
+        result = PROTEUS.applyMapper(S1, unwrap(result));
+        if (halts(result, lossless)) return halt(S1, result);
+        if (SIZE == 2) return success(result);
+
+        result = PROTEUS.applyMapper(S2, unwrap(result));
+        if (halts(result, lossless)) return halt(S2, result);
+        if (SIZE == 3) return success(result);
+
+        result = PROTEUS.applyMapper(S3, unwrap(result));
+        if (halts(result, lossless)) return halt(S3, result);
+        if (SIZE == 4) return success(result);
+
+        result = PROTEUS.applyMapper(S4, unwrap(result));
+        if (halts(result, lossless)) return halt(S4, result);
+        if (SIZE == 5) return success(result);
+
+        result = PROTEUS.applyMapper(S5, unwrap(result));
+        if (halts(result, lossless)) return halt(S5, result);
+        if (SIZE == 6) return success(result);
+
+        result = PROTEUS.applyMapper(S6, unwrap(result));
+        if (halts(result, lossless)) return halt(S6, result);
+        if (SIZE == 7) return success(result);
+
+        result = PROTEUS.applyMapper(S7, unwrap(result));
+        if (halts(result, lossless)) return halt(S7, result);
+        return success(result);
+    }
+
+    private static boolean halts(MappingResult<Object> result, boolean lossless) {
+        return result instanceof MappingResult.Failure<Object> || (lossless && result instanceof MappingResult.Lossy<Object>);
+    }
+
+    private static ConversionResult<?> halt(Step step, MappingResult<Object> result) {
+        if (result instanceof MappingResult.Failure<Object>(String message)) {
+            return new ConversionResult.Failure<>(MAPPING_FAILED, message, step.conversionContext());
+        }
+        return new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", step.conversionContext());
+    }
+
+    private static Object unwrap(MappingResult<Object> result) {
+        return switch (result) {
+            case MappingResult.Lossless<Object>(Object success) -> success;
+            case MappingResult.Lossy<Object>(Object success) -> success;
+            case MappingResult.Failure<Object> _ -> throw new IllegalStateException("unreachable");
+        };
+    }
+
+    private static ConversionResult<?> success(MappingResult<Object> result) {
+        return switch (result) {
+            case MappingResult.Lossless<Object>(Object success) -> new ConversionResult.Success<>(success, true);
+            case MappingResult.Lossy<Object>(Object success) -> new ConversionResult.Success<>(success, false);
+            case MappingResult.Failure<Object> _ -> throw new IllegalStateException("unreachable");
+        };
+    }
+}
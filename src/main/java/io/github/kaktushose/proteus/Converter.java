@@ -0,0 +1,184 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/// A [Converter] is returned by [Proteus#converter(Type, Type, boolean)] and converts values between the two [Type]s
+/// that are bound to it.
+///
+/// The converter is bound directly to the resolved [ConversionPlan], thus converting a value neither allocates a cache
+/// key nor touches the LRU-Cache of the [Proteus] instance. The plan is resolved on the first conversion. Afterward, the
+/// converter only compares the version of the graph with the version the plan was resolved at. If a [Mapper] was
+/// registered in between, the plan gets resolved again. Converters are thread-safe and intended to be stored, e.g. in a
+/// static field.
+///
+/// @param <S> the type of the source [Type]
+/// @param <T> the type of the target [Type]
+public final class Converter<S, T> {
+
+    private final Proteus proteus;
+    private final Graph graph;
+    private final Type<S> source;
+    private final Type<T> target;
+    private final boolean lossless;
+    @Nullable
+    private volatile Bound bound;
+
+    Converter(@NotNull Proteus proteus, @NotNull Graph graph, @NotNull Type<S> source, @NotNull Type<T> target, boolean lossless) {
+        this.proteus = proteus;
+        this.graph = graph;
+        this.source = source;
+        this.target = target;
+        this.lossless = lossless;
+    }
+
+    /// Attempts to convert the given value from the source [Type] to the target [Type] of this converter.
+    ///
+    /// @param value the value to convert
+    /// @return a [ConversionResult] either holding the converted value or the error
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public ConversionResult<T> convert(@NotNull S value) {
+        if (source.equals(target)) {
+            return new ConversionResult.Success<>((T) value, true);
+        }
+
+        ConversionPlan plan = plan();
+        if (plan.isEmpty()) {
+            return proteus.noPath(source, target, lossless);
+        }
+        return (ConversionResult<T>) proteus.execute(plan, value, lossless);
+    }
+
+    /// Returns a [Collector] that converts the elements of a stream and collects them into a [BulkResult], in
+    /// encounter order. Like [Proteus#convertAll(Collection, Type, Type, boolean)], no [ConversionResult] is allocated
+    /// per successful element. The path is resolved once when this method is called, thus the collector isn't affected
+    /// by [Mapper]s that are registered while the stream is running. The collector supports parallel streams.
+    ///
+    /// @return a [Collector] converting into a [BulkResult]
+    @NotNull
+    public Collector<S, ?, BulkResult<T>> toBulkResult() {
+        ConversionPlan plan = source.equals(target) ? null : plan();
+        ConversionResult.Failure<T> unreachable = plan != null && plan.isEmpty() ? proteus.noPath(source, target, lossless) : null;
+        return Collector.of(
+                () -> new BulkConversion(proteus, plan, unreachable, lossless),
+                BulkConversion::add,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                conversion -> conversion.<T>result()
+        );
+    }
+
+    /// Returns a [Collector] that converts the elements of a stream and collects the converted values into a [List], in
+    /// encounter order. Elements that fail are left out of the list, their [ConversionResult.Failure]s are passed to
+    /// the given [Consumer] instead, in encounter order and on the thread that finishes the collection. See
+    /// [#toBulkResult()] for the behavior on parallel streams.
+    ///
+    /// @param failures the [Consumer] to pass the failures to, e.g. `_ -> {}` to drop them
+    /// @return a [Collector] converting into a [List]
+    @NotNull
+    public Collector<S, ?, List<T>> toList(@NotNull Consumer<? super ConversionResult.Failure<T>> failures) {
+        return Collectors.collectingAndThen(toBulkResult(), result -> {
+            int[] failedIndices = result.failedIndices();
+            List<T> values = new ArrayList<>(result.size() - failedIndices.length);
+            int failed = 0;
+            for (int i = 0; i < result.size(); i++) {
+                if (failed < failedIndices.length && failedIndices[failed] == i) {
+                    failures.accept(result.failure(i));
+                    failed++;
+                } else {
+                    values.add(result.value(i));
+                }
+            }
+            return values;
+        });
+    }
+
+    /// Returns a function to be passed to [Stream#mapMulti(BiConsumer)] that converts every element of a stream and
+    /// only passes on the converted values. Elements that fail are dropped from the stream and their
+    /// [ConversionResult.Failure]s are passed to the given [Consumer] instead. The path is resolved once when this
+    /// method is called.
+    ///
+    /// @apiNote The [Consumer] is called on the thread that processes the element, thus it must be thread-safe if used
+    /// with a parallel stream.
+    ///
+    /// @param failures the [Consumer] to pass the failures to, e.g. `_ -> {}` to drop them
+    /// @return a function for [Stream#mapMulti(BiConsumer)]
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public BiConsumer<S, Consumer<T>> dropFailures(@NotNull Consumer<? super ConversionResult.Failure<T>> failures) {
+        if (source.equals(target)) {
+            return (value, downstream) -> downstream.accept((T) value);
+        }
+        ConversionPlan plan = plan();
+        if (plan.isEmpty()) {
+            ConversionResult.Failure<T> unreachable = proteus.noPath(source, target, lossless);
+            return (_, _) -> failures.accept(unreachable);
+        }
+        return (value, downstream) -> {
+            switch ((ConversionResult<T>) proteus.execute(plan, value, lossless)) {
+                case ConversionResult.Success<T>(T success, boolean _) -> downstream.accept(success);
+                case ConversionResult.Failure<T> failure -> failures.accept(failure);
+            }
+        };
+    }
+
+    /// Gets the source [Type] of this converter.
+    ///
+    /// @return the source [Type]
+    @NotNull
+    public Type<S> source() {
+        return source;
+    }
+
+    /// Gets the target [Type] of this converter.
+    ///
+    /// @return the target [Type]
+    @NotNull
+    public Type<T> target() {
+        return target;
+    }
+
+    /// Whether this converter only uses paths without lossy mappers, see [Proteus#convert(Object, Type, Type, boolean)].
+    ///
+    /// @return `true` if this converter converts lossless
+    public boolean isLossless() {
+        return lossless;
+    }
+
+    @NotNull
+    private ConversionPlan plan() {
+        Bound current = bound;
+        if (current == null || current.version() != graph.version()) {
+            long version = graph.version();
+            current = new Bound(graph.plan(source, target, lossless), version);
+            bound = current;
+        }
+        return current.plan();
+    }
+
+    @Override
+    public String toString() {
+        return "Converter[%s -> %s, lossless=%s]".formatted(source, target, lossless);
+    }
+
+    /// The [ConversionPlan] a converter is bound to together with the graph version it was resolved at.
+    private record Bound(@NotNull ConversionPlan plan, long version) {}
+}
@@ -0,0 +1,153 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/// Cache of the [ConversionPlan]s used by [Proteus#convertDynamic(Object, Type, boolean)].
+///
+/// Plans are cached in two levels, keyed by the runtime class of the value first and by the target [Type] second. The
+/// source [Type] of a runtime class is resolved by a static [ClassValue], thus resolving it neither reflects nor hashes.
+/// The values of the [ClassValue] never reference a [DynamicRoutes] instance, because a value that references its
+/// [ClassValue] keeps it reachable for as long as the class is loaded, see
+/// [JDK-8136353](https://bugs.openjdk.org/browse/JDK-8136353).
+///
+/// Instead, the routes of every runtime class are kept per instance in a [ConcurrentHashMap], thus looking up a cached
+/// plan neither locks nor writes. Because cached plans reference their source class, the routes keep at most
+/// [#MAX_CLASSES] classes reachable. Once there are more, the classes are evicted one by one in the order they were
+/// added, but a class that was looked up again since it was added or last skipped gets a second chance, see
+/// [#evict()].
+///
+/// Each cached plan remembers the [Graph#version()] it was resolved at. Only if the graph changed since then, the plan
+/// is looked up again through [Graph#plan(Type, Type, boolean)].
+final class DynamicRoutes {
+
+    private static final int MAX_CLASSES = 1024;
+    private static final ClassValue<Type<Object>> SOURCES = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Type<Object> computeValue(Class<?> type) {
+            return (Type<Object>) Type.of(type);
+        }
+    };
+
+    private final Graph graph;
+    private final int maxClasses;
+    private final Map<Class<?>, Routes> routes;
+    private final Queue<Class<?>> insertions;
+
+    /// Creates a new, empty cache for the given [Graph].
+    ///
+    /// @param graph the [Graph] to resolve plans with
+    DynamicRoutes(@NotNull Graph graph) {
+        this(graph, MAX_CLASSES);
+    }
+
+    /// Creates a new, empty cache for the given [Graph] that keeps the routes of the given amount of classes at most.
+    ///
+    /// @param graph      the [Graph] to resolve plans with
+    /// @param maxClasses the maximum amount of runtime classes to keep the routes of
+    DynamicRoutes(@NotNull Graph graph, int maxClasses) {
+        this.graph = graph;
+        this.maxClasses = maxClasses;
+        this.routes = new ConcurrentHashMap<>();
+        this.insertions = new ConcurrentLinkedQueue<>();
+    }
+
+    /// Gets the source [Type] of the given runtime class, see [Type#dynamic(Object)].
+    ///
+    /// @param type the runtime class of the value to convert
+    /// @return the source [Type]
+    @NotNull
+    static Type<Object> source(@NotNull Class<?> type) {
+        return SOURCES.get(type);
+    }
+
+    /// Gets the [ConversionPlan] from the given runtime class to the given target [Type].
+    ///
+    /// @param type     the runtime class of the value to convert
+    /// @param target   the destination [Type]
+    /// @param lossless whether to only use paths without lossy mappers
+    /// @return a possibly-empty [ConversionPlan]
+    @NotNull
+    ConversionPlan plan(@NotNull Class<?> type, @NotNull Type<?> target, boolean lossless) {
+        Routes cached = routes.get(type);
+        if (cached == null) {
+            cached = add(type);
+        } else if (!cached.used) {
+            cached.used = true;
+        }
+        Map<Type<?>, Resolved> plans = lossless ? cached.lossless : cached.lossy;
+        Resolved resolved = plans.get(target);
+        long version = graph.version();
+        if (resolved != null && resolved.version() == version) {
+            return resolved.plan();
+        }
+        ConversionPlan plan = graph.plan(source(type), target, lossless);
+        plans.put(target, new Resolved(plan, version));
+        return plan;
+    }
+
+    /// Whether the routes of the given runtime class are currently cached.
+    ///
+    /// @param type the runtime class
+    /// @return `true` if the routes of the class are cached
+    boolean contains(@NotNull Class<?> type) {
+        return routes.containsKey(type);
+    }
+
+    @NotNull
+    private Routes add(@NotNull Class<?> type) {
+        Routes added = new Routes();
+        Routes existing = routes.putIfAbsent(type, added);
+        if (existing != null) {
+            return existing;
+        }
+        insertions.add(type);
+        evict();
+        return added;
+    }
+
+    /// Evicts the routes of single classes until at most the maximum amount of classes is left.
+    ///
+    /// Every cached class is queued exactly once. The oldest class gets evicted, unless it was looked up again since it
+    /// was queued, then it gets queued again instead. Thus, classes that are used all the time stay cached, while
+    /// classes that were only converted once are evicted first. If multiple threads add classes at once, they might
+    /// evict more classes than necessary, which only costs searching their plans again.
+    private void evict() {
+        while (routes.size() > maxClasses) {
+            Class<?> oldest = insertions.poll();
+            if (oldest == null) {
+                return;
+            }
+            Routes candidate = routes.get(oldest);
+            if (candidate == null) {
+                continue;
+            }
+            if (candidate.used) {
+                candidate.used = false;
+                insertions.add(oldest);
+            } else {
+                routes.remove(oldest, candidate);
+            }
+        }
+    }
+
+    /// The cached routes of a single runtime class.
+    private static final class Routes {
+
+        private final Map<Type<?>, Resolved> lossy = new ConcurrentHashMap<>();
+        private final Map<Type<?>, Resolved> lossless = new ConcurrentHashMap<>();
+        // whether the routes were looked up again since they were queued for eviction
+        private volatile boolean used;
+    }
+
+    /// A cached [ConversionPlan] together with the [Graph#version()] it was resolved at.
+    private record Resolved(@NotNull ConversionPlan plan, long version) {}
+}
@@ -31,7 +31,21 @@ public final class FromMappingAction<S> {
     /// @return this instance for fluent interface
     @NotNull
     public <T> FromMappingAction<S> into(@NotNull Type<T> target, @NotNull Mapper<S, T> mapper, @NotNull Flag... flags) {
-        return into(target, mapper, proteus.conflictStrategy(), flags);
+        return into(target, mapper, proteus.conflictStrategy(), Proteus.DEFAULT_COST, flags);
+    }
+
+    /// Registers the given [Mapper] with the given cost for the provided target [Type]. This will use the configured
+    /// [Proteus#conflictStrategy()] of the underlying proteus instance.
+    ///
+    /// @param target the target [Type]
+    /// @param mapper the [Mapper] to register
+    /// @param cost   the non-negative cost of calling the [Mapper], see [Proteus#DEFAULT_COST]
+    /// @param flags  the [Flag]s to register this mapper with
+    /// @param <T>    the type of the target [Type]
+    /// @return this instance for fluent interface
+    @NotNull
+    public <T> FromMappingAction<S> into(@NotNull Type<T> target, @NotNull Mapper<S, T> mapper, int cost, @NotNull Flag... flags) {
+        return into(target, mapper, proteus.conflictStrategy(), cost, flags);
     }
 
     /// Registers the given [Mapper] for the provided target [Type]. This will use the given [ProteusBuilder.ConflictStrategy]
@@ -44,12 +58,32 @@ public final class FromMappingAction<S> {
     /// @param <T>      the type of the target [Type]
     /// @return this instance for fluent interface
     @NotNull
+    public <T> FromMappingAction<S> into(@NotNull Type<T> target,
+                                         @NotNull Mapper<S, T> mapper,
+                                         @NotNull ProteusBuilder.ConflictStrategy strategy,
+                                         @NotNull Flag... flags) {
+        return into(target, mapper, strategy, Proteus.DEFAULT_COST, flags);
+    }
+
+    /// Registers the given [Mapper] with the given cost for the provided target [Type]. This will use the given
+    /// [ProteusBuilder.ConflictStrategy] overriding the configured [Proteus#conflictStrategy()] of the underlying proteus
+    /// instance.
+    ///
+    /// @param target   the target [Type]
+    /// @param mapper   the [Mapper] to register
+    /// @param strategy the [ProteusBuilder.ConflictStrategy] to use if the `from` [Type] is already registered
+    /// @param cost     the non-negative cost of calling the [Mapper], see [Proteus#DEFAULT_COST]
+    /// @param flags    the [Flag]s to register this mapper with
+    /// @param <T>      the type of the target [Type]
+    /// @return this instance for fluent interface
+    @NotNull
     @SuppressWarnings("unchecked")
     public <T> FromMappingAction<S> into(@NotNull Type<T> target,
                                          @NotNull Mapper<S, T> mapper,
                                          @NotNull ProteusBuilder.ConflictStrategy strategy,
+                                         int cost,
                                          @NotNull Flag... flags) {
-        sources.forEach(source -> proteus.register((Type<S>) source, target, mapper, strategy, flags));
+        sources.forEach(source -> proteus.register((Type<S>) source, target, mapper, strategy, cost, flags));
         return this;
     }
 }
@@ -0,0 +1,105 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.ErrorType.*;
+
+/// Fuses all steps of a [ConversionPlan] into a single [MethodHandle] of the type
+/// `(Object value, boolean lossless)ConversionResult`.
+///
+/// Executing plans with a loop calls every mapper from the same call site, which becomes megamorphic as soon as more
+/// than two paths are used, thus the JIT can't inline any mapper. Instead, every step of a fused plan is a separate
+/// [MethodHandle] bound to its [ConversionPlan.Step] and to the handle of the next step. Once a fused plan gets hot, the
+/// JVM customizes it for this exact handle, which turns the bound steps into constants. The JIT can then inline the
+/// mappers of the whole path into one compilation unit.
+///
+/// Every step still goes through [Proteus#applyMapper(ConversionPlan.Step, Object)], so cycle detection and adaptive
+/// costs work like they do for unfused plans.
+final class FusedPlan {
+
+    private static final MethodHandle STEP;
+    private static final MethodHandle DONE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STEP = lookup.findStatic(FusedPlan.class, "step", MethodType.methodType(
+                    ConversionResult.class, Proteus.class, ConversionPlan.Step.class, MethodHandle.class, Object.class, boolean.class, boolean.class
+            ));
+            DONE = lookup.findStatic(FusedPlan.class, "done", MethodType.methodType(
+                    ConversionResult.class, Object.class, boolean.class, boolean.class
+            ));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FusedPlan() {}
+
+    /// Fuses the steps of the given [ConversionPlan].
+    ///
+    /// @param proteus the [Proteus] instance to apply the mappers with
+    /// @param plan    the non-empty [ConversionPlan] to fuse
+    /// @return a [MethodHandle] of the type `(Object value, boolean lossless)ConversionResult`
+    @NotNull
+    static MethodHandle fuse(@NotNull Proteus proteus, @NotNull ConversionPlan plan) {
+        MethodHandle next = DONE;
+        for (int i = plan.size() - 1; i >= 0; i--) {
+            next = MethodHandles.insertArguments(STEP, 0, proteus, plan.step(i), next);
+        }
+        // the input is treated like the result of a lossless step
+        return MethodHandles.insertArguments(next, 2, true);
+    }
+
+    /// Executes the given fused plan.
+    ///
+    /// @param fused    the [MethodHandle] returned by [#fuse(Proteus, ConversionPlan)]
+    /// @param value    the value to convert
+    /// @param lossless whether to fail on lossy results
+    /// @return the [ConversionResult] of the conversion
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static ConversionResult<Object> execute(@NotNull MethodHandle fused, @NotNull Object value, boolean lossless) {
+        try {
+            return (ConversionResult<Object>) fused.invokeExact(value, lossless);
+        } catch (Throwable t) {
+            // mappers can only throw checked exceptions sneakily, rethrow them unchanged like an unfused plan would
+            throw FusedPlan.<RuntimeException>rethrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E rethrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+
+    private static ConversionResult<?> step(Proteus proteus,
+                                            ConversionPlan.Step step,
+                                            MethodHandle next,
+                                            Object value,
+                                            boolean lossless,
+                                            boolean lastLossless) throws Throwable {
+        return switch (proteus.applyMapper(step, value)) {
+            case MappingResult.Lossless<Object>(Object success) -> (ConversionResult<?>) next.invokeExact(success, lossless, true);
+            case MappingResult.Lossy<Object>(Object success) -> {
+                if (lossless) {
+                    yield new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", step.conversionContext());
+                }
+                yield (ConversionResult<?>) next.invokeExact(success, lossless, false);
+            }
+            case MappingResult.Failure<Object>(String message) ->
+                    new ConversionResult.Failure<>(MAPPING_FAILED, message, step.conversionContext());
+        };
+    }
+
+    private static ConversionResult<?> done(Object value, boolean lossless, boolean lastLossless) {
+        return new ConversionResult.Success<>(value, lastLossless);
+    }
+}
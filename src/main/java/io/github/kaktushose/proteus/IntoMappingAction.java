@@ -31,7 +31,21 @@ public final class IntoMappingAction<T> {
     /// @return this instance for fluent interface
     @NotNull
     public <S> IntoMappingAction<T> from(@NotNull Type<S> source, @NotNull Mapper<S, T> mapper, @NotNull Flag... flags) {
-        return from(source, mapper, proteus.conflictStrategy(), flags);
+        return from(source, mapper, proteus.conflictStrategy(), Proteus.DEFAULT_COST, flags);
+    }
+
+    /// Registers the given [Mapper] with the given cost for the provided source [Type]. This will use the configured
+    /// [Proteus#conflictStrategy()] of the underlying proteus instance.
+    ///
+    /// @param source the source [Type]
+    /// @param mapper the [Mapper] to register
+    /// @param cost   the non-negative cost of calling the [Mapper], see [Proteus#DEFAULT_COST]
+    /// @param flags  the [Flag]s to register this mapper with
+    /// @param <S>    the type of the source [Type]
+    /// @return this instance for fluent interface
+    @NotNull
+    public <S> IntoMappingAction<T> from(@NotNull Type<S> source, @NotNull Mapper<S, T> mapper, int cost, @NotNull Flag... flags) {
+        return from(source, mapper, proteus.conflictStrategy(), cost, flags);
     }
 
     /// Registers the given [Mapper] for the provided source [Type]. This will use the given [ProteusBuilder.ConflictStrategy]
@@ -44,12 +58,32 @@ public final class IntoMappingAction<T> {
     /// @param <S>      the type of the source [Type]
     /// @return this instance for fluent interface
     @NotNull
+    public <S> IntoMappingAction<T> from(@NotNull Type<S> source,
+                                         @NotNull Mapper<S, T> mapper,
+                                         @NotNull ProteusBuilder.ConflictStrategy strategy,
+                                         @NotNull Flag... flags) {
+        return from(source, mapper, strategy, Proteus.DEFAULT_COST, flags);
+    }
+
+    /// Registers the given [Mapper] with the given cost for the provided source [Type]. This will use the given
+    /// [ProteusBuilder.ConflictStrategy] overriding the configured [Proteus#conflictStrategy()] of the underlying proteus
+    /// instance.
+    ///
+    /// @param source   the source [Type]
+    /// @param mapper   the [Mapper] to register
+    /// @param strategy the [ProteusBuilder.ConflictStrategy] to use if the `from` [Type] is already registered
+    /// @param cost     the non-negative cost of calling the [Mapper], see [Proteus#DEFAULT_COST]
+    /// @param flags    the [Flag]s to register this mapper with
+    /// @param <S>      the type of the source [Type]
+    /// @return this instance for fluent interface
+    @NotNull
     @SuppressWarnings("unchecked")
     public <S> IntoMappingAction<T> from(@NotNull Type<S> source,
                                          @NotNull Mapper<S, T> mapper,
                                          @NotNull ProteusBuilder.ConflictStrategy strategy,
+                                         int cost,
                                          @NotNull Flag... flags) {
-        sources.forEach(target -> proteus.register(source, (Type<T>) target, mapper, strategy, flags));
+        sources.forEach(target -> proteus.register(source, (Type<T>) target, mapper, strategy, cost, flags));
         return this;
     }
 }
@@ -0,0 +1,326 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+
+import static io.github.kaktushose.proteus.mapping.Mapper.uni;
+import static io.github.kaktushose.proteus.mapping.MappingResult.failure;
+import static io.github.kaktushose.proteus.mapping.MappingResult.lossless;
+
+/// Default lossless mappers between primitive arrays, applying the widening and narrowing primitive conversion of
+/// [LosslessDefaultMappers] to every element. All mappers are registered with the [Flag#LOSSLESS] flag.
+///
+/// Every mapper allocates exactly one target array and converts the elements in a single counted loop without
+/// branches, which the JIT is able to unroll and vectorize. Narrowing mappers check the range of all elements up front
+/// and fail with the index of the first element that is out of range, instead of creating a failure per element.
+@ApiStatus.Internal
+final class LosslessArrayMappers {
+
+    private static final Type<byte[]> BYTE_ARRAY = Type.of(byte[].class);
+    private static final Type<short[]> SHORT_ARRAY = Type.of(short[].class);
+    private static final Type<char[]> CHARACTER_ARRAY = Type.of(char[].class);
+    private static final Type<int[]> INTEGER_ARRAY = Type.of(int[].class);
+    private static final Type<long[]> LONG_ARRAY = Type.of(long[].class);
+    private static final Type<float[]> FLOAT_ARRAY = Type.of(float[].class);
+    private static final Type<double[]> DOUBLE_ARRAY = Type.of(double[].class);
+
+    static void wideningPrimitiveArrays(Proteus proteus) {
+        // byte
+        register(proteus, BYTE_ARRAY, SHORT_ARRAY, uni((source, _) -> lossless(toShorts(source))));
+        register(proteus, BYTE_ARRAY, INTEGER_ARRAY, uni((source, _) -> lossless(toInts(source))));
+        register(proteus, BYTE_ARRAY, LONG_ARRAY, uni((source, _) -> lossless(toLongs(source))));
+        register(proteus, BYTE_ARRAY, FLOAT_ARRAY, uni((source, _) -> lossless(toFloats(source))));
+        register(proteus, BYTE_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+
+        // short
+        register(proteus, SHORT_ARRAY, INTEGER_ARRAY, uni((source, _) -> lossless(toInts(source))));
+        register(proteus, SHORT_ARRAY, LONG_ARRAY, uni((source, _) -> lossless(toLongs(source))));
+        register(proteus, SHORT_ARRAY, FLOAT_ARRAY, uni((source, _) -> lossless(toFloats(source))));
+        register(proteus, SHORT_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+
+        // char
+        register(proteus, CHARACTER_ARRAY, INTEGER_ARRAY, uni((source, _) -> lossless(toInts(source))));
+        register(proteus, CHARACTER_ARRAY, LONG_ARRAY, uni((source, _) -> lossless(toLongs(source))));
+        register(proteus, CHARACTER_ARRAY, FLOAT_ARRAY, uni((source, _) -> lossless(toFloats(source))));
+        register(proteus, CHARACTER_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+
+        // int
+        register(proteus, INTEGER_ARRAY, LONG_ARRAY, uni((source, _) -> lossless(toLongs(source))));
+        register(proteus, INTEGER_ARRAY, FLOAT_ARRAY, uni((source, _) -> lossless(toFloats(source))));
+        register(proteus, INTEGER_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+
+        // long
+        register(proteus, LONG_ARRAY, FLOAT_ARRAY, uni((source, _) -> lossless(toFloats(source))));
+        register(proteus, LONG_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+
+        // float
+        register(proteus, FLOAT_ARRAY, DOUBLE_ARRAY, uni((source, _) -> lossless(toDoubles(source))));
+    }
+
+    static void narrowingPrimitiveArrays(Proteus proteus) {
+        register(proteus, DOUBLE_ARRAY, BYTE_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for byte at index %d".formatted(index));
+            }
+            return lossless(toBytes(source));
+        }));
+        register(proteus, DOUBLE_ARRAY, SHORT_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, Short.MIN_VALUE, Short.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for short at index %d".formatted(index));
+            }
+            return lossless(toShorts(source));
+        }));
+        register(proteus, DOUBLE_ARRAY, CHARACTER_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, Character.MIN_VALUE, Character.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for char at index %d".formatted(index));
+            }
+            return lossless(toChars(source));
+        }));
+        register(proteus, DOUBLE_ARRAY, INTEGER_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for integer at index %d".formatted(index));
+            }
+            return lossless(toInts(source));
+        }));
+        register(proteus, DOUBLE_ARRAY, LONG_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, Long.MIN_VALUE, Long.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for long at index %d".formatted(index));
+            }
+            return lossless(toLongs(source));
+        }));
+        register(proteus, DOUBLE_ARRAY, FLOAT_ARRAY, uni((source, _) -> {
+            int index = firstOutOfRange(source, -Float.MAX_VALUE, Float.MAX_VALUE);
+            if (index >= 0) {
+                return failure("Number out of range for float at index %d".formatted(index));
+            }
+            return lossless(toFloats(source));
+        }));
+    }
+
+    /// Gets the index of the first element that is out of the given range. `NaN` is considered in range, like it is
+    /// for the narrowing mappers of single values.
+    ///
+    /// @param source the elements to check
+    /// @param min    the smallest value in range
+    /// @param max    the largest value in range
+    /// @return the index of the first element out of range or `-1` if all elements are in range
+    private static int firstOutOfRange(double[] source, double min, double max) {
+        for (int i = 0; i < source.length; i++) {
+            if (source[i] < min || source[i] > max) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static short[] toShorts(byte[] source) {
+        short[] target = new short[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static int[] toInts(byte[] source) {
+        int[] target = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static long[] toLongs(byte[] source) {
+        long[] target = new long[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(byte[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(byte[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static int[] toInts(short[] source) {
+        int[] target = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static long[] toLongs(short[] source) {
+        long[] target = new long[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(short[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(short[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static int[] toInts(char[] source) {
+        int[] target = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static long[] toLongs(char[] source) {
+        long[] target = new long[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(char[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(char[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static long[] toLongs(int[] source) {
+        long[] target = new long[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(int[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(int[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(long[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(long[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static double[] toDoubles(float[] source) {
+        double[] target = new double[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i];
+        }
+        return target;
+    }
+
+    private static byte[] toBytes(double[] source) {
+        byte[] target = new byte[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (byte) source[i];
+        }
+        return target;
+    }
+
+    private static short[] toShorts(double[] source) {
+        short[] target = new short[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (short) source[i];
+        }
+        return target;
+    }
+
+    private static char[] toChars(double[] source) {
+        char[] target = new char[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (char) source[i];
+        }
+        return target;
+    }
+
+    private static int[] toInts(double[] source) {
+        int[] target = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (int) source[i];
+        }
+        return target;
+    }
+
+    private static long[] toLongs(double[] source) {
+        long[] target = new long[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (long) source[i];
+        }
+        return target;
+    }
+
+    private static float[] toFloats(double[] source) {
+        float[] target = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = (float) source[i];
+        }
+        return target;
+    }
+
+    private static <S, T> void register(Proteus proteus, Type<S> from, Type<T> into, Mapper<S, T> mapper) {
+        proteus.register(from, into, mapper, Flag.LOSSLESS);
+    }
+}
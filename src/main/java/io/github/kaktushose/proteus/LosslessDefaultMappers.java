@@ -1,5 +1,8 @@
 package io.github.kaktushose.proteus;
 
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.*;
 import io.github.kaktushose.proteus.type.Type;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -12,7 +15,8 @@ import static io.github.kaktushose.proteus.mapping.MappingResult.lossless;
 
 /// Default lossless mappers for primitive types following the widening and narrowing primitive conversion. Additionally,
 ///  provides bidirectional mappers for `char[]`, [String], [StringBuffer] and [StringBuilder] as well as a [Double] to
-/// [BigDecimal] mapper.
+/// [BigDecimal] mapper. All mappers are registered with the [Flag#LOSSLESS] flag. Mappers between `int`, `long` and
+/// `double` are [io.github.kaktushose.proteus.mapping.PrimitiveMapper]s.
 ///
 /// @see <a href="https://docs.oracle.com/javase/specs/jls/se10/html/jls-5.html#jls-5.1.2">Java Language Specification</a>
 @ApiStatus.Internal
@@ -33,69 +37,59 @@ final class LosslessDefaultMappers {
 
     static void wideningPrimitives(Proteus proteus) {
         // byte
-        proteus.register(BYTE, SHORT, uni((source, _) -> lossless((short) source)));
-        proteus.register(BYTE, INTEGER, uni((source, _) -> lossless((int) source)));
-        proteus.register(BYTE, LONG, uni((source, _) -> lossless((long) source)));
-        proteus.register(BYTE, FLOAT, uni((source, _) -> lossless((float) source)));
-        proteus.register(BYTE, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, BYTE, SHORT, uni((source, _) -> lossless((short) source)));
+        register(proteus, BYTE, INTEGER, uni((source, _) -> lossless((int) source)));
+        register(proteus, BYTE, LONG, uni((source, _) -> lossless((long) source)));
+        register(proteus, BYTE, FLOAT, uni((source, _) -> lossless((float) source)));
+        register(proteus, BYTE, DOUBLE, uni((source, _) -> lossless((double) source)));
 
         // short
-        proteus.register(SHORT, INTEGER, uni((source, _) -> lossless((int) source)));
-        proteus.register(SHORT, LONG, uni((source, _) -> lossless((long) source)));
-        proteus.register(SHORT, FLOAT, uni((source, _) -> lossless((float) source)));
-        proteus.register(SHORT, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, SHORT, INTEGER, uni((source, _) -> lossless((int) source)));
+        register(proteus, SHORT, LONG, uni((source, _) -> lossless((long) source)));
+        register(proteus, SHORT, FLOAT, uni((source, _) -> lossless((float) source)));
+        register(proteus, SHORT, DOUBLE, uni((source, _) -> lossless((double) source)));
 
         // char
-        proteus.register(CHARACTER, INTEGER, uni((source, _) -> lossless((int) source)));
-        proteus.register(CHARACTER, LONG, uni((source, _) -> lossless((long) source)));
-        proteus.register(CHARACTER, FLOAT, uni((source, _) -> lossless((float) source)));
-        proteus.register(CHARACTER, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, CHARACTER, INTEGER, uni((source, _) -> lossless((int) source)));
+        register(proteus, CHARACTER, LONG, uni((source, _) -> lossless((long) source)));
+        register(proteus, CHARACTER, FLOAT, uni((source, _) -> lossless((float) source)));
+        register(proteus, CHARACTER, DOUBLE, uni((source, _) -> lossless((double) source)));
 
         // int
-        proteus.register(INTEGER, LONG, uni((source, _) -> lossless((long) source)));
-        proteus.register(INTEGER, FLOAT, uni((source, _) -> lossless((float) source)));
-        proteus.register(INTEGER, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, INTEGER, LONG, (IntToLongMapper) source -> source);
+        register(proteus, INTEGER, FLOAT, uni((source, _) -> lossless((float) source)));
+        register(proteus, INTEGER, DOUBLE, (IntToDoubleMapper) source -> source);
 
         // long
-        proteus.register(LONG, FLOAT, uni((source, _) -> lossless((float) source)));
-        proteus.register(LONG, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, LONG, FLOAT, uni((source, _) -> lossless((float) source)));
+        register(proteus, LONG, DOUBLE, (LongToDoubleMapper) source -> source);
 
         // float
-        proteus.register(FLOAT, DOUBLE, uni((source, _) -> lossless((double) source)));
+        register(proteus, FLOAT, DOUBLE, uni((source, _) -> lossless((double) source)));
     }
 
     static void narrowingPrimitives(Proteus proteus) {
-        proteus.register(DOUBLE, BYTE, uni((source, _) -> {
+        register(proteus, DOUBLE, BYTE, uni((source, _) -> {
             if (source < Byte.MIN_VALUE || source > Byte.MAX_VALUE) {
                 return failure("Number out of range for byte");
             }
             return lossless(source.byteValue());
         }));
-        proteus.register(DOUBLE, SHORT, uni((source, _) -> {
+        register(proteus, DOUBLE, SHORT, uni((source, _) -> {
             if (source < Short.MIN_VALUE || source > Short.MAX_VALUE) {
                 return failure("Number out of range for short");
             }
             return lossless(source.shortValue());
         }));
-        proteus.register(DOUBLE, CHARACTER, uni((source, _) -> {
+        register(proteus, DOUBLE, CHARACTER, uni((source, _) -> {
             if (source < Character.MIN_VALUE || source > Character.MAX_VALUE) {
                 return failure("Number out of range for char");
             }
             return lossless((char) source.doubleValue());
         }));
-        proteus.register(DOUBLE, INTEGER, uni((source, _) -> {
-            if (source < Integer.MIN_VALUE || source > Integer.MAX_VALUE) {
-                return failure("Number out of range for integer");
-            }
-            return lossless(source.intValue());
-        }));
-        proteus.register(DOUBLE, LONG, uni((source, _) -> {
-            if (source < Long.MIN_VALUE || source > Long.MAX_VALUE) {
-                return failure("Number out of range for long");
-            }
-            return lossless(source.longValue());
-        }));
-        proteus.register(DOUBLE, FLOAT, uni((source, _) -> {
+        register(proteus, DOUBLE, INTEGER, (DoubleToIntMapper) source -> (int) source);
+        register(proteus, DOUBLE, LONG, (DoubleToLongMapper) source -> (long) source);
+        register(proteus, DOUBLE, FLOAT, uni((source, _) -> {
             if (source < Float.MIN_VALUE || source > Float.MAX_VALUE) {
                 return failure("Number out of range for float");
             }
@@ -105,25 +99,29 @@ final class LosslessDefaultMappers {
 
     static void string(Proteus proteus) {
         // char array
-        proteus.register(STRING, CHARACTER_ARRAY, bi(
+        register(proteus, STRING, CHARACTER_ARRAY, bi(
                 (source, _) -> lossless(source.toCharArray()),
                 (target, _) -> lossless(new String(target))
         ));
 
         // string buffer
-        proteus.register(STRING, STRING_BUFFER, bi(
+        register(proteus, STRING, STRING_BUFFER, bi(
                 (source, _) -> lossless(new StringBuffer(source)),
                 (target, _) -> lossless(target.toString())
         ));
 
         // string builder
-        proteus.register(STRING, STRING_BUILDER, bi(
+        register(proteus, STRING, STRING_BUILDER, bi(
                 (source, _) -> lossless(new StringBuilder(source)),
                 (target, _) -> lossless(target.toString())
         ));
     }
 
     static void bigDecimal(Proteus proteus) {
-        proteus.register(DOUBLE, BIG_DECIMAL, uni((source, _) -> lossless(new BigDecimal(source))));
+        register(proteus, DOUBLE, BIG_DECIMAL, uni((source, _) -> lossless(new BigDecimal(source))));
+    }
+
+    private static <S, T> void register(Proteus proteus, Type<S> from, Type<T> into, Mapper<S, T> mapper) {
+        proteus.register(from, into, mapper, Flag.LOSSLESS);
     }
 }
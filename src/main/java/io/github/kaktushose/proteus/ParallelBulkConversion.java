@@ -0,0 +1,87 @@
+package io.github.kaktushose.proteus;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+
+/// Fork/join task that converts the values of a [Spliterator] in parallel.
+///
+/// The task splits its spliterator until at most `threshold` values are left and converts them into a
+/// [BulkConversion] forked from the root conversion. Because the spliterator is sized, every prefix split knows its
+/// size, thus every task knows the index of its first value and writes its results to the same position as a sequential
+/// conversion would. The failures of both halves are joined in order, so the result doesn't depend on the scheduling.
+///
+/// Worker threads don't see the mappers that are currently executing on the thread that started the conversion. Thus,
+/// every task binds the frame of the starting thread to its worker while it converts, see [CallStack#bind(CallStack)].
+final class ParallelBulkConversion extends RecursiveTask<BulkConversion> {
+
+    private final BulkConversion conversion;
+    private final Spliterator<?> spliterator;
+    private final long offset;
+    private final long threshold;
+    private final CallStack frame;
+
+    /// Creates a new task.
+    ///
+    /// @param conversion  the [BulkConversion] to fork the conversion of this task from
+    /// @param spliterator the `SIZED` and `SUBSIZED` [Spliterator] of the values to convert
+    /// @param offset      the index of the first value of the spliterator
+    /// @param threshold   the maximum amount of values to convert without splitting
+    /// @param frame       the frame of the starting thread, see [CallStack#inherit()]
+    ParallelBulkConversion(@NotNull BulkConversion conversion,
+                           @NotNull Spliterator<?> spliterator,
+                           long offset,
+                           long threshold,
+                           @Nullable CallStack frame) {
+        this.conversion = conversion;
+        this.spliterator = spliterator;
+        this.offset = offset;
+        this.threshold = threshold;
+        this.frame = frame;
+    }
+
+    @Override
+    protected BulkConversion compute() {
+        if (spliterator.estimateSize() > threshold) {
+            Spliterator<?> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                long prefixSize = prefix.estimateSize();
+                ParallelBulkConversion left = new ParallelBulkConversion(conversion, prefix, offset, threshold, frame);
+                ParallelBulkConversion right = new ParallelBulkConversion(conversion, spliterator, offset + prefixSize, threshold, frame);
+                left.fork();
+                BulkConversion rightResult = right.compute();
+                BulkConversion leftResult = left.join();
+                leftResult.append(rightResult);
+                return leftResult;
+            }
+        }
+
+        return convert(conversion, spliterator, offset, frame);
+    }
+
+    /// Converts the values of the given [Spliterator] on the current thread into a [BulkConversion] forked from the
+    /// given one, binding the given frame while converting.
+    ///
+    /// @param conversion  the [BulkConversion] to fork the conversion from
+    /// @param spliterator the [Spliterator] of the values to convert
+    /// @param offset      the index of the first value of the spliterator
+    /// @param frame       the frame of the starting thread, see [CallStack#inherit()]
+    /// @return the forked [BulkConversion] holding the failures of the converted values
+    @NotNull
+    static BulkConversion convert(@NotNull BulkConversion conversion,
+                                  @NotNull Spliterator<?> spliterator,
+                                  long offset,
+                                  @Nullable CallStack frame) {
+        BulkConversion chunk = conversion.fork();
+        CallStack previous = CallStack.bind(frame);
+        try {
+            int[] index = {(int) offset};
+            spliterator.forEachRemaining(value -> chunk.convert(index[0]++, value));
+        } finally {
+            CallStack.restore(previous);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/// Compiles hot [ConversionPlan]s into hidden classes, see [ProteusBuilder#compileThreshold(int)].
+///
+/// Every compiled plan is a hidden class defined from the bytes of [CompiledPlanTemplate], with the [Proteus] instance
+/// and the steps of the plan as its class data. The hidden classes aren't strongly linked to their class loader, thus
+/// a compiled plan gets unloaded as soon as its [ConversionPlan] is unreachable, e.g. because it was evicted from the
+/// cache or because its [Proteus] instance was collected.
+///
+/// Each [Proteus] instance keeps at most [#MAX_COMPILED_PLANS] plans compiled. Compiling another plan reverts the plan
+/// that was compiled first to its fused [MethodHandle], so its hidden class can be unloaded. Reverted plans aren't
+/// compiled again, because their invocations are no longer counted, see [ConversionPlan#countInvocation(int)].
+///
+/// @implNote The JDK class-file API is still a preview API in the Java version proteus is built with, thus the code of
+/// a compiled plan isn't generated but copied from a template. Plans with more than [#MAX_STEPS] steps aren't compiled.
+final class PlanCompiler {
+
+    /// The maximum amount of steps of a plan that can be compiled.
+    static final int MAX_STEPS = 8;
+    /// The maximum amount of plans a [Proteus] instance keeps compiled at the same time.
+    static final int MAX_COMPILED_PLANS = 50;
+
+    private static final String TEMPLATE = "CompiledPlanTemplate.class";
+    private static final MethodType EXECUTE = MethodType.methodType(ConversionResult.class, Object.class, boolean.class);
+
+    private final Proteus proteus;
+    private final Deque<Compiled> compiled;
+
+    /// Creates a new compiler for the given [Proteus] instance.
+    ///
+    /// @param proteus the [Proteus] instance to apply the mappers with
+    PlanCompiler(@NotNull Proteus proteus) {
+        this.proteus = proteus;
+        this.compiled = new ArrayDeque<>();
+    }
+
+    /// Compiles the given [ConversionPlan] and replaces its executor with the compiled one. Returns the given fused
+    /// handle if the plan has too many steps or was already compiled.
+    ///
+    /// @param plan  the non-empty [ConversionPlan] to compile
+    /// @param fused the current fused [MethodHandle] of the plan, see [FusedPlan]
+    /// @return a [MethodHandle] of the type `(Object value, boolean lossless)ConversionResult`
+    @NotNull
+    MethodHandle compile(@NotNull ConversionPlan plan, @NotNull MethodHandle fused) {
+        if (plan.size() > MAX_STEPS) {
+            return fused;
+        }
+        ConversionPlan.ExecutorSlot slot = plan.executor();
+        synchronized (compiled) {
+            // the threshold might be reported more than once for concurrent invocations
+            compiled.removeIf(entry -> entry.slot().refersTo(null));
+            if (compiled.stream().anyMatch(entry -> entry.slot().refersTo(slot))) {
+                return fused;
+            }
+            while (compiled.size() >= MAX_COMPILED_PLANS) {
+                Compiled evicted = compiled.poll();
+                ConversionPlan.ExecutorSlot evictedSlot = evicted.slot().get();
+                if (evictedSlot != null) {
+                    evictedSlot.replace(evicted.fused());
+                }
+            }
+            MethodHandle handle = define(plan);
+            compiled.add(new Compiled(new WeakReference<>(slot), fused));
+            plan.replaceExecutor(handle);
+            return handle;
+        }
+    }
+
+    @NotNull
+    private MethodHandle define(@NotNull ConversionPlan plan) {
+        ConversionPlan.Step[] steps = new ConversionPlan.Step[plan.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = plan.step(i);
+        }
+        try {
+            MethodHandles.Lookup compiled = MethodHandles.lookup().defineHiddenClassWithClassData(
+                    Template.BYTES, new ClassData(proteus, steps), true
+            );
+            return compiled.findStatic(compiled.lookupClass(), "execute", EXECUTE);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Failed to compile conversion plan", e);
+        }
+    }
+
+    /// A compiled plan. The [ConversionPlan.ExecutorSlot] is referenced weakly, so keeping track of a compiled plan
+    /// doesn't prevent its hidden class from being unloaded.
+    ///
+    /// @param slot  the [ConversionPlan.ExecutorSlot] of the plan
+    /// @param fused the fused [MethodHandle] to revert the plan to
+    private record Compiled(@NotNull WeakReference<ConversionPlan.ExecutorSlot> slot, @NotNull MethodHandle fused) {}
+
+    /// The class data of a compiled plan.
+    ///
+    /// @param proteus the [Proteus] instance to apply the mappers with
+    /// @param steps   the steps of the plan
+    record ClassData(@NotNull Proteus proteus, @NotNull ConversionPlan.Step[] steps) {}
+
+    // loads the template lazily, so instances that don't compile plans never read it
+    private static final class Template {
+
+        private static final byte[] BYTES;
+
+        static {
+            try (InputStream in = PlanCompiler.class.getResourceAsStream(TEMPLATE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing template " + TEMPLATE);
+                }
+                BYTES = in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
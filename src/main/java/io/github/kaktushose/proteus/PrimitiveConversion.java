@@ -0,0 +1,158 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+
+/// Executes a [ConversionPlan] on primitive values, see [PrimitiveMapper].
+///
+/// Between the steps, values are carried as raw `long` bits, `double` values are stored with
+/// [Double#doubleToRawLongBits(double)]. As long as every step is a [PrimitiveMapper] that accepts its input, neither
+/// the value nor any result is boxed. Otherwise, the value gets boxed once and the remaining steps are executed like
+/// [Proteus#convert(Object, io.github.kaktushose.proteus.type.Type, io.github.kaktushose.proteus.type.Type, boolean)]
+/// would, thus a step rejecting its input fails with the same [ConversionResult.Failure] as a boxed conversion.
+final class PrimitiveConversion {
+
+    private PrimitiveConversion() {}
+
+    /// Executes the given lossless [ConversionPlan].
+    ///
+    /// @param proteus   the [Proteus] instance to fall back to for steps that can't be executed on primitive values
+    /// @param graph     the [Graph] to sample the latency of the mappers into
+    /// @param plan      the non-empty [ConversionPlan] to execute
+    /// @param bits      the value to convert, see [Carrier]
+    /// @param source    the [Carrier] of the value to convert
+    /// @param target    the [Carrier] of the converted value
+    /// @param onFailure the failure handler matching the target [Carrier], see [Carrier#handle(Object, ConversionResult.Failure)]
+    /// @return the converted value or the value returned by the failure handler, see [Carrier]
+    static long execute(@NotNull Proteus proteus,
+                        @NotNull Graph graph,
+                        @NotNull ConversionPlan plan,
+                        long bits,
+                        @NotNull Carrier source,
+                        @NotNull Carrier target,
+                        @NotNull Object onFailure) {
+        for (int i = 0; i < plan.size(); i++) {
+            ConversionPlan.Step step = plan.step(i);
+            if (!(step.mapper() instanceof PrimitiveMapper<?, ?> mapper) || !accepts(mapper, bits)) {
+                Carrier current = i == 0 ? source : output((PrimitiveMapper<?, ?>) plan.step(i - 1).mapper());
+                return switch (proteus.execute(plan, current.box(bits), true, i)) {
+                    case ConversionResult.Success<Object>(Object value, _) -> target.unbox(value);
+                    case ConversionResult.Failure<Object> failure -> target.handle(onFailure, failure);
+                };
+            }
+
+            if (!step.nesting().tracking()) {
+                bits = map(graph, step, mapper, bits);
+                continue;
+            }
+            CallStack caller = CallStack.enter(step);
+            try {
+                bits = map(graph, step, mapper, bits);
+            } finally {
+                CallStack.restore(caller);
+            }
+        }
+        return bits;
+    }
+
+    private static long map(@NotNull Graph graph, @NotNull ConversionPlan.Step step, @NotNull PrimitiveMapper<?, ?> mapper, long bits) {
+        if (step.measuredCost() == null || !step.measuredCost().sampling()) {
+            return map(mapper, bits);
+        }
+        long start = System.nanoTime();
+        long result = map(mapper, bits);
+        graph.sample(step, System.nanoTime() - start);
+        return result;
+    }
+
+    private static boolean accepts(@NotNull PrimitiveMapper<?, ?> mapper, long bits) {
+        return switch (mapper) {
+            case LongToIntMapper narrowing -> narrowing.accepts(bits);
+            case DoubleToIntMapper narrowing -> narrowing.accepts(longBitsToDouble(bits));
+            case DoubleToLongMapper narrowing -> narrowing.accepts(longBitsToDouble(bits));
+            default -> true;
+        };
+    }
+
+    private static long map(@NotNull PrimitiveMapper<?, ?> mapper, long bits) {
+        return switch (mapper) {
+            case IntToIntMapper m -> m.map((int) bits);
+            case IntToLongMapper m -> m.map((int) bits);
+            case IntToDoubleMapper m -> doubleToRawLongBits(m.map((int) bits));
+            case LongToIntMapper m -> m.map(bits);
+            case LongToLongMapper m -> m.map(bits);
+            case LongToDoubleMapper m -> doubleToRawLongBits(m.map(bits));
+            case DoubleToIntMapper m -> m.map(longBitsToDouble(bits));
+            case DoubleToLongMapper m -> m.map(longBitsToDouble(bits));
+            case DoubleToDoubleMapper m -> doubleToRawLongBits(m.map(longBitsToDouble(bits)));
+        };
+    }
+
+    @NotNull
+    private static Carrier output(@NotNull PrimitiveMapper<?, ?> mapper) {
+        return switch (mapper) {
+            case IntToIntMapper _, LongToIntMapper _, DoubleToIntMapper _ -> Carrier.INT;
+            case IntToLongMapper _, LongToLongMapper _, DoubleToLongMapper _ -> Carrier.LONG;
+            case IntToDoubleMapper _, LongToDoubleMapper _, DoubleToDoubleMapper _ -> Carrier.DOUBLE;
+        };
+    }
+
+    /// The primitive type of a value carried between the steps. `int` and `long` values are stored as is, `double`
+    /// values are stored with [Double#doubleToRawLongBits(double)].
+    enum Carrier {
+        INT,
+        LONG,
+        DOUBLE;
+
+        /// Gets the boxed value of the given bits.
+        ///
+        /// @param bits the carried value
+        /// @return the boxed value
+        @NotNull
+        Object box(long bits) {
+            return switch (this) {
+                case INT -> Integer.valueOf((int) bits);
+                case LONG -> Long.valueOf(bits);
+                case DOUBLE -> Double.valueOf(longBitsToDouble(bits));
+            };
+        }
+
+        /// Gets the bits of the given boxed value.
+        ///
+        /// @param value the boxed value
+        /// @return the carried value
+        long unbox(@NotNull Object value) {
+            return switch (this) {
+                case INT -> (Integer) value;
+                case LONG -> (Long) value;
+                case DOUBLE -> doubleToRawLongBits((Double) value);
+            };
+        }
+
+        /// Calls the given failure handler, which is a [ToIntFunction], [ToLongFunction] or [ToDoubleFunction] of
+        /// [ConversionResult.Failure] matching this carrier.
+        ///
+        /// @param handler the failure handler
+        /// @param failure the [ConversionResult.Failure] to handle
+        /// @return the bits of the value returned by the handler
+        @SuppressWarnings("unchecked")
+        long handle(@NotNull Object handler, @NotNull ConversionResult.Failure<?> failure) {
+            return switch (this) {
+                case INT -> ((ToIntFunction<ConversionResult.Failure<?>>) handler).applyAsInt(failure);
+                case LONG -> ((ToLongFunction<ConversionResult.Failure<?>>) handler).applyAsLong(failure);
+                case DOUBLE -> doubleToRawLongBits(((ToDoubleFunction<ConversionResult.Failure<?>>) handler).applyAsDouble(failure));
+            };
+        }
+    }
+}
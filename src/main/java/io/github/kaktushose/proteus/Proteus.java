@@ -1,19 +1,31 @@
 package io.github.kaktushose.proteus;
 
+import io.github.kaktushose.proteus.PrimitiveConversion.Carrier;
+import io.github.kaktushose.proteus.conversion.BulkResult;
 import io.github.kaktushose.proteus.conversion.ConversionResult;
-import io.github.kaktushose.proteus.conversion.ConversionResult.ConversionContext;
-import io.github.kaktushose.proteus.conversion.CyclingConversionException;
-import io.github.kaktushose.proteus.graph.Edge;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
 import io.github.kaktushose.proteus.graph.Graph;
 import io.github.kaktushose.proteus.mapping.Flag;
 import io.github.kaktushose.proteus.mapping.Mapper;
-import io.github.kaktushose.proteus.mapping.Mapper.MappingContext;
 import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper;
 import io.github.kaktushose.proteus.type.Type;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.ErrorType.*;
 
@@ -25,15 +37,25 @@ import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.E
 /// Alternatively, call [#create()] to create a new empty instance, or [#builder()] for further configuration.
 public class Proteus {
 
+    /// The cost a [Mapper] is registered with if no cost is specified. The path with the lowest total cost is used for
+    /// a conversion, thus with the default cost the path with the fewest mappers wins.
+    public static final int DEFAULT_COST = 1;
+
     private static final Proteus GLOBAL_INSTANCE = Proteus.create();
+    private static final int MIN_PARALLEL_CHUNK = 1024;
 
-    private static final ThreadLocal<List<Edge>> callStack = ThreadLocal.withInitial(ArrayList::new);
     private final Graph graph;
     private final ProteusBuilder.ConflictStrategy conflictStrategy;
+    private final DynamicRoutes dynamicRoutes;
+    private final int compileThreshold;
+    private final Function<ConversionPlan, MethodHandle> fuser = plan -> FusedPlan.fuse(this, plan);
+    private final PlanCompiler compiler = new PlanCompiler(this);
 
-    Proteus(Graph graph, ProteusBuilder.ConflictStrategy conflictStrategy) {
+    Proteus(Graph graph, ProteusBuilder.ConflictStrategy conflictStrategy, int compileThreshold) {
         this.graph = graph;
         this.conflictStrategy = conflictStrategy;
+        this.compileThreshold = compileThreshold;
+        this.dynamicRoutes = new DynamicRoutes(graph);
     }
 
     /// Returns a new [Proteus] instance, with no [Mapper]s registered except for the default mappers
@@ -73,6 +95,27 @@ public class Proteus {
         graph.adjustCacheSize(newSize);
     }
 
+    /// Returns a read-only snapshot of this instance. The snapshot resolves the paths between all registered [Type]s
+    /// upfront and stores them in an immutable lookup table, thus converting between registered [Type]s neither searches
+    /// nor updates any cache. Registering a [Mapper] on the returned instance will throw an [IllegalStateException].
+    ///
+    /// @apiNote Freezing resolves the path between every pair of registered [Type]s, so it should be called once all
+    /// mappers are registered, e.g. after application startup. Mappers registered on this instance afterward won't be
+    /// visible to the snapshot.
+    ///
+    /// @return a frozen copy of this [Proteus] instance
+    @NotNull
+    public Proteus freeze() {
+        return new Proteus(graph.freeze(), conflictStrategy, compileThreshold);
+    }
+
+    /// Whether this instance is read-only, see [#freeze()].
+    ///
+    /// @return `true` if this instance was created by [#freeze()]
+    public boolean isFrozen() {
+        return graph.isFrozen();
+    }
+
     /// Entrypoint for registering one or multiple [Mapper]s for the given [Type] and its subtypes.
     ///
     /// @param into       the [Type]
@@ -133,7 +176,24 @@ public class Proteus {
     /// @param <T>    the type of into `from` [Type]
     @NotNull
     public <S, T> Proteus register(@NotNull Type<S> from, @NotNull Type<T> into, @NotNull Mapper<S, T> mapper, @NotNull Flag... flags) {
-        return register(from, into, mapper, conflictStrategy, flags);
+        return register(from, into, mapper, conflictStrategy, DEFAULT_COST, flags);
+    }
+
+    /// Registers a new conversion path from the given source [Type] `from` into the given destination [Type] `into` with
+    /// the given cost. If a path with the given source [Type] already exists, will use the configured
+    /// [#conflictStrategy()] of this proteus instance to resolve the conflict.
+    ///
+    /// @param from   the source [Type] of the conversion path
+    /// @param into   the destination [Type] of the conversion path
+    /// @param mapper the [Mapper] to associate with this conversion path
+    /// @param cost   the non-negative cost of calling the [Mapper], see [#DEFAULT_COST]
+    /// @param flags  the [Flag]s to register this mapper with
+    /// @param <S>    the type of the `from` [Type]
+    /// @param <T>    the type of into `from` [Type]
+    /// @throws IllegalArgumentException if the cost is negative
+    @NotNull
+    public <S, T> Proteus register(@NotNull Type<S> from, @NotNull Type<T> into, @NotNull Mapper<S, T> mapper, int cost, @NotNull Flag... flags) {
+        return register(from, into, mapper, conflictStrategy, cost, flags);
     }
 
     /// Registers a new conversion path from the given source [Type] `from` into the given destination [Type] `into`.
@@ -147,13 +207,42 @@ public class Proteus {
     /// @param flags    the [Flag]s to register this mapper with
     /// @param <S>      the type of the `from` [Type]
     /// @param <T>      the type of into `from` [Type]
+    /// @throws IllegalStateException if this instance is frozen, see [#freeze()]
     @NotNull
     public <S, T> Proteus register(@NotNull Type<S> from,
                                    @NotNull Type<T> into,
                                    @NotNull Mapper<S, T> mapper,
                                    @NotNull ProteusBuilder.ConflictStrategy strategy,
                                    @NotNull Flag... flags) {
-        graph.register(from, into, mapper, strategy, flags);
+        return register(from, into, mapper, strategy, DEFAULT_COST, flags);
+    }
+
+    /// Registers a new conversion path from the given source [Type] `from` into the given destination [Type] `into` with
+    /// the given cost. If a path with the given source [Type] already exists, will use the given
+    /// [ProteusBuilder.ConflictStrategy] to resolve the conflict, overriding the configured [#conflictStrategy()] of this
+    /// proteus instance.
+    ///
+    /// If multiple paths between two [Type]s exist, the path with the lowest total cost is used. Paths with the same
+    /// cost prefer mappers flagged with [Flag#LOSSLESS].
+    ///
+    /// @param from     the source [Type] of the conversion path
+    /// @param into     the destination [Type] of the conversion path
+    /// @param mapper   the [Mapper] to associate with this conversion path
+    /// @param strategy the [ProteusBuilder.ConflictStrategy] to use if the `from` [Type] is already registered
+    /// @param cost     the non-negative cost of calling the [Mapper], see [#DEFAULT_COST]
+    /// @param flags    the [Flag]s to register this mapper with
+    /// @param <S>      the type of the `from` [Type]
+    /// @param <T>      the type of into `from` [Type]
+    /// @throws IllegalStateException    if this instance is frozen, see [#freeze()]
+    /// @throws IllegalArgumentException if the cost is negative
+    @NotNull
+    public <S, T> Proteus register(@NotNull Type<S> from,
+                                   @NotNull Type<T> into,
+                                   @NotNull Mapper<S, T> mapper,
+                                   @NotNull ProteusBuilder.ConflictStrategy strategy,
+                                   int cost,
+                                   @NotNull Flag... flags) {
+        graph.register(from, into, mapper, strategy, cost, flags);
         return this;
     }
 
@@ -168,8 +257,7 @@ public class Proteus {
         if (source.equals(target)) {
             return true;
         }
-        List<Edge> path = graph.path(source, target);
-        return !path.isEmpty();
+        return graph.existsPath(source, target);
     }
 
     /// Attempts to convert the source [Type] with the given value [S] to the target [Type]. This will perform a lossy
@@ -189,6 +277,9 @@ public class Proteus {
 
     /// Attempts to convert the source [Type] with the given value [S] to the target [Type].
     ///
+    /// Lossless conversions only use paths without mappers flagged with [Flag#LOSSY]. If only lossy paths exist, this
+    /// fails without calling any mapper. Mappers that aren't flagged are still checked at runtime.
+    ///
     /// @param value    the value to convert
     /// @param source   the [Type] of the value to convert
     /// @param target   the [Type] to convert into
@@ -197,54 +288,538 @@ public class Proteus {
     /// @param <T>      the target type
     /// @return a [ConversionResult] either holding the converted value or the error
     @NotNull
+    @SuppressWarnings("unchecked")
     public <S, T> ConversionResult<T> convert(@NotNull S value, @NotNull Type<S> source, @NotNull Type<T> target, boolean lossless) {
-        List<Edge> oldStack = callStack.get();
-        callStack.set(new ArrayList<>(oldStack));
+        if (source.equals(target)) {
+            return new ConversionResult.Success<>((T) value, true);
+        }
+
+        ConversionPlan plan = graph.plan(source, target, lossless);
+        if (plan.isEmpty()) {
+            return noPath(source, target, lossless);
+        }
+
+        return (ConversionResult<T>) execute(plan, value, lossless);
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type]. This will perform a lossy
+    /// conversion, which means that some data might be lost during conversion. Use
+    /// [#convertAll(Collection, Type, Type, boolean)] for lossless conversion.
+    ///
+    /// @param values the values to convert
+    /// @param source the [Type] of the values to convert
+    /// @param target the [Type] to convert into
+    /// @param <S>    the source type
+    /// @param <T>    the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of iteration
+    @NotNull
+    public <S, T> BulkResult<T> convertAll(@NotNull Collection<? extends S> values, @NotNull Type<S> source, @NotNull Type<T> target) {
+        return convertAll(values, source, target, false);
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type], see
+    /// [#convertAll(Object\[\], Type, Type, boolean)].
+    ///
+    /// @param values   the values to convert
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of iteration
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <S, T> BulkResult<T> convertAll(@NotNull Collection<? extends S> values,
+                                           @NotNull Type<S> source,
+                                           @NotNull Type<T> target,
+                                           boolean lossless) {
+        return convertAll((S[]) values.toArray(), source, target, lossless);
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type]. This will perform a lossy
+    /// conversion, which means that some data might be lost during conversion. Use
+    /// [#convertAll(Object\[\], Type, Type, boolean)] for lossless conversion.
+    ///
+    /// @param values the values to convert
+    /// @param source the [Type] of the values to convert
+    /// @param target the [Type] to convert into
+    /// @param <S>    the source type
+    /// @param <T>    the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of the array
+    @NotNull
+    public <S, T> BulkResult<T> convertAll(@NotNull S[] values, @NotNull Type<S> source, @NotNull Type<T> target) {
+        return convertAll(values, source, target, false);
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type].
+    ///
+    /// The path is resolved once for the whole batch and its mappers are applied to one element after another. The
+    /// converted values are collected into a single array, thus no [ConversionResult] is allocated per successful
+    /// element. If no path exists, every element fails with the same [ConversionResult.Failure].
+    ///
+    /// @param values   the values to convert
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of the array
+    @NotNull
+    public <S, T> BulkResult<T> convertAll(@NotNull S[] values,
+                                           @NotNull Type<S> source,
+                                           @NotNull Type<T> target,
+                                           boolean lossless) {
+        if (source.equals(target)) {
+            return BulkConversion.identity(values);
+        }
+
+        ConversionPlan plan = graph.plan(source, target, lossless);
+        if (plan.isEmpty()) {
+            return BulkResult.failed(values.length, noPath(source, target, lossless));
+        }
+
+        BulkConversion conversion = new BulkConversion(this, plan, lossless, values.length);
+        conversion.convert(values);
+        return conversion.result();
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type] in parallel on the
+    /// [ForkJoinPool#commonPool()]. This will perform a lossy conversion, which means that some data might be lost
+    /// during conversion. Use [#convertAllParallel(Object\[\], Type, Type, boolean, ForkJoinPool)] for lossless
+    /// conversion.
+    ///
+    /// @param values the values to convert
+    /// @param source the [Type] of the values to convert
+    /// @param target the [Type] to convert into
+    /// @param <S>    the source type
+    /// @param <T>    the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of iteration
+    @NotNull
+    public <S, T> BulkResult<T> convertAllParallel(@NotNull Collection<? extends S> values, @NotNull Type<S> source, @NotNull Type<T> target) {
+        return convertAllParallel(values, source, target, false, ForkJoinPool.commonPool());
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type] in parallel, see
+    /// [#convertAllParallel(Object\[\], Type, Type, boolean, ForkJoinPool)].
+    ///
+    /// @param values   the values to convert
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param pool     the [ForkJoinPool] to run the conversion on
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of iteration
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <S, T> BulkResult<T> convertAllParallel(@NotNull Collection<? extends S> values,
+                                                   @NotNull Type<S> source,
+                                                   @NotNull Type<T> target,
+                                                   boolean lossless,
+                                                   @NotNull ForkJoinPool pool) {
+        return convertAllParallel((S[]) values.toArray(), source, target, lossless, pool);
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type] in parallel on the
+    /// [ForkJoinPool#commonPool()]. This will perform a lossy conversion, which means that some data might be lost
+    /// during conversion. Use [#convertAllParallel(Object\[\], Type, Type, boolean, ForkJoinPool)] for lossless
+    /// conversion.
+    ///
+    /// @param values the values to convert
+    /// @param source the [Type] of the values to convert
+    /// @param target the [Type] to convert into
+    /// @param <S>    the source type
+    /// @param <T>    the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of the array
+    @NotNull
+    public <S, T> BulkResult<T> convertAllParallel(@NotNull S[] values, @NotNull Type<S> source, @NotNull Type<T> target) {
+        return convertAllParallel(values, source, target, false, ForkJoinPool.commonPool());
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type] in parallel.
+    ///
+    /// The path is resolved once for the whole batch. The values are then split into chunks that are converted on the
+    /// given [ForkJoinPool], writing their results to the same positions as [#convertAll(Object\[\], Type, Type, boolean)]
+    /// would. Mappers that are currently executing on the calling thread are still taken into account for detecting
+    /// cycling conversions on the worker threads.
+    ///
+    /// @param values   the values to convert
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param pool     the [ForkJoinPool] to run the conversion on
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of the array
+    @NotNull
+    public <S, T> BulkResult<T> convertAllParallel(@NotNull S[] values,
+                                                   @NotNull Type<S> source,
+                                                   @NotNull Type<T> target,
+                                                   boolean lossless,
+                                                   @NotNull ForkJoinPool pool) {
+        if (source.equals(target)) {
+            return BulkConversion.identity(values);
+        }
+
+        ConversionPlan plan = graph.plan(source, target, lossless);
+        if (plan.isEmpty()) {
+            return BulkResult.failed(values.length, noPath(source, target, lossless));
+        }
+
+        BulkConversion conversion = new BulkConversion(this, plan, lossless, values.length);
+        long threshold = Math.max(MIN_PARALLEL_CHUNK, values.length / (pool.getParallelism() * 4L));
+        return pool.invoke(new ParallelBulkConversion(conversion, Arrays.spliterator(values), 0, threshold, CallStack.inherit()))
+                .result();
+    }
+
+    /// Attempts to convert all given values from the source [Type] to the target [Type] in parallel on the given
+    /// [Executor], e.g. a virtual thread executor created by [java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()].
+    ///
+    /// Unlike [#convertAllParallel(Object\[\], Type, Type, boolean, ForkJoinPool)], the values are split into a fixed
+    /// amount of chunks upfront, based on the available processors, because an [Executor] can't steal work. Every
+    /// chunk is submitted as one task, and the calling thread blocks until all chunks are converted. Thus, calling this
+    /// from a task of a bounded executor with the same executor might deadlock. If a mapper throws, the exception of
+    /// the first chunk that failed is rethrown.
+    ///
+    /// @param values   the values to convert
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param executor the [Executor] to run the conversion on
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [BulkResult] holding the converted value or the error of every element, in the order of the array
+    @NotNull
+    public <S, T> BulkResult<T> convertAllParallel(@NotNull S[] values,
+                                                   @NotNull Type<S> source,
+                                                   @NotNull Type<T> target,
+                                                   boolean lossless,
+                                                   @NotNull Executor executor) {
+        if (source.equals(target)) {
+            return BulkConversion.identity(values);
+        }
+
+        ConversionPlan plan = graph.plan(source, target, lossless);
+        if (plan.isEmpty()) {
+            return BulkResult.failed(values.length, noPath(source, target, lossless));
+        }
 
+        BulkConversion conversion = new BulkConversion(this, plan, lossless, values.length);
+        CallStack frame = CallStack.inherit();
+        int chunkSize = (int) Math.max(MIN_PARALLEL_CHUNK, values.length / (Runtime.getRuntime().availableProcessors() * 4L));
+        List<CompletableFuture<BulkConversion>> chunks = new ArrayList<>();
+        for (int offset = 0; offset < values.length; offset += chunkSize) {
+            Spliterator<S> chunk = Arrays.spliterator(values, offset, Math.min(values.length, offset + chunkSize));
+            int start = offset;
+            chunks.add(CompletableFuture.supplyAsync(() -> ParallelBulkConversion.convert(conversion, chunk, start, frame), executor));
+        }
         try {
-            return convertInternal(value, source, target, lossless);
-        } finally {
-            callStack.set(oldStack);
+            // the chunks are appended in order, so the result doesn't depend on the scheduling
+            for (CompletableFuture<BulkConversion> chunk : chunks) {
+                conversion.append(chunk.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
         }
+        return conversion.result();
     }
 
+    /// Returns a [Converter] bound to the path between the given source and target [Type]. This will perform lossy
+    /// conversions, which means that some data might be lost during conversion. Use [#converter(Type, Type, boolean)]
+    /// for lossless conversions.
+    ///
+    /// @param source the [Type] of the values to convert
+    /// @param target the [Type] to convert into
+    /// @param <S>    the source type
+    /// @param <T>    the target type
+    /// @return a [Converter] for the given [Type]s
+    @NotNull
+    public <S, T> Converter<S, T> converter(@NotNull Type<S> source, @NotNull Type<T> target) {
+        return converter(source, target, false);
+    }
+
+    /// Returns a [Converter] bound to the path between the given source and target [Type]. Converting a value with the
+    /// returned [Converter] skips the path cache and only resolves the path again if a [Mapper] was registered since.
+    ///
+    /// @param source   the [Type] of the values to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param <S>      the source type
+    /// @param <T>      the target type
+    /// @return a [Converter] for the given [Type]s
+    @NotNull
+    public <S, T> Converter<S, T> converter(@NotNull Type<S> source, @NotNull Type<T> target, boolean lossless) {
+        return new Converter<>(this, graph, source, target, lossless);
+    }
+
+    /// Attempts to convert the given value to the target [Type], using the runtime class of the value as the source
+    /// [Type], see [Type#dynamic(Object)]. This will perform a lossy conversion, which means that some data might be
+    /// lost during conversion. Use [#convertDynamic(Object, Type, boolean)] for lossless conversion.
+    ///
+    /// @param value  the value to convert
+    /// @param target the [Type] to convert into
+    /// @param <T>    the target type
+    /// @return a [ConversionResult] either holding the converted value or the error
+    @NotNull
+    public <T> ConversionResult<T> convertDynamic(@NotNull Object value, @NotNull Type<T> target) {
+        return convertDynamic(value, target, false);
+    }
+
+    /// Attempts to convert the given value to the target [Type], using the runtime class of the value as the source
+    /// [Type], see [Type#dynamic(Object)].
+    ///
+    /// The resolved paths are cached per runtime class and target [Type], thus repeatedly converting values of the same
+    /// class neither reflects nor touches the LRU-Cache, until a new [Mapper] gets registered.
+    ///
+    /// @param value    the value to convert
+    /// @param target   the [Type] to convert into
+    /// @param lossless whether to convert lossless or not
+    /// @param <T>      the target type
+    /// @return a [ConversionResult] either holding the converted value or the error
+    @NotNull
     @SuppressWarnings("unchecked")
-    private <S, T> ConversionResult<T> convertInternal(@NotNull S value, @NotNull Type<S> source, @NotNull Type<T> target, boolean lossless) {
+    public <T> ConversionResult<T> convertDynamic(@NotNull Object value, @NotNull Type<T> target, boolean lossless) {
+        Class<?> type = value.getClass();
+        Type<Object> source = DynamicRoutes.source(type);
         if (source.equals(target)) {
             return new ConversionResult.Success<>((T) value, true);
         }
 
-        List<Edge> path = graph.path(source, target);
-        if (path.isEmpty()) {
-            return new ConversionResult.Failure<>(NO_PATH_FOUND, "Found no path to convert from '%s' to '%s'!".formatted(source, target), null);
+        ConversionPlan plan = dynamicRoutes.plan(type, target, lossless);
+        if (plan.isEmpty()) {
+            return noPath(source, target, lossless);
         }
 
-        ConversionResult<Object> intermediate = new ConversionResult.Success<>(value, true);
-        for (Edge edge : path) {
-            if (intermediate instanceof ConversionResult.Success<?>(Object success, boolean _)) {
-                intermediate = applyMapper(edge, path, success, lossless);
-            }
+        return (ConversionResult<T>) execute(plan, value, lossless);
+    }
+
+    /// Attempts to convert the given `int` value from the source [Type] to the target [Type], returning the converted
+    /// `int` value. If every [Mapper] along the path is a [PrimitiveMapper], neither the value nor any intermediate
+    /// result is boxed and nothing is allocated unless the conversion fails. Otherwise, the value is converted like
+    /// [#convert(Object, Type, Type, boolean)] would.
+    ///
+    /// Because the returned value can't indicate whether data was lost, the conversion is always lossless.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public int convertToInt(int value,
+                            @NotNull Type<Integer> source,
+                            @NotNull Type<Integer> target,
+                            @NotNull ToIntFunction<ConversionResult.Failure<Integer>> onFailure) {
+        return (int) convertPrimitive(value, source, Carrier.INT, target, Carrier.INT, onFailure);
+    }
+
+    /// Attempts to convert the given `long` value from the source [Type] to the target [Type], returning the converted
+    /// `int` value. See [#convertToInt(int, Type, Type, ToIntFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public int convertToInt(long value,
+                            @NotNull Type<Long> source,
+                            @NotNull Type<Integer> target,
+                            @NotNull ToIntFunction<ConversionResult.Failure<Integer>> onFailure) {
+        return (int) convertPrimitive(value, source, Carrier.LONG, target, Carrier.INT, onFailure);
+    }
+
+    /// Attempts to convert the given `double` value from the source [Type] to the target [Type], returning the converted
+    /// `int` value. See [#convertToInt(int, Type, Type, ToIntFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public int convertToInt(double value,
+                            @NotNull Type<Double> source,
+                            @NotNull Type<Integer> target,
+                            @NotNull ToIntFunction<ConversionResult.Failure<Integer>> onFailure) {
+        return (int) convertPrimitive(Double.doubleToRawLongBits(value), source, Carrier.DOUBLE, target, Carrier.INT, onFailure);
+    }
+
+    /// Attempts to convert the given `int` value from the source [Type] to the target [Type], returning the converted
+    /// `long` value. See [#convertToInt(int, Type, Type, ToIntFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public long convertToLong(int value,
+                              @NotNull Type<Integer> source,
+                              @NotNull Type<Long> target,
+                              @NotNull ToLongFunction<ConversionResult.Failure<Long>> onFailure) {
+        return convertPrimitive(value, source, Carrier.INT, target, Carrier.LONG, onFailure);
+    }
+
+    /// Attempts to convert the given `long` value from the source [Type] to the target [Type], returning the converted
+    /// `long` value. See [#convertToLong(int, Type, Type, ToLongFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public long convertToLong(long value,
+                              @NotNull Type<Long> source,
+                              @NotNull Type<Long> target,
+                              @NotNull ToLongFunction<ConversionResult.Failure<Long>> onFailure) {
+        return convertPrimitive(value, source, Carrier.LONG, target, Carrier.LONG, onFailure);
+    }
+
+    /// Attempts to convert the given `double` value from the source [Type] to the target [Type], returning the converted
+    /// `long` value. See [#convertToLong(int, Type, Type, ToLongFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public long convertToLong(double value,
+                              @NotNull Type<Double> source,
+                              @NotNull Type<Long> target,
+                              @NotNull ToLongFunction<ConversionResult.Failure<Long>> onFailure) {
+        return convertPrimitive(Double.doubleToRawLongBits(value), source, Carrier.DOUBLE, target, Carrier.LONG, onFailure);
+    }
+
+    /// Attempts to convert the given `int` value from the source [Type] to the target [Type], returning the converted
+    /// `double` value. See [#convertToInt(int, Type, Type, ToIntFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public double convertToDouble(int value,
+                                  @NotNull Type<Integer> source,
+                                  @NotNull Type<Double> target,
+                                  @NotNull ToDoubleFunction<ConversionResult.Failure<Double>> onFailure) {
+        return Double.longBitsToDouble(convertPrimitive(value, source, Carrier.INT, target, Carrier.DOUBLE, onFailure));
+    }
+
+    /// Attempts to convert the given `long` value from the source [Type] to the target [Type], returning the converted
+    /// `double` value. See [#convertToDouble(int, Type, Type, ToDoubleFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public double convertToDouble(long value,
+                                  @NotNull Type<Long> source,
+                                  @NotNull Type<Double> target,
+                                  @NotNull ToDoubleFunction<ConversionResult.Failure<Double>> onFailure) {
+        return Double.longBitsToDouble(convertPrimitive(value, source, Carrier.LONG, target, Carrier.DOUBLE, onFailure));
+    }
+
+    /// Attempts to convert the given `double` value from the source [Type] to the target [Type], returning the converted
+    /// `double` value. See [#convertToDouble(int, Type, Type, ToDoubleFunction)] for details.
+    ///
+    /// @param value     the value to convert
+    /// @param source    the [Type] of the value to convert
+    /// @param target    the [Type] to convert into
+    /// @param onFailure called with the [ConversionResult.Failure] if the conversion fails, its result is returned instead
+    /// @return the converted value or the value returned by `onFailure`
+    public double convertToDouble(double value,
+                                  @NotNull Type<Double> source,
+                                  @NotNull Type<Double> target,
+                                  @NotNull ToDoubleFunction<ConversionResult.Failure<Double>> onFailure) {
+        return Double.longBitsToDouble(convertPrimitive(Double.doubleToRawLongBits(value), source, Carrier.DOUBLE, target, Carrier.DOUBLE, onFailure));
+    }
+
+    private long convertPrimitive(long bits,
+                                  @NotNull Type<?> source,
+                                  @NotNull Carrier sourceCarrier,
+                                  @NotNull Type<?> target,
+                                  @NotNull Carrier targetCarrier,
+                                  @NotNull Object onFailure) {
+        if (source.equals(target)) {
+            return bits;
+        }
+
+        ConversionPlan plan = graph.plan(source, target, true);
+        if (plan.isEmpty()) {
+            return targetCarrier.handle(onFailure, noPath(source, target, true));
         }
-        return (ConversionResult<T>) intermediate;
+
+        return PrimitiveConversion.execute(this, graph, plan, bits, sourceCarrier, targetCarrier, onFailure);
     }
 
     @NotNull
-    private ConversionResult<Object> applyMapper(@NotNull Edge edge, @NotNull List<Edge> path, @NotNull Object value, boolean lossless) {
-        Mapper.UniMapper<Object, Object> mapper = edge.mapper();
-        List<Edge> stack = callStack.get();
-        if (stack.contains(edge)) {
-            throw new CyclingConversionException(edge, stack);
+    <T> ConversionResult.Failure<T> noPath(@NotNull Type<?> source, @NotNull Type<T> target, boolean lossless) {
+        if (lossless && !graph.plan(source, target).isEmpty()) {
+            return new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "Found no lossless path to convert from '%s' to '%s'!".formatted(source, target), null);
         }
+        return new ConversionResult.Failure<>(NO_PATH_FOUND, "Found no path to convert from '%s' to '%s'!".formatted(source, target), null);
+    }
 
-        ConversionContext context = new ConversionContext(path, edge);
-        stack.add(edge);
-        MappingResult<Object> result = mapper.from(value, new MappingContext<>(edge.from(), edge.into()));
+    @NotNull
+    ConversionResult<Object> execute(@NotNull ConversionPlan plan, @NotNull Object value, boolean lossless) {
+        MethodHandle executor = plan.fused(fuser);
+        if (compileThreshold >= 0 && plan.countInvocation(compileThreshold)) {
+            executor = compiler.compile(plan, executor);
+        }
+        return FusedPlan.execute(executor, value, lossless);
+    }
 
-        if (lossless && result instanceof MappingResult.Lossy<?>) {
-            return new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", context);
+    @NotNull
+    ConversionResult<Object> execute(@NotNull ConversionPlan plan, @NotNull Object value, boolean lossless, int first) {
+        Object intermediate = value;
+        boolean lastLossless = true;
+        for (int i = first; i < plan.size(); i++) {
+            ConversionPlan.Step step = plan.step(i);
+            switch (applyMapper(step, intermediate)) {
+                case MappingResult.Lossless<Object>(Object success) -> {
+                    intermediate = success;
+                    lastLossless = true;
+                }
+                case MappingResult.Lossy<Object>(Object success) -> {
+                    if (lossless) {
+                        return new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", step.conversionContext());
+                    }
+                    intermediate = success;
+                    lastLossless = false;
+                }
+                case MappingResult.Failure<Object>(String message) -> {
+                    return new ConversionResult.Failure<>(MAPPING_FAILED, message, step.conversionContext());
+                }
+            }
         }
+        return new ConversionResult.Success<>(intermediate, lastLossless);
+    }
 
-        stack.remove(edge);
-        return ConversionResult.of(result, MAPPING_FAILED, context);
+    @NotNull
+    MappingResult<Object> applyMapper(@NotNull ConversionPlan.Step step, @NotNull Object value) {
+        if (!step.nesting().tracking()) {
+            return callMapper(step, value);
+        }
+        CallStack caller = CallStack.enter(step);
+        try {
+            return callMapper(step, value);
+        } finally {
+            CallStack.restore(caller);
+        }
+    }
+
+    @NotNull
+    private MappingResult<Object> callMapper(@NotNull ConversionPlan.Step step, @NotNull Object value) {
+        if (step.measuredCost() == null || !step.measuredCost().sampling()) {
+            return step.mapper().from(value, step.mappingContext());
+        }
+        long start = System.nanoTime();
+        MappingResult<Object> result = step.mapper().from(value, step.mappingContext());
+        graph.sample(step, System.nanoTime() - start);
+        return result;
     }
 }
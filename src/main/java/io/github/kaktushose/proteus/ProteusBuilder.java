@@ -14,12 +14,17 @@ public final class ProteusBuilder {
     private int cacheSize;
     private EnumSet<DefaultMapper> defaultMappers;
     private ConflictStrategy conflictStrategy;
+    private double driftThreshold;
+    private SearchStrategy searchStrategy;
+    private int compileThreshold;
 
     /// Creates a new [ProteusBuilder].
     ProteusBuilder() {
         cacheSize = 1000;
-        defaultMappers = EnumSet.copyOf(List.of(DefaultMapper.values()));
+        defaultMappers = EnumSet.of(DefaultMapper.WIDENING_PRIMITIVE, DefaultMapper.NARROWING_PRIMITIVE, DefaultMapper.STRING, DefaultMapper.BIG_DECIMAL);
         conflictStrategy = ConflictStrategy.FAIL;
+        searchStrategy = SearchStrategy.FORWARD;
+        compileThreshold = -1;
     }
 
     /// The cache size to use for the underlying LRU-Cache used for caching conversion paths. The default value is `1000`.
@@ -35,7 +40,8 @@ public final class ProteusBuilder {
     /// The default mappers to register as described by [DefaultMapper]. These default mappers are lossless and
     /// follow the widening and narrowing primitive conversion of the Java Language Specification.
     ///
-    /// @implNote By default, all [DefaultMapper]s will be registered. Can be disabled by calling this method with zero
+    /// @implNote By default, all [DefaultMapper]s except [DefaultMapper#WIDENING_PRIMITIVE_ARRAY] and
+    /// [DefaultMapper#NARROWING_PRIMITIVE_ARRAY] will be registered. Can be disabled by calling this method with zero
     /// arguments.
     ///
     /// @param defaultMappers the [DefaultMapper]s to register
@@ -58,13 +64,64 @@ public final class ProteusBuilder {
         return this;
     }
 
+    /// Enables adaptive costs. If enabled, the latency of mapper calls is sampled and kept as a moving average per
+    /// mapper. Once the measured cost of a mapper drifted past the given threshold, the paths depending on it are
+    /// re-ranked on their next lookup, so that conversions use the path that is actually the cheapest.
+    ///
+    /// Measured latencies are converted into the unit of the registered costs, calibrated by the average latency per
+    /// registered cost unit of all measured mappers. The cost a mapper was registered with is used until the mapper was
+    /// measured. Adaptive costs are disabled by default.
+    ///
+    /// @param driftThreshold the relative drift that triggers re-ranking, e.g. `0.5` to re-rank once the measured cost
+    ///                       differs by more than 50% from the cost the paths were ranked with
+    /// @return this instance for fluent interface
+    /// @throws IllegalArgumentException if the threshold isn't positive
+    @NotNull
+    public ProteusBuilder adaptiveCosts(double driftThreshold) {
+        if (!(driftThreshold > 0)) {
+            throw new IllegalArgumentException("Drift threshold must be > 0");
+        }
+        this.driftThreshold = driftThreshold;
+        return this;
+    }
+
+    /// The [SearchStrategy] to use for finding conversion paths that aren't cached yet. The default value is
+    /// [SearchStrategy#FORWARD].
+    ///
+    /// @param searchStrategy the [SearchStrategy] to use
+    /// @return this instance for fluent interface
+    @NotNull
+    public ProteusBuilder searchStrategy(@NotNull SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+        return this;
+    }
+
+    /// Enables compiling hot conversion paths. Once a path was used for the given amount of conversions, it gets
+    /// compiled into a hidden class that calls its mappers in straight-line code with the steps of the path as
+    /// constants, which allows the JIT to inline the mappers of the whole path. Compiled paths are unloaded together
+    /// with their [Proteus] instance. At most 50 paths stay compiled at the same time, compiling another path reverts
+    /// the path compiled first. Paths with more than eight steps aren't compiled. Compiling is disabled by default.
+    ///
+    /// @param compileThreshold the amount of conversions after which a path gets compiled, `0` to compile every path on
+    ///                         its first conversion
+    /// @return this instance for fluent interface
+    /// @throws IllegalArgumentException if the threshold is negative
+    @NotNull
+    public ProteusBuilder compileThreshold(int compileThreshold) {
+        if (compileThreshold < 0) {
+            throw new IllegalArgumentException("Compile threshold must be >= 0");
+        }
+        this.compileThreshold = compileThreshold;
+        return this;
+    }
+
     /// Builds the [Proteus] instance.
     ///
     /// @return the [Proteus] instance
     @NotNull
     public Proteus build() {
-        Graph graph = new Graph(cacheSize);
-        Proteus proteus = new Proteus(graph, conflictStrategy);
+        Graph graph = new Graph(cacheSize, driftThreshold, searchStrategy);
+        Proteus proteus = new Proteus(graph, conflictStrategy, compileThreshold);
 
         for (DefaultMapper defaultMapper : defaultMappers) {
             switch (defaultMapper) {
@@ -72,6 +129,8 @@ public final class ProteusBuilder {
                 case NARROWING_PRIMITIVE -> LosslessDefaultMappers.narrowingPrimitives(proteus);
                 case STRING -> LosslessDefaultMappers.string(proteus);
                 case BIG_DECIMAL -> LosslessDefaultMappers.bigDecimal(proteus);
+                case WIDENING_PRIMITIVE_ARRAY -> LosslessArrayMappers.wideningPrimitiveArrays(proteus);
+                case NARROWING_PRIMITIVE_ARRAY -> LosslessArrayMappers.narrowingPrimitiveArrays(proteus);
             }
         }
 
@@ -88,6 +147,18 @@ public final class ProteusBuilder {
         OVERRIDE
     }
 
+    /// The strategy to use for finding conversion paths. Both strategies find a path with the lowest cost, but if there
+    /// are multiple paths with the lowest cost, they might pick a different one.
+    public enum SearchStrategy {
+        /// Expands the search from the source only. Best suited for small graphs and for graphs where most types are
+        /// reachable within a few steps.
+        FORWARD,
+        /// Expands the search from the source and from the target at the same time, until both searches meet. This
+        /// expands considerably fewer vertices on large graphs with long paths, at the cost of maintaining a second
+        /// search.
+        BIDIRECTIONAL
+    }
+
     /// The [DefaultMapper]s to register.
     public enum DefaultMapper {
         /// Registers default mappers for widening primitive conversion.
@@ -97,6 +168,14 @@ public final class ProteusBuilder {
         /// Registers bidirectional mappers for `char[]`, [String], [StringBuffer] and [StringBuilder].
         STRING,
         /// Registers a default mapper for [Double] to [BigDecimal].
-        BIG_DECIMAL
+        BIG_DECIMAL,
+        /// Registers default mappers for widening primitive conversion between primitive arrays, e.g. `int[]` to
+        /// `long[]`, converting every element. Not registered by default, because combined with [#STRING] it makes
+        /// unrelated types like [String] and `long[]` convertible.
+        WIDENING_PRIMITIVE_ARRAY,
+        /// Registers default mappers for narrowing primitive conversion from `double[]` to the other primitive arrays.
+        /// The conversion fails with the index of the first element that is out of range. Not registered by default,
+        /// see [#WIDENING_PRIMITIVE_ARRAY].
+        NARROWING_PRIMITIVE_ARRAY
     }
 }
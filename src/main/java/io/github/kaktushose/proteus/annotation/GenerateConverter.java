@@ -0,0 +1,41 @@
+package io.github.kaktushose.proteus.annotation;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+
+import java.lang.annotation.*;
+
+/// Declares a conversion that is known at compile time. For every type annotated with this annotation, the annotation
+/// processor generates a class named after the annotated type with the suffix `Converters`, in the same package.
+///
+/// For every declared conversion, the generated class contains the static methods `convert<Source>To<Target>(value)`
+/// and `convert<Source>To<Target>(value, lossless)`. They call the [Mapping]s along the shortest path directly and
+/// return the same [ConversionResult] as [Proteus#convert(Object, io.github.kaktushose.proteus.type.Type, io.github.kaktushose.proteus.type.Type, boolean)]
+/// would with the same mappers registered. The path is resolved at compile time, thus the generated converters neither
+/// search a graph nor use reflection. Compilation fails if no path exists.
+///
+/// Only the [Mapping]s of the same compilation are considered. Unlike at runtime, the source and target must match the
+/// types of the mappers exactly, subtypes and formats aren't supported.
+///
+/// # Example:
+/// ```
+/// @GenerateConverter(source = Integer.class, target = String.class)
+/// interface Conversions {}
+///
+/// ConversionResult<String> result = ConversionsConverters.convertIntegerToString(42);
+/// ```
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(GenerateConverters.class)
+public @interface GenerateConverter {
+
+    /// The class of the values to convert.
+    ///
+    /// @return the source class
+    Class<?> source();
+
+    /// The class to convert into.
+    ///
+    /// @return the target class
+    Class<?> target();
+}
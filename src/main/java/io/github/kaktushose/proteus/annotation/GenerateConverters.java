@@ -0,0 +1,17 @@
+package io.github.kaktushose.proteus.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/// Container of repeated [GenerateConverter] annotations.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateConverters {
+
+    /// The declared conversions.
+    ///
+    /// @return the [GenerateConverter]s
+    GenerateConverter[] value();
+}
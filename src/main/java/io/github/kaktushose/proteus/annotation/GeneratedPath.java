@@ -0,0 +1,107 @@
+package io.github.kaktushose.proteus.annotation;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult.ConversionContext;
+import io.github.kaktushose.proteus.graph.Edge;
+import io.github.kaktushose.proteus.mapping.Mapper.MappingContext;
+import io.github.kaktushose.proteus.mapping.Mapper.UniMapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.kaktushose.proteus.conversion.ConversionResult.Failure.ErrorType.*;
+
+/// A path resolved at compile time, used by the converters generated for [GenerateConverter]s. It holds the contexts
+/// of every step, so the generated code creates the same [ConversionResult.Failure]s as [Proteus] does. This class is
+/// not intended to be used by users.
+@ApiStatus.Internal
+public final class GeneratedPath {
+
+    private final MappingContext<?, ?>[] mappingContexts;
+    private final ConversionContext[] conversionContexts;
+
+    private GeneratedPath(@NotNull List<Edge> path) {
+        mappingContexts = new MappingContext<?, ?>[path.size()];
+        conversionContexts = new ConversionContext[path.size()];
+        for (int i = 0; i < path.size(); i++) {
+            Edge edge = path.get(i);
+            mappingContexts[i] = new MappingContext<>(edge.from(), edge.into());
+            conversionContexts[i] = new ConversionContext(path, edge);
+        }
+    }
+
+    /// Creates a new [GeneratedPath].
+    ///
+    /// @param types   the classes of all vertices along the path, starting with the source class
+    /// @param mappers the [UniMapper] of every step, calling the annotated [Mapping] method
+    /// @return a new [GeneratedPath]
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static GeneratedPath of(@NotNull List<Class<?>> types, @NotNull List<UniMapper<?, ?>> mappers) {
+        if (types.size() != mappers.size() + 1) {
+            throw new IllegalArgumentException("A path with %d steps needs %d types".formatted(mappers.size(), mappers.size() + 1));
+        }
+        List<Edge> path = new ArrayList<>(mappers.size());
+        for (int i = 0; i < mappers.size(); i++) {
+            path.add(new Edge(
+                    (Type<Object>) Type.of(types.get(i)),
+                    (Type<Object>) Type.of(types.get(i + 1)),
+                    (UniMapper<Object, Object>) mappers.get(i)
+            ));
+        }
+        return new GeneratedPath(List.copyOf(path));
+    }
+
+    /// Gets the [MappingContext] to pass to the mapper of the given step.
+    ///
+    /// @param step the index of the step
+    /// @param <S>  the source type of the step
+    /// @param <T>  the target type of the step
+    /// @return the [MappingContext] of the step
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <S, T> MappingContext<S, T> mappingContext(int step) {
+        return (MappingContext<S, T>) mappingContexts[step];
+    }
+
+    /// Creates the [ConversionResult.Failure] of a mapper that failed.
+    ///
+    /// @param step    the index of the failed step
+    /// @param message the message of the [io.github.kaktushose.proteus.mapping.MappingResult.Failure]
+    /// @param <T>     the target type of the conversion
+    /// @return a [ConversionResult.Failure] with the [ConversionResult.Failure.ErrorType#MAPPING_FAILED] error type
+    @NotNull
+    public <T> ConversionResult.Failure<T> mappingFailed(int step, @NotNull String message) {
+        return new ConversionResult.Failure<>(MAPPING_FAILED, message, conversionContexts[step]);
+    }
+
+    /// Creates the [ConversionResult.Failure] of a mapper that returned a lossy result during a lossless conversion.
+    ///
+    /// @param step the index of the lossy step
+    /// @param <T>  the target type of the conversion
+    /// @return a [ConversionResult.Failure] with the [ConversionResult.Failure.ErrorType#NO_LOSSLESS_CONVERSION] error type
+    @NotNull
+    public <T> ConversionResult.Failure<T> noLosslessConversion(int step) {
+        return new ConversionResult.Failure<>(NO_LOSSLESS_CONVERSION, "No lossless conversion possible", conversionContexts[step]);
+    }
+
+    /// Creates the [ConversionResult.Failure] of a lossless conversion between two classes that are only connected by
+    /// lossy paths.
+    ///
+    /// @param source the source class
+    /// @param target the target class
+    /// @param <T>    the target type of the conversion
+    /// @return a [ConversionResult.Failure] with the [ConversionResult.Failure.ErrorType#NO_LOSSLESS_CONVERSION] error type
+    @NotNull
+    public static <T> ConversionResult.Failure<T> noLosslessPath(@NotNull Class<?> source, @NotNull Class<?> target) {
+        return new ConversionResult.Failure<>(
+                NO_LOSSLESS_CONVERSION,
+                "Found no lossless path to convert from '%s' to '%s'!".formatted(Type.of(source), Type.of(target)),
+                null
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.kaktushose.proteus.annotation;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/// Marks a static method as a mapper for the converters generated at compile time, see [GenerateConverter].
+///
+/// The annotated method must be static and not private. It either takes the source value, or the source value and a
+/// [Mapper.MappingContext], and returns a [MappingResult] of the target type. The source and target type are taken from
+/// the signature of the method. Like [Proteus#register(io.github.kaktushose.proteus.type.Type, io.github.kaktushose.proteus.type.Type, Mapper, int, Flag...)],
+/// the path with the lowest total cost is used.
+///
+/// # Example:
+/// ```
+/// @Mapping(flags = Flag.LOSSLESS)
+/// static MappingResult<Long> toLong(Integer source) {
+///     return MappingResult.lossless(source.longValue());
+/// }
+/// ```
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Mapping {
+
+    /// The cost of this mapper, see [Proteus#DEFAULT_COST].
+    ///
+    /// @return the non-negative cost of this mapper
+    int cost() default Proteus.DEFAULT_COST;
+
+    /// The [Flag]s of this mapper. Only [Flag#LOSSLESS] and [Flag#LOSSY] affect the generated converters.
+    ///
+    /// @return the [Flag]s of this mapper
+    Flag[] flags() default {};
+}
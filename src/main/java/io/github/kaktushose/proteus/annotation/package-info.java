@@ -0,0 +1,3 @@
+/// This package contains the annotations read by the `proteus-processor` annotation processor, which generates
+/// converters for conversions that are known at compile time, as well as the runtime support used by the generated code.
+package io.github.kaktushose.proteus.annotation;
@@ -0,0 +1,182 @@
+package io.github.kaktushose.proteus.conversion;
+
+import io.github.kaktushose.proteus.Proteus;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/// Represents the result of a bulk conversion, holding the result of every element of the input.
+///
+/// Unlike a [ConversionResult] per element, a [BulkResult] stores the converted values in a single array and only keeps
+/// a sparse index of the elements that failed. Thus, converting a batch doesn't allocate anything per successful
+/// element except for the converted value itself. Use [#result(int)] to get the [ConversionResult] of a single element.
+///
+/// # Example:
+/// ```
+/// BulkResult<String> result = proteus.convertAll(values, source, target);
+/// if (result.isSuccess()) {
+///     List<String> converted = result.values();
+/// } else {
+///     for (int index : result.failedIndices()) {
+///         log(result.failure(index));
+///     }
+/// }
+/// ```
+///
+/// @param <T> the type of the converted values
+/// @see Proteus#convertAll(Collection, Type, Type)
+public final class BulkResult<T> {
+
+    private static final int[] NONE = new int[0];
+
+    private final Object[] values;
+    private final boolean[] lossy;
+    private final int[] failedIndices;
+    private final ConversionResult.Failure<T>[] failures;
+    @Nullable
+    private final ConversionResult.Failure<T> batchFailure;
+
+    /// Creates a new [BulkResult]. This is called by [Proteus] and not intended to be called by users.
+    ///
+    /// @param values        the converted values, `null` for every failed element
+    /// @param lossy         whether the last mapper of an element returned a lossy result
+    /// @param failedIndices the ascending indices of all failed elements
+    /// @param failures      the [ConversionResult.Failure] of every failed element, in the same order as `failedIndices`
+    @ApiStatus.Internal
+    public BulkResult(@NotNull Object[] values,
+                      @NotNull boolean[] lossy,
+                      @NotNull int[] failedIndices,
+                      @NotNull ConversionResult.Failure<T>[] failures) {
+        this.values = values;
+        this.lossy = lossy;
+        this.failedIndices = failedIndices;
+        this.failures = failures;
+        this.batchFailure = null;
+    }
+
+    private BulkResult(int size, @NotNull ConversionResult.Failure<T> batchFailure) {
+        this.values = new Object[size];
+        this.lossy = new boolean[0];
+        this.failedIndices = NONE;
+        this.failures = null;
+        this.batchFailure = batchFailure;
+    }
+
+    /// Creates a [BulkResult] in which every element failed with the same [ConversionResult.Failure], e.g. because no
+    /// path was found. This is called by [Proteus] and not intended to be called by users.
+    ///
+    /// @param size    the amount of elements
+    /// @param failure the [ConversionResult.Failure] of every element
+    /// @param <T>     the type of the converted values
+    /// @return a [BulkResult] in which every element failed
+    @NotNull
+    @ApiStatus.Internal
+    public static <T> BulkResult<T> failed(int size, @NotNull ConversionResult.Failure<T> failure) {
+        return new BulkResult<>(size, failure);
+    }
+
+    /// Gets the amount of elements of this result.
+    ///
+    /// @return the amount of elements
+    public int size() {
+        return values.length;
+    }
+
+    /// Whether all elements were converted successfully.
+    ///
+    /// @return `true` if no element failed
+    public boolean isSuccess() {
+        return failureCount() == 0;
+    }
+
+    /// Gets the amount of elements that failed.
+    ///
+    /// @return the amount of failed elements
+    public int failureCount() {
+        return batchFailure != null ? values.length : failedIndices.length;
+    }
+
+    /// Gets the indices of all elements that failed in ascending order.
+    ///
+    /// @return a new array of the failed indices
+    @NotNull
+    public int[] failedIndices() {
+        if (batchFailure != null) {
+            int[] all = new int[values.length];
+            Arrays.setAll(all, index -> index);
+            return all;
+        }
+        return failedIndices.clone();
+    }
+
+    /// Whether the element at the given index failed.
+    ///
+    /// @param index the index of the element
+    /// @return `true` if the element failed
+    public boolean isFailure(int index) {
+        return failure(index) != null;
+    }
+
+    /// Gets the [ConversionResult.Failure] of the element at the given index.
+    ///
+    /// @param index the index of the element
+    /// @return the [ConversionResult.Failure] or `null` if the element was converted successfully
+    @Nullable
+    public ConversionResult.Failure<T> failure(int index) {
+        Objects.checkIndex(index, values.length);
+        if (batchFailure != null) {
+            return batchFailure;
+        }
+        int position = Arrays.binarySearch(failedIndices, index);
+        return position < 0 ? null : failures[position];
+    }
+
+    /// Gets the converted value of the element at the given index.
+    ///
+    /// @param index the index of the element
+    /// @return the converted value or `null` if the element failed
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T value(int index) {
+        return (T) values[index];
+    }
+
+    /// Whether the element at the given index was converted without losing data.
+    ///
+    /// @param index the index of the element
+    /// @return `true` if the element was converted lossless, `false` if it was converted lossy or failed
+    public boolean isLossless(int index) {
+        return !isFailure(index) && !lossy[index];
+    }
+
+    /// Gets the [ConversionResult] of the element at the given index. This allocates a new [ConversionResult.Success]
+    /// for successful elements.
+    ///
+    /// @param index the index of the element
+    /// @return the [ConversionResult] of the element
+    @NotNull
+    public ConversionResult<T> result(int index) {
+        ConversionResult.Failure<T> failure = failure(index);
+        if (failure != null) {
+            return failure;
+        }
+        return new ConversionResult.Success<>(value(index), !lossy[index]);
+    }
+
+    /// Gets the converted values of all elements in the order of the input.
+    ///
+    /// @return an unmodifiable [List] of the converted values, containing `null` for every failed element
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public List<T> values() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) values));
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult[size=%d, failures=%d]".formatted(size(), failureCount());
+    }
+}
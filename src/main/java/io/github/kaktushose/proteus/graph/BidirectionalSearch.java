@@ -0,0 +1,330 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.type.Format;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/// Path search of a [Graph] that expands from the source and the target at the same time, used if
+/// [SearchStrategy#BIDIRECTIONAL] is selected.
+///
+/// The forward search expands from the source exactly like the default search does. The backward search expands from
+/// the target over the incoming edges of the [Topology], starting at every vertex a path to the target can end at, see
+/// [Topology#matching(Type)]. Both searches are Dijkstra searches over states, which are the non-strict and the strict
+/// mode of every vertex. Whenever a state gets reached by both searches, the two halves are joined to a candidate path.
+/// The search stops once the cheapest unexpanded paths of both searches together cost at least as much as the best
+/// candidate, or once the backward search is exhausted.
+///
+/// The backward search mirrors edges and moves to a supertype, but not container conversions, because resolving them
+/// backward would require a container path search for every vertex with a compatible [Format]. Instead, the backward
+/// search stops at the first vertex a container conversion could lead to, which is a vertex with outgoing edges that
+/// shares its [Format] with another vertex. The cost of this vertex is a lower bound for every path the backward search
+/// didn't find, thus the forward search finishes alone from there on.
+///
+/// Either way, the found path has the lowest cost just like a path found by the forward search. However, if there are
+/// multiple paths with the lowest cost, both strategies might pick a different one.
+final class BidirectionalSearch {
+
+    private static final Comparator<Backward> BACKWARD_CHEAPEST_FIRST = Comparator.comparingLong(Backward::cost)
+            .thenComparingInt(Backward::lossy)
+            .thenComparingInt(Backward::length);
+
+    private final Graph graph;
+    private final Topology topology;
+    private final Type<?> source;
+    private final Type<?> target;
+    private final boolean lossless;
+    private final Set<Type<?>> dependencies;
+
+    private final PriorityQueue<Path> forward;
+    private final Path[] forwardLabels;
+    private final BitSet settled;
+    private final BitSet settledStrict;
+    private final Set<Type<?>> settledTypes;
+
+    private final PriorityQueue<Backward> backward;
+    private final Backward[] backwardLabels;
+    private final BitSet backwardSettled;
+
+    @Nullable
+    private Backward backwardBound;
+    @Nullable
+    private Path best;
+
+    /// Creates a new search. A search can only be run once.
+    ///
+    /// @param graph        the [Graph] to resolve container paths with
+    /// @param topology     the [Topology] to search on
+    /// @param source       the source [Type] of the route
+    /// @param target       the destination [Type] of the route
+    /// @param lossless     whether to skip mappers flagged with [Flag#LOSSY]
+    /// @param dependencies the vertices the search depends on, gets filled by both searches
+    BidirectionalSearch(@NotNull Graph graph,
+                        @NotNull Topology topology,
+                        @NotNull Type<?> source,
+                        @NotNull Type<?> target,
+                        boolean lossless,
+                        @NotNull Set<Type<?>> dependencies) {
+        this.graph = graph;
+        this.topology = topology;
+        this.source = source;
+        this.target = target;
+        this.lossless = lossless;
+        this.dependencies = dependencies;
+        forward = new PriorityQueue<>(Graph.CHEAPEST_FIRST);
+        forwardLabels = new Path[2 * topology.size()];
+        settled = new BitSet(topology.size());
+        settledStrict = new BitSet(topology.size());
+        settledTypes = new HashSet<>();
+        backward = new PriorityQueue<>(BACKWARD_CHEAPEST_FIRST);
+        backwardLabels = new Backward[2 * topology.size()];
+        backwardSettled = new BitSet(2 * topology.size());
+    }
+
+    /// Runs the search.
+    ///
+    /// @return the cheapest path or `null` if no path exists
+    @Nullable
+    @SuppressWarnings("unchecked")
+    Path run() {
+        for (int id : topology.matching(target)) {
+            offerBackward(state(id, false), null, null, 0, 0, 0);
+            offerBackward(state(id, true), null, null, 0, 0, 0);
+        }
+
+        Path start = new Path(source);
+        label(start);
+        // the backward search cannot reach a source that isn't a vertex, thus its supertypes are joined upfront
+        if (topology.id(source) < 0) {
+            candidate(join(start, null));
+            if (source.container().type() instanceof Class<?> clazz) {
+                for (Class<?> supertype : TypeHierarchy.of(clazz).supertypes()) {
+                    Type<?> type = TypeHierarchy.strict(supertype);
+                    if (topology.id(type) >= 0) {
+                        offerForward(start.withHead((Type<Object>) type));
+                    }
+                }
+            }
+        }
+        expandForward(start);
+
+        while (!forward.isEmpty()) {
+            Backward backwardHead = backwardBound == null ? backward.peek() : backwardBound;
+            // every path to the target was found by the backward search, thus all meetings are known
+            if (backwardHead == null) {
+                break;
+            }
+            if (best != null && !mightBeCheaper(forward.peek(), backwardHead)) {
+                break;
+            }
+            if (backwardBound == null && backward.size() < forward.size()) {
+                expandBackward(backward.poll());
+            } else {
+                expandForward(forward.poll());
+            }
+        }
+        return best;
+    }
+
+    /// Whether a path through the given unexpanded paths might be cheaper than the best candidate.
+    private boolean mightBeCheaper(@NotNull Path forwardHead, @NotNull Backward backwardHead) {
+        int compared = Long.compare(forwardHead.cost() + backwardHead.cost(), best.cost());
+        if (compared == 0) {
+            compared = Integer.compare(forwardHead.lossy() + backwardHead.lossy(), best.lossy());
+        }
+        if (compared == 0) {
+            compared = Integer.compare(forwardHead.length() + backwardHead.length(), best.length());
+        }
+        return compared < 0;
+    }
+
+    private void expandForward(@NotNull Path current) {
+        Type<Object> head = current.head();
+        int headId = topology.id(head);
+        // a cheaper path to this vertex was already expanded
+        if (!Graph.settle(head, headId, settled, settledStrict, settledTypes)) {
+            return;
+        }
+
+        Path finished = finish(current);
+        if (finished != null) {
+            candidate(finished);
+            return;
+        }
+        graph.expand(current, headId, topology, settled, lossless, dependencies, this::offerForward);
+    }
+
+    private void offerForward(@NotNull Path path) {
+        forward.offer(path);
+        label(path);
+    }
+
+    private void label(@NotNull Path path) {
+        int id = topology.id(path.head());
+        if (id < 0) {
+            return;
+        }
+        int state = state(id, path.head().enforceStrictMode());
+        Path label = forwardLabels[state];
+        if (label != null && Graph.CHEAPEST_FIRST.compare(path, label) >= 0) {
+            return;
+        }
+        forwardLabels[state] = path;
+        if (backwardLabels[state] != null) {
+            candidate(join(path, backwardLabels[state]));
+        }
+    }
+
+    private void expandBackward(@NotNull Backward current) {
+        int state = current.state();
+        if (backwardSettled.get(state)) {
+            return;
+        }
+        backwardSettled.set(state);
+
+        int id = state >> 1;
+        boolean strict = (state & 1) == 1;
+        Type<?> type = topology.type(id);
+        dependencies.add(type);
+
+        // a container conversion might lead to this vertex, which the backward search cannot follow
+        if (containerTarget(id, type)) {
+            backwardBound = current;
+            backward.clear();
+            return;
+        }
+
+        // edges always reach a vertex in the mode it was registered with
+        if (type.enforceStrictMode() == strict) {
+            for (int incoming = topology.firstIncoming(id); incoming >= 0; incoming = topology.nextIncoming(incoming)) {
+                int edge = topology.incomingEdge(incoming);
+                Graph.Vertex vertex = topology.edgeVertex(edge);
+                if (lossless && vertex.flags().contains(Flag.LOSSY)) {
+                    continue;
+                }
+                int predecessor = topology.edgeSource(edge);
+                UnaryOperator<Path> move = path -> path.addEdge(type, vertex);
+                long cost = current.cost() + vertex.weight();
+                int lossy = current.lossy() + (vertex.flags().contains(Flag.LOSSLESS) ? 0 : 1);
+                offerBackward(state(predecessor, false), current, move, cost, lossy, current.length() + 1);
+                if (!vertex.flags().contains(Flag.STRICT_SUB_TYPES)) {
+                    offerBackward(state(predecessor, true), current, move, cost, lossy, current.length() + 1);
+                }
+            }
+        }
+
+        // moving to a supertype always reaches it in strict mode
+        if (strict) {
+            @SuppressWarnings("unchecked")
+            Type<Object> head = (Type<Object>) type.withStrict(true);
+            UnaryOperator<Path> move = path -> path.withHead(head);
+            for (int subtype : topology.subtypes(id)) {
+                offerBackward(state(subtype, false), current, move, current.cost(), current.lossy(), current.length());
+                offerBackward(state(subtype, true), current, move, current.cost(), current.lossy(), current.length());
+            }
+        }
+    }
+
+    /// Whether the forward search might reach the given vertex by a container conversion. This requires the vertex to
+    /// have outgoing edges and another vertex or the source to have a compatible [Format].
+    private boolean containerTarget(int id, @NotNull Type<?> type) {
+        if (type.format() == Format.NONE || topology.firstEdge(id) < 0) {
+            return false;
+        }
+        return topology.sharesFormat(id) || (topology.id(source) < 0 && source.equalsFormat(type));
+    }
+
+    private void offerBackward(int state,
+                               @Nullable Backward next,
+                               @Nullable UnaryOperator<Path> move,
+                               long cost,
+                               int lossy,
+                               int length) {
+        if (backwardSettled.get(state)) {
+            return;
+        }
+        Backward backwardPath = new Backward(state, next, move, cost, lossy, length);
+        Backward label = backwardLabels[state];
+        if (label != null && BACKWARD_CHEAPEST_FIRST.compare(backwardPath, label) >= 0) {
+            return;
+        }
+        backwardLabels[state] = backwardPath;
+        backward.offer(backwardPath);
+        if (forwardLabels[state] != null) {
+            candidate(join(forwardLabels[state], backwardPath));
+        }
+    }
+
+    private void candidate(@Nullable Path path) {
+        if (path != null && (best == null || Graph.CHEAPEST_FIRST.compare(path, best) < 0)) {
+            best = path;
+        }
+    }
+
+    /// Appends the moves of the given backward path to the given forward path.
+    ///
+    /// @return the joined path or `null` if the joined path doesn't end at the target
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Path join(@NotNull Path forwardPath, @Nullable Backward backwardPath) {
+        Path path = forwardPath;
+        for (Backward current = backwardPath; current != null && current.move() != null; current = current.next()) {
+            path = current.move().apply(path);
+        }
+        Path finished = finish(path);
+        if (finished != null) {
+            return finished;
+        }
+        // the path ends by moving to a supertype that is a subtype of the target
+        if (target.format() == Format.NONE
+            && target.container().type() instanceof Class<?> targetClass
+            && path.head().container().type() instanceof Class<?> headClass) {
+            for (Class<?> supertype : TypeHierarchy.of(headClass).supertypes()) {
+                if (targetClass.isAssignableFrom(supertype)) {
+                    return finish(path.withHead((Type<Object>) TypeHierarchy.strict(supertype)));
+                }
+            }
+        }
+        return null;
+    }
+
+    /// Finishes the given path the same way the forward search does.
+    ///
+    /// @return the finished path or `null` if the path doesn't end at the target
+    @Nullable
+    private Path finish(@NotNull Path path) {
+        Type<Object> head = path.head();
+        if (path.endsWithEdge() && head.equals(target)) {
+            return path;
+        }
+        // if subtype or equal, simulate mapper
+        if (Graph.equalsSubtype(head, target)) {
+            return path.addEdge(target.withStrict(true), Graph.IDENTITY);
+        }
+        return null;
+    }
+
+    private static int state(int id, boolean strict) {
+        return strict ? 2 * id + 1 : 2 * id;
+    }
+
+    /// A path of the backward search, from a state to the target.
+    ///
+    /// @param state  the state this path starts at
+    /// @param next   the path this path continues with or `null` if this path starts at a vertex that ends a path
+    /// @param move   the move from the state to the state of `next`, applied to a forward path
+    /// @param cost   the total cost of this path
+    /// @param lossy  the amount of mappers of this path that aren't flagged with [Flag#LOSSLESS]
+    /// @param length the amount of mappers of this path
+    private record Backward(int state,
+                            @Nullable Backward next,
+                            @Nullable UnaryOperator<Path> move,
+                            long cost,
+                            int lossy,
+                            int length) {}
+}
@@ -0,0 +1,300 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult.ConversionContext;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper.MappingContext;
+import io.github.kaktushose.proteus.mapping.Mapper.UniMapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/// A precompiled conversion path between two [Type]s.
+///
+/// A plan holds the resolved [Edge]s of a path together with the [MappingContext] and [ConversionContext] of every
+/// step. These contexts only depend on the path itself, thus they are built once when the plan is created and shared by
+/// all conversions using this plan. Executing a plan therefore only costs the calls of the mappers along the path.
+///
+/// The steps of a plan are immutable and plans are cached by the [Graph], see [Graph#plan(Type, Type)]. Additionally, each
+/// plan records the vertices the search depended on and the [Graph#version()] it was last validated against, so the
+/// graph can tell whether a registration affects this plan.
+public final class ConversionPlan {
+
+    private final List<Edge> path;
+    private final Step[] steps;
+    private final long cost;
+    private final int lossySteps;
+    private final Set<Type<?>> dependencies;
+    private volatile long version;
+    private volatile ExecutorSlot executor;
+
+    private ConversionPlan(@NotNull List<Edge> path,
+                           long cost,
+                           int lossySteps,
+                           @NotNull Set<Type<?>> dependencies,
+                           long version,
+                           @NotNull Function<Edge, @Nullable MeasuredCost> measuredCosts) {
+        this.path = path;
+        this.cost = cost;
+        this.lossySteps = lossySteps;
+        this.dependencies = dependencies;
+        this.version = version;
+        this.executor = new ExecutorSlot();
+        this.steps = new Step[path.size()];
+        for (int i = 0; i < steps.length; i++) {
+            Edge edge = path.get(i);
+            steps[i] = new Step(
+                    edge,
+                    edge.mapper(),
+                    new MappingContext<>(edge.from(), edge.into()),
+                    new ConversionContext(path, edge),
+                    measuredCosts.apply(edge),
+                    new Nesting()
+            );
+        }
+    }
+
+    /// Compiles the given path into a [ConversionPlan].
+    ///
+    /// @param path          the [Path] to compile
+    /// @param dependencies  the vertices the search of the path depended on
+    /// @param version       the [Graph#version()] the search was started at
+    /// @param measuredCosts resolves the [MeasuredCost] of an [Edge] or `null` if the edge isn't measured
+    /// @return the compiled [ConversionPlan]
+    @NotNull
+    static ConversionPlan of(@NotNull Path path,
+                             @NotNull Set<Type<?>> dependencies,
+                             long version,
+                             @NotNull Function<Edge, @Nullable MeasuredCost> measuredCosts) {
+        return new ConversionPlan(path.edges(), path.cost(), path.lossy(), Set.copyOf(dependencies), version, measuredCosts);
+    }
+
+    /// Creates an empty [ConversionPlan], used if no path was found.
+    ///
+    /// @param dependencies the vertices the search depended on
+    /// @param version      the [Graph#version()] the search was started at
+    /// @return an empty [ConversionPlan]
+    @NotNull
+    static ConversionPlan empty(@NotNull Set<Type<?>> dependencies, long version) {
+        return new ConversionPlan(List.of(), 0, 0, Set.copyOf(dependencies), version, _ -> null);
+    }
+
+    /// Whether this plan is empty, meaning that no path between the two [Type]s exists.
+    ///
+    /// @return `true` if this plan has no steps
+    public boolean isEmpty() {
+        return steps.length == 0;
+    }
+
+    /// Gets the [Edge]s this plan was compiled from.
+    ///
+    /// @return an unmodifiable [List] of [Edge]s
+    @NotNull
+    public List<Edge> path() {
+        return path;
+    }
+
+    /// Gets the amount of steps of this plan.
+    ///
+    /// @return the amount of steps
+    public int size() {
+        return steps.length;
+    }
+
+    /// Gets the total cost of this plan, which is the sum of the costs the mappers along the path were registered with.
+    ///
+    /// @return the total cost of this plan
+    public long cost() {
+        return cost;
+    }
+
+    /// Gets the amount of steps whose mapper isn't flagged with [Flag#LOSSLESS].
+    ///
+    /// @return the amount of possibly lossy steps
+    int lossySteps() {
+        return lossySteps;
+    }
+
+    /// Gets the [Step] at the given index.
+    ///
+    /// @param index the index of the step
+    /// @return the [Step] at the given index
+    @NotNull
+    public Step step(int index) {
+        return steps[index];
+    }
+
+    /// Gets the [MethodHandle] executing all steps of this plan at once, creating it with the given function on the first
+    /// call. The steps of a plan never change, thus the handle stays valid for the lifetime of this plan.
+    ///
+    /// @param fuser creates the fused [MethodHandle] of this plan
+    /// @return the fused [MethodHandle]
+    @NotNull
+    @ApiStatus.Internal
+    public MethodHandle fused(@NotNull Function<ConversionPlan, MethodHandle> fuser) {
+        ExecutorSlot slot = executor;
+        MethodHandle handle = slot.handle;
+        if (handle == null) {
+            // racing threads create equivalent handles, so any of them can win
+            handle = fuser.apply(this);
+            slot.handle = handle;
+        }
+        return handle;
+    }
+
+    /// Replaces the [MethodHandle] executing all steps of this plan, e.g. with a compiled one.
+    ///
+    /// @param handle the new [MethodHandle] executing all steps of this plan
+    @ApiStatus.Internal
+    public void replaceExecutor(@NotNull MethodHandle handle) {
+        executor.handle = handle;
+    }
+
+    /// Gets the [ExecutorSlot] holding the [MethodHandle] executing this plan. The slot is shared with the plans that
+    /// replace this plan with the same steps, see [#inherit(ConversionPlan)].
+    ///
+    /// @return the [ExecutorSlot] of this plan
+    @NotNull
+    @ApiStatus.Internal
+    public ExecutorSlot executor() {
+        return executor;
+    }
+
+    /// Counts an invocation of this plan. Returns `true` once the given amount of invocations was counted before.
+    /// Afterward, invocations are no longer counted. The counter isn't synchronized, thus concurrent invocations might
+    /// get lost or the threshold might be reported more than once.
+    ///
+    /// @param threshold the amount of invocations to count before returning `true`
+    /// @return `true` if this invocation reached the threshold
+    @ApiStatus.Internal
+    public boolean countInvocation(int threshold) {
+        ExecutorSlot slot = executor;
+        int count = slot.invocations;
+        if (count > threshold) {
+            return false;
+        }
+        slot.invocations = count + 1;
+        return count == threshold;
+    }
+
+    /// Takes over the [ExecutorSlot] of the given plan, which this plan replaces, if both plans have the same steps.
+    /// Thus, a plan that is searched again after a registration keeps its fused or compiled [MethodHandle] and its
+    /// invocation count, if the search found the same path.
+    ///
+    /// @param previous the plan this plan replaces
+    void inherit(@NotNull ConversionPlan previous) {
+        if (previous == this || !path.equals(previous.path)) {
+            return;
+        }
+        for (int i = 0; i < steps.length; i++) {
+            if (steps[i].measuredCost() != previous.steps[i].measuredCost()) {
+                return;
+            }
+        }
+        executor = previous.executor;
+    }
+
+    /// Gets the vertices the search of this plan depended on.
+    ///
+    /// @return an unmodifiable [Set] of [Type]s
+    @NotNull
+    Set<Type<?>> dependencies() {
+        return dependencies;
+    }
+
+    /// Gets the [Graph#version()] this plan was last validated against.
+    ///
+    /// @return the version of this plan
+    long version() {
+        return version;
+    }
+
+    /// Marks this plan as valid for the given [Graph#version()].
+    ///
+    /// @param version the version this plan is valid for
+    void version(long version) {
+        this.version = version;
+    }
+
+    /// Holds the [MethodHandle] executing all steps of a [ConversionPlan] and counts the invocations of the plan.
+    @ApiStatus.Internal
+    public static final class ExecutorSlot {
+
+        @Nullable
+        private volatile MethodHandle handle;
+        private int invocations;
+
+        private ExecutorSlot() {}
+
+        /// Replaces the [MethodHandle] of all plans sharing this slot, see [ConversionPlan#replaceExecutor(MethodHandle)].
+        ///
+        /// @param handle the new [MethodHandle]
+        public void replace(@NotNull MethodHandle handle) {
+            this.handle = handle;
+        }
+    }
+
+    /// A single, precompiled step of a [ConversionPlan].
+    ///
+    /// @param edge              the [Edge] of this step
+    /// @param mapper            the [UniMapper] to call
+    /// @param mappingContext    the [MappingContext] to pass to the mapper
+    /// @param conversionContext the [ConversionContext] to use if this step fails
+    /// @param measuredCost      the [MeasuredCost] to sample the latency of the mapper into, `null` if adaptive costs
+    ///                          are disabled
+    /// @param nesting           tracks whether the mapper starts nested conversions
+    public record Step(@NotNull Edge edge,
+                       @NotNull UniMapper<Object, Object> mapper,
+                       @NotNull MappingContext<Object, Object> mappingContext,
+                       @NotNull ConversionContext conversionContext,
+                       @Nullable MeasuredCost measuredCost,
+                       @NotNull Nesting nesting) {}
+
+    /// Tracks whether the mapper of a [Step] starts nested conversions, which decides whether a call of the mapper has
+    /// to be bound to the current thread for detecting cycling mapper calls.
+    ///
+    /// All calls are tracked during the warmup. Afterward, only the calls of mappers that were seen starting a nested
+    /// conversion are tracked, and every 16th call of all other mappers on average. The sampled calls still detect
+    /// mappers that only start calling each other after the warmup, because a cycle nests until two of its calls are
+    /// sampled.
+    ///
+    /// @implNote The warmup is counted without synchronization, like the samples of a [MeasuredCost].
+    @ApiStatus.Internal
+    public static final class Nesting {
+
+        private static final int WARMUP_CALLS = 8;
+        private static final int SAMPLE_RATE = 16;
+
+        private int calls;
+        private volatile boolean nests;
+
+        private Nesting() {}
+
+        /// Whether the next call of the mapper has to be bound to the current thread.
+        ///
+        /// @return `true` if the next call should be tracked
+        public boolean tracking() {
+            if (nests) {
+                return true;
+            }
+            if (calls < WARMUP_CALLS) {
+                calls++;
+                return true;
+            }
+            return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+        }
+
+        /// Records that the mapper started a nested conversion, thus all of its calls are tracked from now on.
+        public void nested() {
+            if (!nests) {
+                nests = true;
+            }
+        }
+    }
+}
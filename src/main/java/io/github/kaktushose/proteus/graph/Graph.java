@@ -1,44 +1,324 @@
 package io.github.kaktushose.proteus.graph;
 
+import io.github.kaktushose.proteus.Proteus;
 import io.github.kaktushose.proteus.ProteusBuilder.ConflictStrategy;
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
 import io.github.kaktushose.proteus.internal.ConcurrentLruCache;
 import io.github.kaktushose.proteus.mapping.Flag;
 import io.github.kaktushose.proteus.mapping.Mapper;
 import io.github.kaktushose.proteus.mapping.Mapper.BiMapper;
 import io.github.kaktushose.proteus.mapping.Mapper.UniMapper;
 import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Format;
 import io.github.kaktushose.proteus.type.Type;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
-/// Undirected, unweighted graph of all possible conversion paths.
+/// Undirected, weighted graph of all possible conversion paths.
 ///
 /// [Type]s are the vertices of this graph. Each [Type] can have `n` neighbours. However, there cannot be multiple
 /// vertices of the same [Type]. The [ConflictStrategy] is used to resolve conflicting duplicate paths.
 ///
-/// Each edge is associated with exactly one [UniMapper].
+/// Each edge is associated with exactly one [UniMapper] and the non-negative cost it was registered with. The path with
+/// the lowest total cost is used for a conversion. If multiple paths have the same cost, the path with the fewest
+/// mappers that aren't flagged with [Flag#LOSSLESS] wins. Paths for lossless conversions are planned and cached
+/// separately and never contain mappers flagged with [Flag#LOSSY].
+///
+/// Paths are searched on a [Topology], which is an immutable snapshot of this graph that assigns dense `int` ids to all
+/// vertices and stores the edges in primitive arrays. The [SearchStrategy] decides whether the search only expands from
+/// the source or from the source and the target at the same time, see [BidirectionalSearch].
 ///
 /// Use [#register(Type, Type, Mapper, ConflictStrategy)] to add a new path to this graph. You can retrieve paths by
-/// calling [#path(Type, Type)]. Resolved paths are cached in an LRU-Cache for future lookups.
+/// calling [#path(Type, Type)] or [#plan(Type, Type)]. Resolved paths are compiled into [ConversionPlan]s and cached in an
+/// LRU-Cache for future lookups.
+///
+/// Every registration increases the [#version()] of this graph. Each cached [ConversionPlan] records the vertices its
+/// search depended on, thus a registration only invalidates the cached plans it can actually affect. Plans are
+/// revalidated lazily on lookup against a log of the most recent registrations. If an affected plan is searched again
+/// and the search finds the same path, the new plan keeps the executor of the old one, see
+/// [ConversionPlan#inherit(ConversionPlan)].
+///
+/// [#existsPath(Type, Type)] uses a [ReachabilityIndex], which is updated on every registration, to check whether a path
+/// exists without searching it.
+///
+/// Call [#freeze()] to create a read-only copy of this graph that resolves all paths between its vertices upfront.
+///
+/// If adaptive costs are enabled, the latency of mapper calls is sampled, see [#sample(ConversionPlan.Step, long)].
+/// Measured latencies are converted into the unit of the registered costs, which is calibrated as the geometric mean
+/// of the latency per registered cost unit of all measured edges. Thus, an edge that is as fast as its registered cost
+/// suggests keeps its cost. Once the measured cost of edges drifted past the configured threshold, they get re-ranked
+/// at once. Re-ranking is logged like a single registration, thus only the cached plans that depend on one of the
+/// re-ranked edges are recomputed, once they are looked up again.
 public final class Graph {
 
-    public record Vertex(UniMapper<Object, Object> mapper, EnumSet<Flag> flags) {}
+    /// The value of an edge.
+    ///
+    /// @param mapper       the [UniMapper] of the edge
+    /// @param flags        the [Flag]s the mapper was registered with
+    /// @param cost         the non-negative cost of calling the mapper
+    /// @param measuredCost the [MeasuredCost] of the mapper or `null` if adaptive costs are disabled
+    public record Vertex(UniMapper<Object, Object> mapper, EnumSet<Flag> flags, int cost, @Nullable MeasuredCost measuredCost) {
+
+        /// Creates a new vertex with the [Proteus#DEFAULT_COST] and without a [MeasuredCost].
+        ///
+        /// @param mapper the [UniMapper] of the edge
+        /// @param flags  the [Flag]s the mapper was registered with
+        public Vertex(UniMapper<Object, Object> mapper, EnumSet<Flag> flags) {
+            this(mapper, flags, Proteus.DEFAULT_COST, null);
+        }
+
+        /// Gets the cost used for ranking paths. This is the measured cost if adaptive costs are enabled, else the
+        /// cost the mapper was registered with.
+        ///
+        /// @return the cost used for ranking paths
+        public long weight() {
+            return measuredCost == null ? cost : measuredCost.ranked();
+        }
+    }
+
+    static final Vertex IDENTITY = new Vertex(Mapper.uni((x, _) -> MappingResult.lossless(x)), EnumSet.of(Flag.LOSSLESS), 0, null);
+    static final Comparator<Path> CHEAPEST_FIRST = Comparator.comparingLong(Path::cost)
+            .thenComparingInt(Path::lossy)
+            .thenComparingInt(Path::length);
+
+    private static final int REGISTRATION_LOG_SIZE = 1024;
+    private static final int REGISTRATION_LOG_MASK = REGISTRATION_LOG_SIZE - 1;
 
     private final Map<Type<?>, Map<Type<?>, Vertex>> adjacencyList;
-    private ConcurrentLruCache<Key, List<Edge>> pathCache;
+    private final Map<Integer, Set<Type<?>>> formatIndex;
+    private final AtomicLong version;
+    private final AtomicReferenceArray<Registration> registrations;
+    @Nullable
+    private final Map<Key, ConversionPlan> dispatchTable;
+    private final Set<Type<?>> vertices;
+    private final Set<Type<?>> knownTypes;
+    private final ConversionPlan unreachable;
+    private final ReachabilityIndex reachability;
+    private final double driftThreshold;
+    private final Set<MeasuredCost> measured;
+    private final AtomicBoolean reRankScheduled;
+    private volatile boolean reRankPending;
+    private volatile double nanosPerUnit;
+    private final SearchStrategy searchStrategy;
+    private final Object topologyLock;
+    private volatile Topology topology;
+    private ConcurrentLruCache<Key, ConversionPlan> pathCache;
 
     /// Creates a new Graph with the given cache size.
     ///
     /// @param cacheSize the cache size to use for the LRU-Cache
     public Graph(int cacheSize) {
+        this(cacheSize, 0);
+    }
+
+    /// Creates a new Graph with the given cache size and adaptive costs.
+    ///
+    /// @param cacheSize      the cache size to use for the LRU-Cache
+    /// @param driftThreshold the relative drift of a measured mapper cost that triggers re-ranking, e.g. `0.5` for 50%,
+    ///                       or `0` to disable adaptive costs
+    /// @throws IllegalArgumentException if the threshold is negative
+    public Graph(int cacheSize, double driftThreshold) {
+        this(cacheSize, driftThreshold, SearchStrategy.FORWARD);
+    }
+
+    /// Creates a new Graph with the given cache size, adaptive costs and [SearchStrategy].
+    ///
+    /// @param cacheSize      the cache size to use for the LRU-Cache
+    /// @param driftThreshold the relative drift of a measured mapper cost that triggers re-ranking, e.g. `0.5` for 50%,
+    ///                       or `0` to disable adaptive costs
+    /// @param searchStrategy the [SearchStrategy] to use for finding paths that aren't cached
+    /// @throws IllegalArgumentException if the threshold is negative
+    public Graph(int cacheSize, double driftThreshold, @NotNull SearchStrategy searchStrategy) {
+        if (driftThreshold < 0) {
+            throw new IllegalArgumentException("Drift threshold must be >= 0");
+        }
+        this.driftThreshold = driftThreshold;
+        this.searchStrategy = searchStrategy;
+        measured = ConcurrentHashMap.newKeySet();
+        reRankScheduled = new AtomicBoolean();
+        nanosPerUnit = Double.NaN;
+        topologyLock = new Object();
         adjacencyList = new ConcurrentHashMap<>();
+        formatIndex = new ConcurrentHashMap<>();
+        version = new AtomicLong();
+        registrations = new AtomicReferenceArray<>(REGISTRATION_LOG_SIZE);
+        dispatchTable = null;
+        vertices = Set.of();
+        knownTypes = ConcurrentHashMap.newKeySet();
+        unreachable = ConversionPlan.empty(Set.of(), 0);
+        reachability = new ReachabilityIndex(adjacencyList);
         adjustCacheSize(cacheSize);
     }
 
+    private Graph(@NotNull Graph graph, @Nullable Map<Key, ConversionPlan> dispatchTable) {
+        Map<Type<?>, Map<Type<?>, Vertex>> adjacency = new HashMap<>();
+        Set<Type<?>> allVertices = new HashSet<>();
+        graph.adjacencyList.forEach((source, targets) -> {
+            adjacency.put(source, Map.copyOf(targets));
+            allVertices.add(source);
+            allVertices.addAll(targets.keySet());
+        });
+        Map<Integer, Set<Type<?>>> formats = new HashMap<>();
+        graph.formatIndex.forEach((hash, types) -> formats.put(hash, Set.copyOf(types)));
+
+        this.adjacencyList = Map.copyOf(adjacency);
+        this.formatIndex = Map.copyOf(formats);
+        this.version = new AtomicLong(graph.version());
+        this.registrations = new AtomicReferenceArray<>(REGISTRATION_LOG_SIZE);
+        this.dispatchTable = dispatchTable;
+        this.vertices = Set.copyOf(allVertices);
+        this.knownTypes = this.vertices;
+        this.unreachable = ConversionPlan.empty(Set.of(), version.get());
+        this.reachability = new ReachabilityIndex(this.adjacencyList);
+        // frozen graphs are read-only, thus they don't adapt their costs
+        this.driftThreshold = 0;
+        this.measured = Set.of();
+        this.reRankScheduled = new AtomicBoolean();
+        this.nanosPerUnit = Double.NaN;
+        this.topologyLock = new Object();
+        this.searchStrategy = graph.searchStrategy;
+        adjustCacheSize(graph.pathCache.capacity());
+    }
+
+    /// Creates a read-only copy of this graph. The copy resolves the paths between every pair of vertices of this graph
+    /// upfront, in parallel, and stores the resulting [ConversionPlan]s in an immutable dispatch table. Looking up a
+    /// path between two vertices of the frozen graph will thus neither search nor touch the LRU-Cache. Only paths that
+    /// involve [Type]s that aren't a vertex of this graph, e.g. subtypes, are still searched and cached on demand.
+    ///
+    /// Instead of searching every pair, freezing runs a single search per source vertex that doesn't stop at the first
+    /// target. Every target gets the path this search reaches it with first, which is the path a
+    /// [SearchStrategy#FORWARD] search between the pair would return.
+    ///
+    /// @apiNote Freezing runs a search for every vertex. Thus, it should be called once the graph is fully configured,
+    /// e.g. after application startup.
+    ///
+    /// @return a frozen copy of this graph
+    @NotNull
+    public Graph freeze() {
+        Graph snapshot = new Graph(this, null);
+        // without lossy mappers, lossless paths are the same as lossy paths
+        boolean lossyMappers = snapshot.adjacencyList.values().stream()
+                .flatMap(targets -> targets.values().stream())
+                .anyMatch(vertex -> vertex.flags().contains(Flag.LOSSY));
+        Topology topology = snapshot.topology();
+        Map<Key, ConversionPlan> table = new ConcurrentHashMap<>();
+        snapshot.vertices.parallelStream().forEach(source -> {
+            Map<Type<?>, ConversionPlan> lossy = snapshot.row(source, topology, false);
+            lossy.forEach((target, plan) -> table.put(new Key(source, target, false), plan));
+            Map<Type<?>, ConversionPlan> lossless = lossyMappers ? snapshot.row(source, topology, true) : lossy;
+            lossless.forEach((target, plan) -> table.put(new Key(source, target, true), plan));
+        });
+        return new Graph(snapshot, Map.copyOf(table));
+    }
+
+    /// Resolves the paths from the given source to all other vertices with a single search. The search is the one of
+    /// [#findPath(Key, Topology, Set)], but instead of returning on the first target, every polled path is checked
+    /// against all vertices it ends at. Because the paths are polled in the same order, every target is resolved with
+    /// the path a search for only this target would return. Targets with a [Format] compatible with the source are
+    /// resolved by a container conversion instead, just like [#findPath(Key, Topology, Set)] does.
+    ///
+    /// @param source   the source [Type] of all paths
+    /// @param topology the [Topology] to search on
+    /// @param lossless whether to only use paths without mappers flagged with [Flag#LOSSY]
+    /// @return the non-empty [ConversionPlan]s by their target [Type]
+    @NotNull
+    private Map<Type<?>, ConversionPlan> row(@NotNull Type<?> source, @NotNull Topology topology, boolean lossless) {
+        Map<Type<?>, Path> paths = new HashMap<>();
+        Set<Type<?>> dependencies = new HashSet<>();
+        PriorityQueue<Path> queue = new PriorityQueue<>(CHEAPEST_FIRST);
+        BitSet settled = new BitSet(topology.size());
+        BitSet settledStrict = new BitSet(topology.size());
+        Set<Type<?>> settledTypes = new HashSet<>();
+        queue.offer(new Path(source));
+        while (!queue.isEmpty()) {
+            Path current = queue.poll();
+            Type<Object> head = current.head();
+            int headId = topology.id(head);
+            if (!settle(head, headId, settled, settledStrict, settledTypes)) {
+                continue;
+            }
+
+            if (headId >= 0 && current.endsWithEdge()) {
+                resolve(source, topology.type(headId), current, paths);
+            }
+            // the head is a subtype of every vertex with a compatible format and its class or a supertype of it
+            if (head.container().type() instanceof Class<?> clazz) {
+                resolveSupertypes(source, current, clazz, topology, paths);
+                for (Class<?> supertype : TypeHierarchy.of(clazz).supertypes()) {
+                    resolveSupertypes(source, current, supertype, topology, paths);
+                }
+            }
+            expand(current, headId, topology, settled, lossless, dependencies, queue::offer);
+        }
+
+        Map<Type<?>, ConversionPlan> row = new HashMap<>();
+        Set<Type<?>> rowDependencies = Set.copyOf(dependencies);
+        paths.forEach((target, path) -> row.put(target, ConversionPlan.of(path, rowDependencies, topology.version(), this::measuredCost)));
+        if (source.format() == Format.NONE) {
+            return row;
+        }
+        // these pairs are never searched, see #findPath(Key, Topology, Set)
+        for (Type<?> target : vertices) {
+            if (!target.equals(source) && target.equalsFormat(source)) {
+                ConversionPlan plan = plan(source, target, lossless);
+                if (!plan.isEmpty()) {
+                    row.put(target, plan);
+                }
+            }
+        }
+        return row;
+    }
+
+    // resolves every vertex of the given container the head of the path is a subtype of, see #equalsSubtype(Type, Type)
+    private static void resolveSupertypes(@NotNull Type<?> source,
+                                          @NotNull Path path,
+                                          @NotNull Class<?> container,
+                                          @NotNull Topology topology,
+                                          @NotNull Map<Type<?>, Path> paths) {
+        Type<?> head = path.head();
+        for (int id : topology.containers(head.format(), container)) {
+            Type<?> target = topology.type(id);
+            if (equalsSubtype(head, target)) {
+                resolve(source, target, path.addEdge(target.withStrict(true), IDENTITY), paths);
+            }
+        }
+    }
+
+    // keeps the first path found to the target, unless the target is resolved by a container conversion
+    private static void resolve(@NotNull Type<?> source, @NotNull Type<?> target, @NotNull Path path, @NotNull Map<Type<?>, Path> paths) {
+        if (!target.equals(source) && !target.equalsFormat(source)) {
+            paths.putIfAbsent(target, path);
+        }
+    }
+
+    /// Whether this graph is frozen and thus read-only.
+    ///
+    /// @return `true` if this graph was created by [#freeze()]
+    public boolean isFrozen() {
+        return dispatchTable != null;
+    }
+
+    /// Gets the current version of this graph. The version gets increased by every registration.
+    ///
+    /// @return the current version of this graph
+    public long version() {
+        return version.get();
+    }
+
+    /// Whether adaptive costs are enabled, see [#Graph(int, double)].
+    ///
+    /// @return `true` if adaptive costs are enabled
+    public boolean isAdaptive() {
+        return driftThreshold > 0;
+    }
+
     /// Adjusts the size of the LRU-Cache. **This will create a new cache object and erase the previous one.**
     ///
     /// @param newSize the new cache size to use for the LRU-Cache
@@ -53,19 +333,32 @@ public final class Graph {
     /// @param into     the destination [Type] of the conversion path
     /// @param mapper   the [Mapper] to associate with this edge
     /// @param strategy the [ConflictStrategy] to use if the `from` [Type] is already registered as a vertex
+    /// @param cost     the non-negative cost of calling the [Mapper]
+    /// @param flags    the [Flag]s to register the [Mapper] with
     /// @param <S>      the type of the `from` [Type]
     /// @param <T>      the type of into `from` [Type]
+    /// @throws IllegalArgumentException if the cost is negative
     @SuppressWarnings({"unchecked", "rawtypes"})
     public <S, T> void register(@NotNull Type<S> from,
                                 @NotNull Type<T> into,
                                 @NotNull Mapper<S, T> mapper,
                                 @NotNull ConflictStrategy strategy,
+                                int cost,
                                 @NotNull Flag... flags) {
+        if (isFrozen()) {
+            throw new IllegalStateException("Cannot register mapper for route: '%s' -> '%s' on a frozen graph".formatted(from, into));
+        }
+        if (cost < 0) {
+            throw new IllegalArgumentException("Negative cost %d for route: '%s' -> '%s'".formatted(cost, from, into));
+        }
+        if (List.of(flags).containsAll(List.of(Flag.LOSSLESS, Flag.LOSSY))) {
+            throw new IllegalArgumentException("Mapper for route: '%s' -> '%s' cannot be both lossless and lossy".formatted(from, into));
+        }
         switch (mapper) {
-            case UniMapper uniMapper -> add(from, into, uniMapper, strategy, flags);
+            case UniMapper uniMapper -> add(from, into, uniMapper, strategy, cost, flags);
             case BiMapper biMapper -> {
-                add(from, into, biMapper::from, strategy, flags);
-                add(into, from, biMapper::into, strategy, flags);
+                add(from, into, biMapper::from, strategy, cost, flags);
+                add(into, from, biMapper::into, strategy, cost, flags);
             }
         }
     }
@@ -74,18 +367,45 @@ public final class Graph {
                      @NotNull Type<?> target,
                      @NotNull UniMapper<Object, Object> mapper,
                      @NotNull ConflictStrategy strategy,
+                     int cost,
                      @NotNull Flag... flags) {
-        Vertex present = adjacencyList.computeIfAbsent(source, _ -> new ConcurrentHashMap<>())
-                .putIfAbsent(target, new Vertex(mapper, toEnumSet(flags)));
+        boolean newVertex = !adjacencyList.containsKey(source);
+        boolean newType = knownTypes.add(source) | knownTypes.add(target);
+        Vertex vertex = vertex(source, target, mapper, cost, flags);
+        Vertex present = adjacencyList.computeIfAbsent(source, _ -> new ConcurrentHashMap<>()).putIfAbsent(target, vertex);
         if (present != null) {
             switch (strategy) {
                 case FAIL -> throw new IllegalArgumentException(
                         "Duplicated mapper registration for route: '%s' -> '%s'".formatted(source, target)
                 );
-                case OVERRIDE -> adjacencyList.compute(source, (_, _) -> new ConcurrentHashMap<>())
-                        .putIfAbsent(target, new Vertex(mapper, toEnumSet(flags)));
+                case OVERRIDE -> adjacencyList.compute(source, (_, _) -> new ConcurrentHashMap<>()).putIfAbsent(target, vertex);
+                case IGNORE -> {
+                    return;
+                }
             }
+            // edges were replaced, which the index cannot handle incrementally
+            reachability.invalidate();
+        } else {
+            reachability.add(source, target, vertex);
         }
+        if (source.format() != Format.NONE) {
+            formatIndex.computeIfAbsent(source.format().formatHashCode(), _ -> ConcurrentHashMap.newKeySet()).add(source);
+        }
+
+        log(source, target, newVertex, newType, present == null ? Change.ADDED : Change.REPLACED);
+    }
+
+    private void log(@NotNull Type<?> source, @NotNull Type<?> target, boolean newVertex, boolean newType, @NotNull Change change) {
+        long registered = version.incrementAndGet();
+        registrations.set((int) (registered & REGISTRATION_LOG_MASK), new Registration(registered, source, target, newVertex, newType, change, List.of()));
+    }
+
+    private Vertex vertex(@NotNull Type<?> source,
+                          @NotNull Type<?> target,
+                          @NotNull UniMapper<Object, Object> mapper,
+                          int cost,
+                          Flag... flags) {
+        return new Vertex(mapper, toEnumSet(flags), cost, isAdaptive() ? new MeasuredCost(source, target, cost) : null);
     }
 
     private EnumSet<Flag> toEnumSet(Flag... flags) {
@@ -99,115 +419,342 @@ public final class Graph {
     /// @return a possibly-empty [List] of [Edge]s that connect the `source` and `target` [Type]
     @NotNull
     public List<Edge> path(@NotNull Type<?> source, @NotNull Type<?> target) {
-        return pathCache.get(new Key(source, target));
+        return plan(source, target).path();
+    }
+
+    /// Checks whether a path that connects the two given [Type]s exists. This is answered by the [ReachabilityIndex]
+    /// in constant time if possible. Only if the path might require a container conversion, the path gets searched.
+    ///
+    /// @param source the source [Type] of the route
+    /// @param target the destination [Type] of the route
+    /// @return `true` if a path exists
+    public boolean existsPath(@NotNull Type<?> source, @NotNull Type<?> target) {
+        // the search only looks for a container path in this case
+        if (!source.equalsFormat(target)) {
+            switch (reachability.reachable(source, target)) {
+                case REACHABLE -> {
+                    return true;
+                }
+                case UNREACHABLE -> {
+                    return false;
+                }
+                case UNKNOWN -> {}
+            }
+        }
+        return !plan(source, target).isEmpty();
     }
 
+    /// Attempts to find a path that connects the two given [Type]s and returns it as a compiled [ConversionPlan].
+    /// Returns an empty [ConversionPlan] if no path was found.
+    ///
+    /// @param source the source [Type] of the route
+    /// @param target the destination [Type] of the route
+    /// @return a possibly-empty [ConversionPlan] that connects the `source` and `target` [Type]
     @NotNull
-    private Set<Type<?>> neighbours(@NotNull Type<?> type) {
-        Map<Type<?>, Vertex> mappers = adjacencyList.getOrDefault(type, Map.of());
-        Set<Type<?>> result = new HashSet<>(mappers.keySet());
-        result.addAll(adjacencyList.keySet().stream()
-                .filter(it -> it.equalsFormat(type))
-                .collect(Collectors.toSet()));
+    public ConversionPlan plan(@NotNull Type<?> source, @NotNull Type<?> target) {
+        return plan(source, target, false);
+    }
 
-        return result;
+    /// Attempts to find a path that connects the two given [Type]s and returns it as a compiled [ConversionPlan].
+    /// Returns an empty [ConversionPlan] if no path was found.
+    ///
+    /// @param source   the source [Type] of the route
+    /// @param target   the destination [Type] of the route
+    /// @param lossless whether to only use paths without mappers flagged with [Flag#LOSSY]
+    /// @return a possibly-empty [ConversionPlan] that connects the `source` and `target` [Type]
+    @NotNull
+    public ConversionPlan plan(@NotNull Type<?> source, @NotNull Type<?> target, boolean lossless) {
+        Key key = new Key(source, target, lossless);
+        if (dispatchTable != null) {
+            ConversionPlan plan = dispatchTable.get(key);
+            if (plan != null) {
+                return plan;
+            }
+            // both types are vertices, thus the pair was resolved while freezing
+            if (vertices.contains(source) && vertices.contains(target) && !source.equals(target)) {
+                return unreachable;
+            }
+        }
+
+        ConversionPlan plan = pathCache.get(key);
+        long current = version.get();
+        if (plan.version() == current) {
+            return plan;
+        }
+        if (isAffected(plan, current)) {
+            pathCache.remove(key);
+            ConversionPlan replanned = pathCache.get(key);
+            replanned.inherit(plan);
+            return replanned;
+        }
+        plan.version(current);
+        return plan;
     }
 
-    @Nullable
-    private Vertex mapper(@NotNull Type<?> from, @NotNull Type<?> into) {
-        return adjacencyList.getOrDefault(from, Map.of()).get(into);
+    /// Records the measured latency of a call of the mapper of the given [ConversionPlan.Step]. If the measured cost
+    /// drifted past the threshold, all drifted edges are re-ranked before this method returns. Does nothing if the step
+    /// isn't measured, see [ConversionPlan.Step#measuredCost()].
+    ///
+    /// @param step  the [ConversionPlan.Step] whose mapper was called
+    /// @param nanos the latency of the call in nanoseconds
+    public void sample(@NotNull ConversionPlan.Step step, long nanos) {
+        MeasuredCost measuredCost = step.measuredCost();
+        if (measuredCost == null || !measuredCost.sample(nanos, driftThreshold, nanosPerUnit)) {
+            return;
+        }
+        measured.add(measuredCost);
+        reRankPending = true;
+        // the thread that re-ranks also handles the edges that drifted meanwhile
+        while (reRankPending && reRankScheduled.compareAndSet(false, true)) {
+            try {
+                reRankPending = false;
+                reRank();
+            } finally {
+                reRankScheduled.set(false);
+            }
+        }
+    }
+
+    private void reRank() {
+        double logSum = 0;
+        int count = 0;
+        for (MeasuredCost measuredCost : measured) {
+            if (measuredCost.isWarm()) {
+                logSum += Math.log(measuredCost.nanosPerUnit());
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        double calibrated = Math.exp(logSum / count);
+        nanosPerUnit = calibrated;
+
+        List<MeasuredCost> ranked = new ArrayList<>();
+        for (MeasuredCost measuredCost : measured) {
+            if (measuredCost.isWarm() && measuredCost.rank(calibrated, driftThreshold)) {
+                ranked.add(measuredCost);
+            }
+        }
+        if (!ranked.isEmpty()) {
+            long registered = version.incrementAndGet();
+            MeasuredCost first = ranked.getFirst();
+            registrations.set((int) (registered & REGISTRATION_LOG_MASK),
+                    new Registration(registered, first.source(), first.target(), false, false, Change.RANKED, List.copyOf(ranked)));
+        }
+    }
+
+    private boolean isAffected(@NotNull ConversionPlan plan, long current) {
+        for (long registered = plan.version() + 1; registered <= current; registered++) {
+            Registration registration = registrations.get((int) (registered & REGISTRATION_LOG_MASK));
+            // the registration is not logged yet or was already overwritten, thus we cannot tell
+            if (registration == null || registration.version() != registered || registration.affects(plan, searchStrategy)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @NotNull
+    private Topology topology() {
+        Topology current = topology;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        // appending writes into arrays shared with the current topology, thus only one thread may update it
+        synchronized (topologyLock) {
+            current = topology;
+            long currentVersion = version.get();
+            if (current == null || current.version() != currentVersion) {
+                current = update(current, currentVersion);
+                topology = current;
+            }
+            return current;
+        }
+    }
+
+    /// Appends the edges that were registered since the given [Topology] was created. Builds a new [Topology] instead
+    /// if there is none yet, if edges were replaced or if the registrations aren't logged anymore.
+    @NotNull
+    private Topology update(@Nullable Topology current, long currentVersion) {
+        if (current == null) {
+            return Topology.of(adjacencyList, formatIndex, currentVersion);
+        }
+        List<Map.Entry<Type<?>, Type<?>>> added = new ArrayList<>();
+        for (long registered = current.version() + 1; registered <= currentVersion; registered++) {
+            Registration registration = registrations.get((int) (registered & REGISTRATION_LOG_MASK));
+            if (registration == null || registration.version() != registered || registration.change() == Change.REPLACED) {
+                return Topology.of(adjacencyList, formatIndex, currentVersion);
+            }
+            if (registration.change() == Change.ADDED) {
+                added.add(Map.entry(registration.source(), registration.target()));
+            }
+        }
+        Topology appended = current.append(added, adjacencyList, formatIndex, currentVersion);
+        return appended == null ? Topology.of(adjacencyList, formatIndex, currentVersion) : appended;
+    }
+
+    @NotNull
+    private ConversionPlan findPath(@NotNull Graph.Key route) {
+        Topology topology = topology();
+        Set<Type<?>> dependencies = new HashSet<>();
+        Path path = findPath(route, topology, dependencies);
+        if (path == null) {
+            return ConversionPlan.empty(dependencies, topology.version());
+        }
+        return ConversionPlan.of(path, dependencies, topology.version(), this::measuredCost);
+    }
+
+    @Nullable
+    private MeasuredCost measuredCost(@NotNull Edge edge) {
+        Map<Type<?>, Vertex> targets = adjacencyList.get(edge.from());
+        Vertex vertex = targets == null ? null : targets.get(edge.into());
+        // the mapper differs for simulated edges, e.g. for subtypes
+        return isAdaptive() && vertex != null && vertex.mapper() == edge.mapper() ? vertex.measuredCost() : null;
+    }
+
+    @Nullable
     @SuppressWarnings("unchecked")
-    private List<Edge> findPath(@NotNull Graph.Key route) {
+    private Path findPath(@NotNull Graph.Key route, @NotNull Topology topology, @NotNull Set<Type<?>> dependencies) {
         Type<?> source = route.source();
         Type<?> target = route.target();
 
         if (source.equalsFormat(target)) {
-            return path(Type.of(source.container()), Type.of(target.container()));
+            ConversionPlan containerPath = containerPath(source, target, route.lossless(), dependencies);
+            return containerPath.isEmpty() ? null : new Path(source).addEdges(containerPath, target);
+        }
+        if (searchStrategy == SearchStrategy.BIDIRECTIONAL) {
+            return new BidirectionalSearch(this, topology, source, target, route.lossless(), dependencies).run();
         }
 
-        LinkedList<Path> queue = new LinkedList<>();
-        Set<Type<?>> visited = new HashSet<>();
+        PriorityQueue<Path> queue = new PriorityQueue<>(CHEAPEST_FIRST);
+        BitSet settled = new BitSet(topology.size());
+        BitSet settledStrict = new BitSet(topology.size());
+        Set<Type<?>> settledTypes = new HashSet<>();
         queue.offer(new Path(source));
-        visited.add(source);
         while (!queue.isEmpty()) {
             Path current = queue.poll();
+            Type<Object> head = current.head();
+            int headId = topology.id(head);
 
+            // a cheaper path to this vertex was already expanded
+            if (!settle(head, headId, settled, settledStrict, settledTypes)) {
+                continue;
+            }
+
+            if (current.endsWithEdge() && head.equals(target)) {
+                return current;
+            }
             // if subtype or equal, simulate mapper
-            if (equalsSubtype(current.head(), target)) {
-                return current.addEdge(target.withStrict(true),
-                        new Graph.Vertex(Mapper.uni((x, _) -> MappingResult.lossless(x)), toEnumSet())
-                ).edges();
+            if (equalsSubtype(head, target)) {
+                return current.addEdge(target.withStrict(true), IDENTITY);
             }
+            expand(current, headId, topology, settled, route.lossless(), dependencies, queue::offer);
+        }
+
+        return null;
+    }
 
-            Set<Type<?>> neighbours = neighbours(current.head());
-            for (Type<?> neighbour : neighbours) {
-                if (visited.contains(neighbour)) {
+    /// Offers all paths that extend the given path by one move to the given consumer. A path can be extended by an
+    /// edge, by a container conversion to a vertex with a compatible [Format] or by moving to a supertype of the head.
+    ///
+    /// @param current      the path to extend
+    /// @param headId       the id of the head of the path or `-1` if the head isn't a vertex
+    /// @param topology     the [Topology] to search on
+    /// @param settled      the vertices that were already expanded in non-strict mode
+    /// @param lossless     whether to skip mappers flagged with [Flag#LOSSY]
+    /// @param dependencies the vertices the search depends on
+    /// @param offer        the consumer of the extended paths
+    @SuppressWarnings("unchecked")
+    void expand(@NotNull Path current,
+                int headId,
+                @NotNull Topology topology,
+                @NotNull BitSet settled,
+                boolean lossless,
+                @NotNull Set<Type<?>> dependencies,
+                @NotNull Consumer<Path> offer) {
+        Type<Object> head = current.head();
+        dependencies.add(head);
+
+        if (headId >= 0) {
+            for (int edge = topology.firstEdge(headId); edge >= 0; edge = topology.nextEdge(edge)) {
+                int neighbourId = topology.edgeTarget(edge);
+                if (settled.get(neighbourId)) {
                     continue;
                 }
-                visited.add(neighbour);
-
-                var mapper = mapper(current.head(), neighbour);
-
-                if (mapper == null) {
-                    List<Edge> containerPath = path(Type.of(current.head().container()), Type.of(neighbour.container()));
-                    if (containerPath.isEmpty()) continue; // no path found - skip
-
-                    ArrayList<Edge> newEdges = new ArrayList<>(current.edges());
-                    newEdges.addAll(containerPath);
-
-                    // set enforce strict mode, because containerPath head could be subtype
-                    Type<Object> lastEdgeType = newEdges.getLast().into();
-                    queue.offer(new Path(newEdges, (Type<Object>) neighbour.withStrict(lastEdgeType.enforceStrictMode())));
-                } else {
-                    if (current.head().enforceStrictMode() && mapper.flags().contains(Flag.STRICT_SUB_TYPES)) {
-                        continue;
-                    }
-
-                    Path next = current.addEdge(neighbour, mapper);
-                    if (neighbour.equals(target)) {
-                        return next.edges();
-                    }
 
-                    queue.offerFirst(next);
+                Vertex mapper = topology.edgeVertex(edge);
+                if (head.enforceStrictMode() && mapper.flags().contains(Flag.STRICT_SUB_TYPES)) {
+                    continue;
+                }
+                if (lossless && mapper.flags().contains(Flag.LOSSY)) {
+                    continue;
                 }
+
+                offer.accept(current.addEdge(topology.type(neighbourId), mapper));
             }
+        }
 
-            if (current.head().container().type() instanceof Class<?> clazz) {
-                for (Type<?> type : superTypes(clazz.getSuperclass())) {
-                    queue.offerLast(current.withHead((Type<Object>) type.withStrict(true)));
+        // vertices with a compatible format are neighbours too, if a path between the containers exists
+        if (head.format() != Format.NONE) {
+            for (int neighbourId : topology.formatPeers(head.format())) {
+                if (neighbourId == headId || settled.get(neighbourId)) {
+                    continue;
                 }
-
-                for (Type<?> type : interfaces(clazz)) {
-                    queue.offerLast(current.withHead((Type<Object>) type.withStrict(true)));
+                Type<?> neighbour = topology.type(neighbourId);
+                if (!neighbour.equalsFormat(head)) {
+                    continue;
                 }
+
+                ConversionPlan containerPath = containerPath(head, neighbour, lossless, dependencies);
+                if (containerPath.isEmpty()) continue; // no path found - skip
+
+                // set enforce strict mode, because containerPath head could be subtype
+                Type<Object> lastEdgeType = containerPath.path().getLast().into();
+                offer.accept(current.addEdges(containerPath, neighbour.withStrict(lastEdgeType.enforceStrictMode())));
             }
         }
 
-        return List.of();
+        if (head.container().type() instanceof Class<?> clazz) {
+            for (Type<?> type : TypeHierarchy.of(clazz).moves()) {
+                offer.accept(current.withHead((Type<Object>) type));
+            }
+        }
     }
 
-    private Set<Type<?>> superTypes(@Nullable Class<?> clazz) {
-        Set<Type<?>> superTypes = new HashSet<>();
-        while (clazz != null) {
-            superTypes.add(Type.of(clazz));
-            clazz = clazz.getSuperclass();
+    /// Marks the given head as settled. A vertex that was reached in strict mode can still be expanded again if it gets
+    /// reached in non-strict mode later, because more edges are available then.
+    ///
+    /// @return `false` if the head was already settled
+    static boolean settle(@NotNull Type<?> head, int id, BitSet settled, BitSet settledStrict, Set<Type<?>> settledTypes) {
+        if (id < 0) {
+            return settledTypes.add(head);
+        }
+        if (settled.get(id)) {
+            return false;
+        }
+        if (head.enforceStrictMode()) {
+            if (settledStrict.get(id)) {
+                return false;
+            }
+            settledStrict.set(id);
+            return true;
         }
-        return superTypes;
+        settled.set(id);
+        return true;
     }
 
-    private Set<Type<?>> interfaces(@NotNull Class<?> clazz) {
-        Set<Type<?>> interfaces = new HashSet<>();
-        for (Class<?> anInterface : clazz.getInterfaces()) {
-            interfaces.add(Type.of(anInterface));
-            interfaces.addAll(interfaces(anInterface));
-        }
-        return interfaces;
+    @NotNull
+    ConversionPlan containerPath(@NotNull Type<?> source,
+                                         @NotNull Type<?> target,
+                                         boolean lossless,
+                                         @NotNull Set<Type<?>> dependencies) {
+        ConversionPlan plan = plan(Type.of(source.container()), Type.of(target.container()), lossless);
+        dependencies.addAll(plan.dependencies());
+        return plan;
     }
 
-    private boolean equalsSubtype(Type<?> sub, Type<?> base) {
+    static boolean equalsSubtype(Type<?> sub, Type<?> base) {
         // this is different to #equalsFormat because this returns true for Format.None
         return sub.format().equals(base.format())
         && sub.container().type() instanceof Class<?> sClass
@@ -215,5 +762,67 @@ public final class Graph {
         && bClass.isAssignableFrom(sClass);
     }
 
-    private record Key(@NotNull Type<?> source, @NotNull Type<?> target) {}
+    private record Key(@NotNull Type<?> source, @NotNull Type<?> target, boolean lossless) {}
+
+    /// A logged registration. Re-ranking edges is logged as a registration of the re-ranked edges, too.
+    ///
+    /// @param version   the [Graph#version()] that was reached by this registration
+    /// @param source    the source [Type] of the registered edge
+    /// @param target    the target [Type] of the registered edge
+    /// @param newVertex whether the source [Type] was newly added as a vertex
+    /// @param newType   whether the source or the target [Type] wasn't part of any edge before
+    /// @param change    how the edge was changed
+    /// @param ranked    the [MeasuredCost]s of all re-ranked edges, if the edges were re-ranked
+    private record Registration(long version,
+                                @NotNull Type<?> source,
+                                @NotNull Type<?> target,
+                                boolean newVertex,
+                                boolean newType,
+                                @NotNull Change change,
+                                @NotNull List<MeasuredCost> ranked) {
+
+        /// Whether this registration can change the result of the search the given plan was created from. This is the
+        /// case if the search expanded the source of the registered edge or, if the source is a new vertex, any vertex
+        /// with a compatible [Format], because all vertices with a compatible format are neighbours.
+        ///
+        /// A [BidirectionalSearch] is also affected if it expanded the target of the edge backward. New vertices might
+        /// add supertype moves the backward search didn't know about, thus they affect every bidirectional search.
+        private boolean affects(@NotNull ConversionPlan plan, @NotNull SearchStrategy searchStrategy) {
+            Set<Type<?>> dependencies = plan.dependencies();
+            if (change == Change.RANKED) {
+                for (MeasuredCost measuredCost : ranked) {
+                    if (dependencies.contains(measuredCost.source())
+                        || (searchStrategy == SearchStrategy.BIDIRECTIONAL && dependencies.contains(measuredCost.target()))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (dependencies.contains(source)) {
+                return true;
+            }
+            if (searchStrategy == SearchStrategy.BIDIRECTIONAL && (newType || dependencies.contains(target))) {
+                return true;
+            }
+            if (!newVertex || source.format() == Format.NONE) {
+                return false;
+            }
+            for (Type<?> dependency : dependencies) {
+                if (dependency.equalsFormat(source)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /// How a logged registration changed the edges of this graph.
+    private enum Change {
+        /// A new edge was added.
+        ADDED,
+        /// The edges of the source were replaced, see [ConflictStrategy#OVERRIDE].
+        REPLACED,
+        /// Edges were re-ranked, the edges themselves didn't change.
+        RANKED
+    }
 }
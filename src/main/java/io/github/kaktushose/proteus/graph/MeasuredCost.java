@@ -0,0 +1,136 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/// The measured cost of an edge, used if adaptive costs are enabled, see [Graph#Graph(int, double)].
+///
+/// Keeps an exponentially weighted moving average of the latency of the mapper in nanoseconds. Paths are ranked with
+/// the cost the mapper was registered with until the [Graph] converts the average into the same unit, see
+/// [#rank(double, double)]. Afterward, the ranked cost only changes once the average drifted past the threshold of the
+/// graph and by at least one unit, so that small fluctuations don't re-rank any paths.
+///
+/// @implNote Samples are recorded without synchronization, thus concurrent samples might overwrite each other. This is
+/// fine for a moving average and keeps the overhead of sampling low. After the warmup, only every 16th call is sampled
+/// on average, which keeps threads that call the same mapper from writing to the same fields all the time.
+public final class MeasuredCost {
+
+    private static final double SMOOTHING = 0.125;
+    private static final int WARMUP_SAMPLES = 8;
+    private static final int SAMPLE_RATE = 16;
+    private static final double MIN_DRIFT = 1;
+
+    private final Type<?> source;
+    private final Type<?> target;
+    private final int cost;
+    private final AtomicBoolean drifted;
+    private double average;
+    private int samples;
+    private volatile long ranked;
+
+    MeasuredCost(@NotNull Type<?> source, @NotNull Type<?> target, int cost) {
+        this.source = source;
+        this.target = target;
+        this.cost = cost;
+        this.drifted = new AtomicBoolean();
+        this.average = Double.NaN;
+        this.ranked = cost;
+    }
+
+    /// Whether the next call of the mapper should be sampled. All calls are sampled during the warmup, afterward
+    /// only every 16th call is sampled on average.
+    ///
+    /// @return `true` if the latency of the next call should be passed to [Graph#sample(ConversionPlan.Step, long)]
+    @ApiStatus.Internal
+    public boolean sampling() {
+        return samples < WARMUP_SAMPLES || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+    }
+
+    /// Records a new sample.
+    ///
+    /// @param nanos        the measured latency in nanoseconds
+    /// @param threshold    the relative drift that requires re-ranking
+    /// @param nanosPerUnit the latency of one cost unit, see [Graph], or [Double#NaN] if not calibrated yet
+    /// @return `true` if the warmup just finished or the average drifted past the threshold, thus the caller is
+    ///         responsible for re-ranking
+    boolean sample(long nanos, double threshold, double nanosPerUnit) {
+        double previous = average;
+        double current = Double.isNaN(previous) ? nanos : previous + SMOOTHING * (nanos - previous);
+        average = current;
+        if (samples < WARMUP_SAMPLES) {
+            return ++samples == WARMUP_SAMPLES && drifted.compareAndSet(false, true);
+        }
+        if (Double.isNaN(nanosPerUnit) || !drifts(current / nanosPerUnit, threshold)) {
+            return false;
+        }
+        return drifted.compareAndSet(false, true);
+    }
+
+    /// Converts the current average into cost units and adopts it as the cost used for ranking paths, if it drifted
+    /// past the given threshold.
+    ///
+    /// @param nanosPerUnit the latency of one cost unit
+    /// @param threshold    the relative drift that requires re-ranking
+    /// @return `true` if the cost used for ranking paths has changed
+    boolean rank(double nanosPerUnit, double threshold) {
+        drifted.set(false);
+        double units = average / nanosPerUnit;
+        if (!drifts(units, threshold)) {
+            return false;
+        }
+        ranked = Math.round(units);
+        return true;
+    }
+
+    private boolean drifts(double units, double threshold) {
+        long rankedCost = ranked;
+        double delta = Math.abs(units - rankedCost);
+        return delta >= MIN_DRIFT && delta > threshold * Math.max(rankedCost, 1);
+    }
+
+    /// Whether the warmup of this cost has finished, thus its average can be used for calibration.
+    ///
+    /// @return `true` if enough samples were recorded
+    boolean isWarm() {
+        return samples >= WARMUP_SAMPLES;
+    }
+
+    /// Gets the measured latency per unit of the cost the mapper was registered with.
+    ///
+    /// @return the latency per registered cost unit in nanoseconds
+    double nanosPerUnit() {
+        return Math.max(average, 1) / Math.max(cost, 1);
+    }
+
+    /// Gets the cost used for ranking paths.
+    ///
+    /// @return the cost used for ranking paths
+    long ranked() {
+        return ranked;
+    }
+
+    /// Gets the source [Type] of the measured edge.
+    ///
+    /// @return the source [Type]
+    @NotNull
+    Type<?> source() {
+        return source;
+    }
+
+    /// Gets the target [Type] of the measured edge.
+    ///
+    /// @return the target [Type]
+    @NotNull
+    Type<?> target() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "MeasuredCost[average=%.1fns, ranked=%d]".formatted(average, ranked);
+    }
+}
@@ -1,47 +1,55 @@
 package io.github.kaktushose.proteus.graph;
 
+import io.github.kaktushose.proteus.mapping.Flag;
 import io.github.kaktushose.proteus.mapping.Mapper.UniMapper;
-import io.github.kaktushose.proteus.type.Format;
 import io.github.kaktushose.proteus.type.Type;
-import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /// Representation of an unfinished path.
 ///
-/// @param edges a [List] of all previous [Edge]s
-/// @param head  the [Type] that is currently the result of this path. In other words, this is the [Type] that the last
-///              [Edge] in the list of edges maps to and thus the [Type] that the next [Edge] has to start with.
+/// Paths are persistent: each path only stores the [Edge]s it added on top of its parent path, thus extending a path
+/// doesn't copy the previous edges. The full [List] of [Edge]s is only built once by calling [#edges()].
+///
+/// @param parent  the path this path was extended from or `null` if this is the start of a path
+/// @param segment the [Edge]s this path added on top of the `parent`
+/// @param head    the [Type] that is currently the result of this path. In other words, this is the [Type] that the last
+///                [Edge] in the list of edges maps to and thus the [Type] that the next [Edge] has to start with.
+/// @param length  the total amount of [Edge]s of this path
+/// @param cost    the total cost of all [Edge]s of this path, see [Graph.Vertex#weight()]
+/// @param lossy   the amount of [Edge]s of this path whose mapper isn't flagged with [Flag#LOSSLESS]
 @SuppressWarnings("unchecked")
-record Path(@NotNull List<Edge> edges, @NotNull Type<Object> head) {
-
-    public Path {
-        edges = Collections.unmodifiableList(edges);
-    }
+record Path(@Nullable Path parent, @NotNull List<Edge> segment, @NotNull Type<Object> head, int length, long cost, int lossy) {
 
     /// Constructs a new empty path with the head pointed to the given type.
     ///
     /// @param head the [Type] that the next [Edge] registered will start with
     public Path(@NotNull Type<?> head) {
-        this(new ArrayList<>(), (Type<Object>) head);
+        this(null, List.of(), (Type<Object>) head, 0, 0, 0);
     }
 
-    /// Adds a new edge to this path. This will create a copy of this path, the underlying list of edges of this path
-    /// will not be modified.
+    /// Adds a new edge to this path. This will create a new path on top of this path, this path will not be modified.
     ///
     /// @param intermediate the [Type] that this edge maps into. Will become the new head
-    /// @param vertex       the [UniMapper] that maps from the `head` of this path to the given `intermediate` [Type].
-    ///                     Can be null, if `head` and `intermediate` share the same [Format].
-    /// @return a copy of this path with the given edge added to it
+    /// @param vertex       the [Graph.Vertex] holding the [UniMapper] that maps from the `head` of this path to the given
+    ///                     `intermediate` [Type]
+    /// @return a new path with the given edge added to it
     public Path addEdge(@NotNull Type<?> intermediate, @NotNull Graph.Vertex vertex) {
-        List<Edge> newEdges = new ArrayList<>(edges);
-        newEdges.add(new Edge(head, (Type<Object>) intermediate, vertex.mapper()));
+        Edge edge = new Edge(head, (Type<Object>) intermediate, vertex.mapper());
+        int lossyStep = vertex.flags().contains(Flag.LOSSLESS) ? 0 : 1;
+        return new Path(this, List.of(edge), (Type<Object>) intermediate, length + 1, cost + vertex.weight(), lossy + lossyStep);
+    }
 
-        return new Path(newEdges, (Type<Object>) intermediate);
+    /// Adds the steps of the given [ConversionPlan] to this path. This will create a new path on top of this path, this
+    /// path will not be modified.
+    ///
+    /// @param plan the [ConversionPlan] to add
+    /// @param head the [Type] to use as the new head
+    /// @return a new path with the given plan added to it
+    public Path addEdges(@NotNull ConversionPlan plan, @NotNull Type<?> head) {
+        return new Path(this, plan.path(), (Type<Object>) head, length + plan.size(), cost + plan.cost(), lossy + plan.lossySteps());
     }
 
     /// Returns a copy of this path with the given head as its new head.
@@ -49,6 +57,29 @@ record Path(@NotNull List<Edge> edges, @NotNull Type<Object> head) {
     /// @param head the [Type] to use as a new head
     /// @return a copy of this path with the updated head
     public Path withHead(@NotNull Type<Object> head) {
-        return new Path(edges, head);
+        return new Path(parent, segment, head, length, cost, lossy);
+    }
+
+    /// Whether the head of this path is the [Type] the last [Edge] of this path maps into. This is not the case for
+    /// empty paths and paths whose head was replaced by [#withHead(Type)] or [#addEdges(ConversionPlan, Type)].
+    ///
+    /// @return `true` if the head was reached by the last [Edge]
+    public boolean endsWithEdge() {
+        return !segment.isEmpty() && segment.getLast().into() == head;
+    }
+
+    /// Builds the [List] of all [Edge]s of this path.
+    ///
+    /// @return an unmodifiable [List] of all [Edge]s in order
+    @NotNull
+    public List<Edge> edges() {
+        Edge[] edges = new Edge[length];
+        int index = length;
+        for (Path path = this; path != null; path = path.parent) {
+            for (int i = path.segment.size() - 1; i >= 0; i--) {
+                edges[--index] = path.segment.get(i);
+            }
+        }
+        return List.of(edges);
     }
 }
@@ -0,0 +1,290 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.internal.ConcurrentLruCache;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.type.Format;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/// Transitive closure of a [Graph], used to answer whether a path between two [Type]s exists in constant time.
+///
+/// The closure is kept over states rather than vertices: every vertex has a non-strict and a strict state, because a
+/// vertex that was reached as a supertype ignores all mappers flagged with [Flag#STRICT_SUB_TYPES]. Each state holds a
+/// [BitSet] of all states reachable from it, including the moves from a [Type] to its supertypes that the path search
+/// performs. Additionally, each state holds a column of all states it is reachable from. Registering an edge only
+/// extends the rows of the states that can reach the source of the edge, see [#add(Type, Type, Graph.Vertex)].
+///
+/// Container conversions between [Type]s with a compatible [Format] are not part of the closure. Thus, if the source or
+/// any reachable vertex has a [Format], only positive answers are definite.
+///
+/// The index is copy-on-write: every update publishes a new immutable snapshot, thus lookups never block.
+final class ReachabilityIndex {
+
+    private static final int MATCHES_CACHE_SIZE = 256;
+    private final Map<Type<?>, Map<Type<?>, Graph.Vertex>> adjacencyList;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+
+    /// Creates a new index for the given adjacency list. The index is built lazily on the first lookup.
+    ///
+    /// @param adjacencyList the adjacency list of the [Graph]
+    ReachabilityIndex(@NotNull Map<Type<?>, Map<Type<?>, Graph.Vertex>> adjacencyList) {
+        this.adjacencyList = adjacencyList;
+        this.snapshot = Snapshot.EMPTY;
+        this.stale = true;
+    }
+
+    /// Adds the given edge to the index. The edge must already be present in the adjacency list.
+    ///
+    /// @param source the source [Type] of the edge
+    /// @param target the target [Type] of the edge
+    /// @param vertex the [Graph.Vertex] of the edge
+    synchronized void add(@NotNull Type<?> source, @NotNull Type<?> target, @NotNull Graph.Vertex vertex) {
+        // will be included once the index gets rebuilt
+        if (stale) {
+            return;
+        }
+        Builder builder = new Builder(snapshot);
+        builder.edge(source, target, vertex);
+        snapshot = builder.build();
+    }
+
+    /// Marks this index as stale, causing a rebuild on the next lookup. Must be called if an edge was replaced or
+    /// removed, because the closure cannot shrink incrementally. The current snapshot, including its memoized matches,
+    /// is dropped right away.
+    synchronized void invalidate() {
+        stale = true;
+        snapshot = Snapshot.EMPTY;
+    }
+
+    /// Checks whether a path between the given [Type]s exists.
+    ///
+    /// @param source the source [Type] of the route
+    /// @param target the destination [Type] of the route
+    /// @return the [Answer] of this index
+    @NotNull
+    Answer reachable(@NotNull Type<?> source, @NotNull Type<?> target) {
+        Snapshot current = current();
+        Integer id = current.ids().get(source);
+        if (id == null) {
+            return Answer.UNKNOWN;
+        }
+        BitSet row = current.rows()[state(id, source.enforceStrictMode())];
+        if (row.intersects(current.matches(target))) {
+            return Answer.REACHABLE;
+        }
+        // a path might exist using a container conversion
+        if (row.intersects(current.formatted())) {
+            return Answer.UNKNOWN;
+        }
+        return Answer.UNREACHABLE;
+    }
+
+    @NotNull
+    private Snapshot current() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    Builder builder = new Builder(Snapshot.EMPTY);
+                    adjacencyList.forEach((source, targets) ->
+                            targets.forEach((target, vertex) -> builder.edge(source, target, vertex))
+                    );
+                    snapshot = builder.build();
+                    stale = false;
+                }
+                return snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private static int state(int id, boolean strict) {
+        return strict ? 2 * id + 1 : 2 * id;
+    }
+
+    /// Whether a path search that reached the given vertex ends there. This is the case if the vertex is equal to the
+    /// target, a subtype of it or can move to a supertype that is a subtype of the target. The latter includes moving
+    /// from an interface to one of its superinterfaces if the target is [Object].
+    static boolean matches(@NotNull Type<?> vertex, @NotNull Type<?> target) {
+        if (vertex.equals(target) || Graph.equalsSubtype(vertex, target)) {
+            return true;
+        }
+        return target.format() == Format.NONE
+               && vertex.container().type() instanceof Class<?> vClass
+               && target.container().type() instanceof Class<?> tClass
+               && TypeHierarchy.of(vClass).supertypes().stream().anyMatch(tClass::isAssignableFrom);
+    }
+
+    /// The answer of a lookup.
+    enum Answer {
+        /// A path exists.
+        REACHABLE,
+        /// No path exists.
+        UNREACHABLE,
+        /// The index cannot tell, the path has to be searched.
+        UNKNOWN
+    }
+
+    /// An immutable state of the index.
+    ///
+    /// @param ids       the dense ids of all vertices
+    /// @param types     the vertices by id
+    /// @param rows      the reachable states of every state
+    /// @param columns   the states every state is reachable from
+    /// @param formatted the states of all vertices with a [Format]
+    /// @param matches   the memoized states that end a path to a target [Type], bounded by [#MATCHES_CACHE_SIZE]
+    private record Snapshot(Map<Type<?>, Integer> ids,
+                            Type<?>[] types,
+                            BitSet[] rows,
+                            BitSet[] columns,
+                            BitSet formatted,
+                            ConcurrentLruCache<Type<?>, BitSet> matches) {
+
+        private static final Snapshot EMPTY = of(Map.of(), new Type<?>[0], new BitSet[0], new BitSet[0], new BitSet());
+
+        @NotNull
+        private static Snapshot of(Map<Type<?>, Integer> ids, Type<?>[] types, BitSet[] rows, BitSet[] columns, BitSet formatted) {
+            ConcurrentLruCache<Type<?>, BitSet> matches = new ConcurrentLruCache<>(MATCHES_CACHE_SIZE, target -> {
+                BitSet matching = new BitSet(rows.length);
+                for (int id = 0; id < types.length; id++) {
+                    if (ReachabilityIndex.matches(types[id], target)) {
+                        matching.set(state(id, false));
+                        matching.set(state(id, true));
+                    }
+                }
+                return matching;
+            });
+            return new Snapshot(ids, types, rows, columns, formatted, matches);
+        }
+
+        /// Gets the states that end a path to the given target. These are the states of the target itself, of its
+        /// subtypes and of all vertices that can move to a supertype that is equal to the target.
+        @NotNull
+        private BitSet matches(@NotNull Type<?> target) {
+            return matches.get(target);
+        }
+    }
+
+    /// Creates the next [Snapshot] without modifying the previous one. Rows and columns are copied before they get
+    /// modified for the first time.
+    private static final class Builder {
+
+        private final Snapshot previous;
+        private final List<Type<?>> types;
+        private final List<BitSet> rows;
+        private final List<BitSet> columns;
+        private final BitSet copiedRows;
+        private final BitSet copiedColumns;
+        private final BitSet formatted;
+        private Map<Type<?>, Integer> ids;
+
+        private Builder(@NotNull Snapshot snapshot) {
+            this.previous = snapshot;
+            this.ids = snapshot.ids();
+            this.types = new ArrayList<>(List.of(snapshot.types()));
+            this.rows = new ArrayList<>(List.of(snapshot.rows()));
+            this.columns = new ArrayList<>(List.of(snapshot.columns()));
+            this.copiedRows = new BitSet();
+            this.copiedColumns = new BitSet();
+            this.formatted = (BitSet) snapshot.formatted().clone();
+        }
+
+        private void edge(@NotNull Type<?> source, @NotNull Type<?> target, @NotNull Graph.Vertex vertex) {
+            int from = vertex(source);
+            int into = vertex(target);
+            int targetState = state(into, target.enforceStrictMode());
+            transition(state(from, false), targetState);
+            if (!vertex.flags().contains(Flag.STRICT_SUB_TYPES)) {
+                transition(state(from, true), targetState);
+            }
+        }
+
+        private int vertex(@NotNull Type<?> type) {
+            Integer present = ids.get(type);
+            if (present != null) {
+                return present;
+            }
+            if (ids == previous.ids()) {
+                ids = new HashMap<>(previous.ids());
+            }
+            int id = types.size();
+            ids.put(type, id);
+            types.add(type);
+            for (boolean strict : new boolean[]{false, true}) {
+                BitSet row = new BitSet();
+                row.set(state(id, strict));
+                rows.add(row);
+                columns.add((BitSet) row.clone());
+                copiedRows.set(state(id, strict));
+                copiedColumns.set(state(id, strict));
+            }
+            if (type.format() != Format.NONE) {
+                formatted.set(state(id, false));
+                formatted.set(state(id, true));
+            }
+
+            // the path search moves from every type to its supertypes in strict mode
+            if (type.container().type() instanceof Class<?> clazz) {
+                Set<Class<?>> supertypes = TypeHierarchy.of(clazz).supertypes();
+                for (int other = 0; other < id; other++) {
+                    Type<?> otherType = types.get(other);
+                    if (!(otherType.container().type() instanceof Class<?> otherClass)) {
+                        continue;
+                    }
+                    if (otherType.format() == Format.NONE && supertypes.contains(otherClass)) {
+                        transition(state(id, false), state(other, true));
+                        transition(state(id, true), state(other, true));
+                    }
+                    if (type.format() == Format.NONE && TypeHierarchy.of(otherClass).supertypes().contains(clazz)) {
+                        transition(state(other, false), state(id, true));
+                        transition(state(other, true), state(id, true));
+                    }
+                }
+            }
+            return id;
+        }
+
+        private void transition(int from, int into) {
+            BitSet reachable = rows.get(into);
+            // only the states that can reach the source of the transition gain new states
+            BitSet sources = columns.get(from);
+            for (int state = sources.nextSetBit(0); state >= 0; state = sources.nextSetBit(state + 1)) {
+                BitSet row = rows.get(state);
+                // rows are transitively closed, thus a row containing the target already contains its row
+                if (row.get(into)) {
+                    continue;
+                }
+                BitSet added = (BitSet) reachable.clone();
+                added.andNot(row);
+                writable(rows, copiedRows, state).or(added);
+                for (int reached = added.nextSetBit(0); reached >= 0; reached = added.nextSetBit(reached + 1)) {
+                    writable(columns, copiedColumns, reached).set(state);
+                }
+            }
+        }
+
+        @NotNull
+        private static BitSet writable(@NotNull List<BitSet> sets, @NotNull BitSet copied, int index) {
+            if (copied.get(index)) {
+                return sets.get(index);
+            }
+            BitSet copy = (BitSet) sets.get(index).clone();
+            sets.set(index, copy);
+            copied.set(index);
+            return copy;
+        }
+
+        @NotNull
+        private Snapshot build() {
+            // the matches only depend on the vertices
+            if (ids == previous.ids()) {
+                return new Snapshot(previous.ids(), previous.types(), rows.toArray(BitSet[]::new),
+                        columns.toArray(BitSet[]::new), formatted, previous.matches());
+            }
+            return Snapshot.of(Map.copyOf(ids), types.toArray(Type<?>[]::new), rows.toArray(BitSet[]::new),
+                    columns.toArray(BitSet[]::new), formatted);
+        }
+    }
+}
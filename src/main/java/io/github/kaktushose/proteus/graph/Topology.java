@@ -0,0 +1,603 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.type.Format;
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/// Immutable snapshot of the vertices and edges of a [Graph] in compressed sparse row (CSR) format.
+///
+/// Every vertex is assigned a dense `int` id. The outgoing edges of a vertex are walked with [#firstEdge(int)] and
+/// [#nextEdge(int)] over primitive arrays, thus a search can track visited vertices in a [BitSet]. The incoming edges
+/// are stored the same way, which allows searching backward from a target, see [#firstIncoming(int)]. Additionally,
+/// the subtypes of every vertex, the vertices of every container class and the vertices a search to a target ends at are
+/// indexed, see [#subtypes(int)], [#containers(Format, Class)] and [#matching(Type)].
+///
+/// A [Graph] creates a new snapshot lazily on the first search after its [Graph#version()] has changed. Rebuilding the
+/// rows for every registration would cost `O(V + E)` each time, thus registered edges are appended instead, see
+/// [#append(List, Map, Map, long)]. Appended edges are stored behind the rows, in arrays shared by all snapshots
+/// appended to the same rows. Each snapshot only reads the part of the arrays that existed when it was created, thus
+/// older snapshots stay valid. Once the appended part exceeds its capacity, the graph builds new rows instead.
+final class Topology {
+
+    private static final int[] NO_PEERS = new int[0];
+    private static final int MIN_APPEND_CAPACITY = 64;
+
+    private final long version;
+    private final Map<Type<?>, Integer> ids;
+    private final Map<Type<?>, Integer> appendedIds;
+    private final Type<?>[] types;
+    private final int rowCount;
+    private final int[] edgeOffsets;
+    private final int rowEdges;
+    private final int edgeCount;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final Graph.Vertex[] edgeVertices;
+    private final int[] reverseOffsets;
+    private final int[] reverseEdges;
+    private final int[] nextAppended;
+    private final int[] nextAppendedIncoming;
+    private final int[] appendedHeads;
+    private final int[] appendedIncomingHeads;
+    private final Map<Integer, int[]> formatBuckets;
+    private final Map<Integer, Integer> formatCounts;
+    private final Map<Class<?>, int[]> subtypes;
+    private final Map<Container, int[]> containers;
+    private final Map<Type<?>, int[]> matching;
+
+    private Topology(long version,
+                     Map<Type<?>, Integer> ids,
+                     Map<Type<?>, Integer> appendedIds,
+                     Type<?>[] types,
+                     int rowCount,
+                     int[] edgeOffsets,
+                     int rowEdges,
+                     int edgeCount,
+                     int[] edgeSources,
+                     int[] edgeTargets,
+                     Graph.Vertex[] edgeVertices,
+                     int[] reverseOffsets,
+                     int[] reverseEdges,
+                     int[] nextAppended,
+                     int[] nextAppendedIncoming,
+                     int[] appendedHeads,
+                     int[] appendedIncomingHeads,
+                     Map<Integer, int[]> formatBuckets,
+                     Map<Integer, Integer> formatCounts,
+                     Map<Class<?>, int[]> subtypes,
+                     Map<Container, int[]> containers,
+                     Map<Type<?>, int[]> matching) {
+        this.version = version;
+        this.ids = ids;
+        this.appendedIds = appendedIds;
+        this.types = types;
+        this.rowCount = rowCount;
+        this.edgeOffsets = edgeOffsets;
+        this.rowEdges = rowEdges;
+        this.edgeCount = edgeCount;
+        this.edgeSources = edgeSources;
+        this.edgeTargets = edgeTargets;
+        this.edgeVertices = edgeVertices;
+        this.reverseOffsets = reverseOffsets;
+        this.reverseEdges = reverseEdges;
+        this.nextAppended = nextAppended;
+        this.nextAppendedIncoming = nextAppendedIncoming;
+        this.appendedHeads = appendedHeads;
+        this.appendedIncomingHeads = appendedIncomingHeads;
+        this.formatBuckets = formatBuckets;
+        this.formatCounts = formatCounts;
+        this.subtypes = subtypes;
+        this.containers = containers;
+        this.matching = matching;
+    }
+
+    /// Creates a new snapshot of the given adjacency list.
+    ///
+    /// @param adjacencyList the adjacency list of the [Graph]
+    /// @param formatIndex   the index of all formatted vertices with outgoing edges, grouped by [Format#formatHashCode()]
+    /// @param version       the [Graph#version()] of the adjacency list
+    /// @return the [Topology] of the given adjacency list
+    @NotNull
+    static Topology of(@NotNull Map<Type<?>, Map<Type<?>, Graph.Vertex>> adjacencyList,
+                       @NotNull Map<Integer, Set<Type<?>>> formatIndex,
+                       long version) {
+        // copy first, the adjacency list might be modified concurrently
+        Map<Type<?>, Map<Type<?>, Graph.Vertex>> adjacency = new HashMap<>();
+        adjacencyList.forEach((source, targets) -> adjacency.put(source, Map.copyOf(targets)));
+
+        Map<Type<?>, Integer> ids = new HashMap<>();
+        List<Type<?>> types = new ArrayList<>();
+        int edgeCount = 0;
+        for (var entry : adjacency.entrySet()) {
+            register(entry.getKey(), ids, types);
+            for (Type<?> target : entry.getValue().keySet()) {
+                register(target, ids, types);
+            }
+            edgeCount += entry.getValue().size();
+        }
+
+        int[] edgeOffsets = new int[types.size() + 1];
+        adjacency.forEach((source, targets) -> edgeOffsets[ids.get(source) + 1] = targets.size());
+        for (int i = 0; i < types.size(); i++) {
+            edgeOffsets[i + 1] += edgeOffsets[i];
+        }
+
+        int capacity = edgeCount + appendCapacity(edgeCount);
+        int[] edgeTargets = new int[capacity];
+        int[] edgeSources = new int[capacity];
+        Graph.Vertex[] edgeVertices = new Graph.Vertex[capacity];
+        adjacency.forEach((source, targets) -> {
+            int edge = edgeOffsets[ids.get(source)];
+            for (var target : targets.entrySet()) {
+                edgeTargets[edge] = ids.get(target.getKey());
+                edgeSources[edge] = ids.get(source);
+                edgeVertices[edge] = target.getValue();
+                edge++;
+            }
+        });
+
+        int[] reverseOffsets = new int[types.size() + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            reverseOffsets[edgeTargets[edge] + 1]++;
+        }
+        for (int i = 0; i < types.size(); i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+        int[] reverseEdges = new int[edgeCount];
+        int[] next = Arrays.copyOf(reverseOffsets, types.size());
+        for (int edge = 0; edge < edgeCount; edge++) {
+            reverseEdges[next[edgeTargets[edge]]++] = edge;
+        }
+
+        Map<Integer, int[]> formatBuckets = new HashMap<>();
+        formatIndex.forEach((hash, vertices) -> formatBuckets.put(hash, bucket(vertices, ids, Map.of())));
+
+        // vertices whose format hash code collides are treated as sharing a format, which is only ever too cautious
+        Map<Integer, Integer> formatCounts = new HashMap<>();
+        for (Type<?> type : types) {
+            count(type, formatCounts);
+        }
+
+        Map<Class<?>, List<Integer>> subtypes = new HashMap<>();
+        Map<Container, List<Integer>> containers = new HashMap<>();
+        Map<Type<?>, List<Integer>> matching = new HashMap<>();
+        for (int id = 0; id < types.size(); id++) {
+            index(id, types.get(id), subtypes, containers, matching);
+        }
+
+        int[] appendedHeads = new int[types.size()];
+        Arrays.fill(appendedHeads, -1);
+        return new Topology(
+                version,
+                ids,
+                Map.of(),
+                types.toArray(Type<?>[]::new),
+                types.size(),
+                edgeOffsets,
+                edgeCount,
+                edgeCount,
+                edgeSources,
+                edgeTargets,
+                edgeVertices,
+                reverseOffsets,
+                reverseEdges,
+                new int[capacity],
+                new int[capacity],
+                appendedHeads,
+                appendedHeads.clone(),
+                formatBuckets,
+                formatCounts,
+                toArrays(subtypes),
+                toArrays(containers),
+                toArrays(matching)
+        );
+    }
+
+    private static int appendCapacity(int edgeCount) {
+        return Math.max(MIN_APPEND_CAPACITY, edgeCount / 2);
+    }
+
+    private static void register(Type<?> type, Map<Type<?>, Integer> ids, List<Type<?>> types) {
+        if (ids.putIfAbsent(type, types.size()) == null) {
+            types.add(type);
+        }
+    }
+
+    private static int[] bucket(Set<Type<?>> vertices, Map<Type<?>, Integer> ids, Map<Type<?>, Integer> appendedIds) {
+        return vertices.stream()
+                .map(vertex -> ids.getOrDefault(vertex, appendedIds.get(vertex)))
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // adds the given vertex to the subtypes of its supertypes, to the vertices of its container and to the vertices
+    // matching every target without a format it ends a search to, formatted targets are matched by #matching(Type)
+    private static void index(int id,
+                              Type<?> type,
+                              Map<Class<?>, List<Integer>> subtypes,
+                              Map<Container, List<Integer>> containers,
+                              Map<Type<?>, List<Integer>> matching) {
+        Set<Type<?>> targets = new HashSet<>();
+        targets.add(type);
+        if (type.container().type() instanceof Class<?> clazz) {
+            Set<Class<?>> supertypes = TypeHierarchy.of(clazz).supertypes();
+            containers.computeIfAbsent(Container.of(type.format(), clazz), _ -> new ArrayList<>()).add(id);
+            if (type.format() == Format.NONE) {
+                targets.add(Type.of(Object.class));
+            }
+            for (Class<?> supertype : supertypes) {
+                subtypes.computeIfAbsent(supertype, _ -> new ArrayList<>()).add(id);
+                // moving to a supertype also ends a search to any of its supertypes, including Object for interfaces
+                targets.add(Type.of(supertype));
+            }
+            if (!supertypes.isEmpty()) {
+                targets.add(Type.of(Object.class));
+            }
+        }
+        for (Type<?> target : targets) {
+            matching.computeIfAbsent(target, _ -> new ArrayList<>()).add(id);
+        }
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> lists) {
+        Map<K, int[]> arrays = new HashMap<>();
+        lists.forEach((key, ids) -> arrays.put(key, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return arrays;
+    }
+
+    // appends the ids of the given lists to the arrays of a copy of the given index
+    private static <K> Map<K, int[]> merge(Map<K, int[]> index, Map<K, List<Integer>> appended) {
+        Map<K, int[]> merged = new HashMap<>(index);
+        appended.forEach((key, ids) -> {
+            int[] present = merged.getOrDefault(key, NO_PEERS);
+            int[] grown = Arrays.copyOf(present, present.length + ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                grown[present.length + i] = ids.get(i);
+            }
+            merged.put(key, grown);
+        });
+        return merged;
+    }
+
+    private static void count(Type<?> type, Map<Integer, Integer> formatCounts) {
+        if (type.format() != Format.NONE) {
+            formatCounts.merge(type.format().formatHashCode(), 1, Integer::sum);
+        }
+    }
+
+    /// Creates a snapshot that additionally contains the given edges. The rows of this snapshot are shared, the edges
+    /// are appended behind them. Edges that are already part of this snapshot are skipped, because the rows might have
+    /// been built from an adjacency list that already contained them. If vertices were appended, the new snapshot adds
+    /// them to copies of the subtype, container and matching indexes, otherwise it shares them with this snapshot.
+    ///
+    /// Appending is only valid if no other snapshot was appended to this one, callers must serialize it.
+    ///
+    /// @param edges       the source and target [Type] of every registered edge, in registration order
+    /// @param adjacency   the adjacency list of the [Graph] to get the [Graph.Vertex] of the edges from
+    /// @param formatIndex the index of all formatted vertices with outgoing edges, see [#of(Map, Map, long)]
+    /// @param version     the [Graph#version()] that was reached by the registrations
+    /// @return the new snapshot or `null` if the appended part of the rows is full and the rows must be built anew
+    @Nullable
+    Topology append(@NotNull List<Map.Entry<Type<?>, Type<?>>> edges,
+                    @NotNull Map<Type<?>, Map<Type<?>, Graph.Vertex>> adjacency,
+                    @NotNull Map<Integer, Set<Type<?>>> formatIndex,
+                    long version) {
+        if (edges.isEmpty()) {
+            return new Topology(version, ids, appendedIds, types, rowCount, edgeOffsets, rowEdges, edgeCount,
+                    edgeSources, edgeTargets, edgeVertices, reverseOffsets, reverseEdges, nextAppended,
+                    nextAppendedIncoming, appendedHeads, appendedIncomingHeads, formatBuckets, formatCounts,
+                    subtypes, containers, matching);
+        }
+        if (edgeCount + edges.size() > edgeTargets.length) {
+            return null;
+        }
+
+        Map<Type<?>, Integer> newIds = new HashMap<>(appendedIds);
+        List<Type<?>> newTypes = new ArrayList<>();
+        Set<Integer> touchedFormats = new HashSet<>();
+        int[] heads = appendedHeads;
+        int[] incomingHeads = appendedIncomingHeads;
+        int count = edgeCount;
+        for (Map.Entry<Type<?>, Type<?>> edge : edges) {
+            Type<?> source = edge.getKey();
+            Type<?> target = edge.getValue();
+            Map<Type<?>, Graph.Vertex> targets = adjacency.get(source);
+            Graph.Vertex vertex = targets == null ? null : targets.get(target);
+            if (vertex == null) {
+                return null;
+            }
+
+            int known = newTypes.size();
+            int sourceId = appendedId(source, newIds, newTypes);
+            int targetId = appendedId(target, newIds, newTypes);
+            if (newTypes.size() > known) {
+                int size = types.length + newTypes.size();
+                if (heads.length < size) {
+                    heads = grow(heads, size);
+                    incomingHeads = grow(incomingHeads, size);
+                }
+            } else if (contains(sourceId, targetId, heads)) {
+                continue;
+            }
+            if (heads == appendedHeads) {
+                heads = appendedHeads.clone();
+                incomingHeads = appendedIncomingHeads.clone();
+            }
+            if (source.format() != Format.NONE) {
+                touchedFormats.add(source.format().formatHashCode());
+            }
+
+            edgeSources[count] = sourceId;
+            edgeTargets[count] = targetId;
+            edgeVertices[count] = vertex;
+            nextAppended[count] = heads[sourceId];
+            heads[sourceId] = count;
+            nextAppendedIncoming[count] = incomingHeads[targetId];
+            incomingHeads[targetId] = count;
+            count++;
+        }
+        if (count == edgeCount) {
+            return append(List.of(), adjacency, formatIndex, version);
+        }
+
+        Map<Integer, Integer> newFormatCounts = formatCounts;
+        if (!newTypes.isEmpty()) {
+            newFormatCounts = new HashMap<>(formatCounts);
+            for (Type<?> type : newTypes) {
+                count(type, newFormatCounts);
+            }
+        }
+        Map<Integer, int[]> buckets = formatBuckets;
+        if (!touchedFormats.isEmpty()) {
+            buckets = new HashMap<>(formatBuckets);
+            for (int hash : touchedFormats) {
+                buckets.put(hash, bucket(formatIndex.getOrDefault(hash, Set.of()), ids, newIds));
+            }
+        }
+        Type<?>[] allTypes = types;
+        Map<Class<?>, int[]> newSubtypes = subtypes;
+        Map<Container, int[]> newContainers = containers;
+        Map<Type<?>, int[]> newMatching = matching;
+        if (!newTypes.isEmpty()) {
+            allTypes = Arrays.copyOf(types, types.length + newTypes.size());
+            Map<Class<?>, List<Integer>> appendedSubtypes = new HashMap<>();
+            Map<Container, List<Integer>> appendedContainers = new HashMap<>();
+            Map<Type<?>, List<Integer>> appendedMatching = new HashMap<>();
+            for (int i = 0; i < newTypes.size(); i++) {
+                allTypes[types.length + i] = newTypes.get(i);
+                index(types.length + i, newTypes.get(i), appendedSubtypes, appendedContainers, appendedMatching);
+            }
+            newSubtypes = merge(subtypes, appendedSubtypes);
+            newContainers = merge(containers, appendedContainers);
+            newMatching = merge(matching, appendedMatching);
+        }
+        return new Topology(version, ids, Map.copyOf(newIds), allTypes, rowCount, edgeOffsets, rowEdges, count,
+                edgeSources, edgeTargets, edgeVertices, reverseOffsets, reverseEdges, nextAppended,
+                nextAppendedIncoming, heads, incomingHeads, buckets, newFormatCounts, newSubtypes, newContainers,
+                newMatching);
+    }
+
+    private static int[] grow(int[] heads, int size) {
+        int[] grown = Arrays.copyOf(heads, size);
+        Arrays.fill(grown, heads.length, size, -1);
+        return grown;
+    }
+
+    // gets the id of the given vertex, assigning the next free id if it is a new vertex
+    private int appendedId(Type<?> type, Map<Type<?>, Integer> newIds, List<Type<?>> newTypes) {
+        Integer id = ids.get(type);
+        if (id != null) {
+            return id;
+        }
+        return newIds.computeIfAbsent(type, _ -> {
+            newTypes.add(type);
+            return types.length + newTypes.size() - 1;
+        });
+    }
+
+    private boolean contains(int sourceId, int targetId, int[] heads) {
+        if (sourceId < rowCount) {
+            for (int edge = edgeOffsets[sourceId]; edge < edgeOffsets[sourceId + 1]; edge++) {
+                if (edgeTargets[edge] == targetId) {
+                    return true;
+                }
+            }
+        }
+        for (int edge = heads[sourceId]; edge >= 0; edge = nextAppended[edge]) {
+            if (edgeTargets[edge] == targetId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// Gets the [Graph#version()] this snapshot was created from.
+    ///
+    /// @return the version of this snapshot
+    long version() {
+        return version;
+    }
+
+    /// Gets the amount of vertices of this snapshot.
+    ///
+    /// @return the amount of vertices
+    int size() {
+        return types.length;
+    }
+
+    /// Gets the id of the given [Type].
+    ///
+    /// @param type the [Type] to get the id of
+    /// @return the id of the vertex or `-1` if the [Type] isn't a vertex of this snapshot
+    int id(@NotNull Type<?> type) {
+        Integer id = ids.get(type);
+        if (id == null && !appendedIds.isEmpty()) {
+            id = appendedIds.get(type);
+        }
+        return id == null ? -1 : id;
+    }
+
+    /// Gets the [Type] of the vertex with the given id.
+    ///
+    /// @param id the id of the vertex
+    /// @return the [Type] of the vertex
+    @NotNull
+    Type<?> type(int id) {
+        return types[id];
+    }
+
+    /// Gets the first outgoing edge of the given vertex.
+    ///
+    /// @param id the id of the vertex
+    /// @return the index of the first outgoing edge or `-1` if the vertex has no outgoing edges
+    int firstEdge(int id) {
+        if (id < rowCount && edgeOffsets[id] < edgeOffsets[id + 1]) {
+            return edgeOffsets[id];
+        }
+        return appendedHeads[id];
+    }
+
+    /// Gets the outgoing edge of the same vertex that follows the given edge.
+    ///
+    /// @param edge the index of the edge
+    /// @return the index of the next outgoing edge or `-1` if the given edge was the last one
+    int nextEdge(int edge) {
+        if (edge >= rowEdges) {
+            return nextAppended[edge];
+        }
+        int source = edgeSources[edge];
+        return edge + 1 < edgeOffsets[source + 1] ? edge + 1 : appendedHeads[source];
+    }
+
+    /// Gets the id of the vertex the given edge points to.
+    ///
+    /// @param edge the index of the edge
+    /// @return the id of the target vertex
+    int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /// Gets the id of the vertex the given edge starts at.
+    ///
+    /// @param edge the index of the edge
+    /// @return the id of the source vertex
+    int edgeSource(int edge) {
+        return edgeSources[edge];
+    }
+
+    /// Gets the [Graph.Vertex] holding the mapper of the given edge.
+    ///
+    /// @param edge the index of the edge
+    /// @return the [Graph.Vertex] of the edge
+    @NotNull
+    Graph.Vertex edgeVertex(int edge) {
+        return edgeVertices[edge];
+    }
+
+    /// Gets the first incoming edge of the given vertex. Incoming edges are walked by a cursor, use
+    /// [#incomingEdge(int)] to get the edge the cursor points to.
+    ///
+    /// @param id the id of the vertex
+    /// @return the cursor of the first incoming edge or `-1` if the vertex has no incoming edges
+    int firstIncoming(int id) {
+        if (id < rowCount && reverseOffsets[id] < reverseOffsets[id + 1]) {
+            return reverseOffsets[id];
+        }
+        return appendedIncomingHeads[id];
+    }
+
+    /// Gets the cursor of the incoming edge of the same vertex that follows the given one.
+    ///
+    /// @param incoming the cursor of the incoming edge
+    /// @return the cursor of the next incoming edge or `-1` if the given edge was the last one
+    int nextIncoming(int incoming) {
+        // appended edges are their own cursor, they are stored behind the rows
+        if (incoming >= rowEdges) {
+            return nextAppendedIncoming[incoming];
+        }
+        int target = edgeTargets[reverseEdges[incoming]];
+        return incoming + 1 < reverseOffsets[target + 1] ? incoming + 1 : appendedIncomingHeads[target];
+    }
+
+    /// Gets the edge the given cursor of an incoming edge points to.
+    ///
+    /// @param incoming the cursor of the incoming edge
+    /// @return the index of the edge
+    int incomingEdge(int incoming) {
+        return incoming >= rowEdges ? incoming : reverseEdges[incoming];
+    }
+
+    /// Gets the ids of all vertices the path search can move from to the given vertex by moving to a supertype. These
+    /// are all vertices whose class is a subtype of the class of the given vertex, if the given vertex has no [Format].
+    ///
+    /// @param id the id of the vertex
+    /// @return the ids of all subtype vertices
+    int[] subtypes(int id) {
+        Type<?> type = types[id];
+        if (type.format() != Format.NONE || !(type.container().type() instanceof Class<?> clazz)) {
+            return NO_PEERS;
+        }
+        return subtypes.getOrDefault(clazz, NO_PEERS);
+    }
+
+    /// Gets the ids of all vertices whose container is the given [Class] and whose [Format] might be compatible with the
+    /// given [Format]. Callers still have to check the compatibility, see [#formatPeers(Format)].
+    ///
+    /// @param format    the [Format] to get the candidates for
+    /// @param container the container [Class] of the candidates
+    /// @return the ids of the candidate vertices
+    int[] containers(@NotNull Format format, @NotNull Class<?> container) {
+        return containers.getOrDefault(Container.of(format, container), NO_PEERS);
+    }
+
+    /// Gets the ids of all vertices a path search to the given target ends at, see [ReachabilityIndex#matches(Type, Type)].
+    /// A formatted target also matches vertices with a compatible but unequal [Format], thus the vertices of its class
+    /// and of its subclasses are checked with [Graph#equalsSubtype(Type, Type)] instead of being looked up.
+    ///
+    /// @param target the destination [Type] of the search
+    /// @return the ids of the matching vertices
+    int[] matching(@NotNull Type<?> target) {
+        if (target.format() == Format.NONE || !(target.container().type() instanceof Class<?> clazz)) {
+            return matching.getOrDefault(target, NO_PEERS);
+        }
+        IntStream candidates = clazz == Object.class
+                ? IntStream.range(0, types.length)
+                : IntStream.concat(Arrays.stream(containers(target.format(), clazz)),
+                        Arrays.stream(subtypes.getOrDefault(clazz, NO_PEERS)));
+        return candidates.filter(id -> Graph.equalsSubtype(types[id], target)).toArray();
+    }
+
+    /// Whether another vertex might have a [Format] compatible with the format of the given vertex. Only then a
+    /// container conversion can lead from a vertex to the given vertex.
+    ///
+    /// @param id the id of the vertex
+    /// @return `false` if no other vertex has a compatible [Format]
+    boolean sharesFormat(int id) {
+        Format format = types[id].format();
+        return format != Format.NONE && formatCounts.get(format.formatHashCode()) > 1;
+    }
+
+    /// Gets the ids of all vertices with outgoing edges that might have a format compatible with the given [Format].
+    /// Callers still have to check the compatibility with [Type#equalsFormat(Type)], because different formats can
+    /// share the same [Format#formatHashCode()].
+    ///
+    /// @param format the [Format] to get the candidates for
+    /// @return the ids of the candidate vertices
+    int[] formatPeers(@NotNull Format format) {
+        return formatBuckets.getOrDefault(format.formatHashCode(), NO_PEERS);
+    }
+
+    // compatible formats share their hash code, thus the vertices of a container are grouped by it
+    private record Container(int formatHash, @NotNull Class<?> type) {
+
+        @NotNull
+        static Container of(@NotNull Format format, @NotNull Class<?> type) {
+            return new Container(format.formatHashCode(), type);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.kaktushose.proteus.graph;
+
+import io.github.kaktushose.proteus.type.Type;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/// The supertypes of a [Class] as seen by the path search of a [Graph].
+///
+/// Walking the reflection hierarchy of a class is expensive for deep interface hierarchies, thus every hierarchy is
+/// computed once and cached in a [ClassValue], which doesn't prevent the class from being unloaded. All [Type]s of a
+/// hierarchy are format-less, cached per class and already enforce strict mode, so the path search can move to them
+/// without allocating.
+final class TypeHierarchy {
+
+    private static final ClassValue<Type<?>> STRICT = new ClassValue<>() {
+        @Override
+        protected Type<?> computeValue(Class<?> type) {
+            return Type.of(type).withStrict(true);
+        }
+    };
+
+    private static final ClassValue<TypeHierarchy> HIERARCHIES = new ClassValue<>() {
+        @Override
+        protected TypeHierarchy computeValue(Class<?> type) {
+            return new TypeHierarchy(type);
+        }
+    };
+
+    private final List<Type<?>> moves;
+    private final Set<Class<?>> supertypes;
+
+    private TypeHierarchy(@NotNull Class<?> clazz) {
+        List<Type<?>> moves = new ArrayList<>();
+        for (Class<?> superclass = clazz.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+            moves.add(STRICT.get(superclass));
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        collectInterfaces(clazz, interfaces);
+        for (Class<?> anInterface : interfaces) {
+            moves.add(STRICT.get(anInterface));
+        }
+        this.moves = List.copyOf(moves);
+
+        Set<Class<?>> supertypes = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(clazz);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            if (current.getSuperclass() != null && supertypes.add(current.getSuperclass())) {
+                queue.add(current.getSuperclass());
+            }
+            for (Class<?> anInterface : current.getInterfaces()) {
+                if (supertypes.add(anInterface)) {
+                    queue.add(anInterface);
+                }
+            }
+        }
+        this.supertypes = Collections.unmodifiableSet(supertypes);
+    }
+
+    private static void collectInterfaces(@NotNull Class<?> clazz, @NotNull Set<Class<?>> interfaces) {
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            if (interfaces.add(anInterface)) {
+                collectInterfaces(anInterface, interfaces);
+            }
+        }
+    }
+
+    /// Gets the hierarchy of the given class.
+    ///
+    /// @param clazz the [Class] to get the hierarchy of
+    /// @return the cached [TypeHierarchy]
+    @NotNull
+    static TypeHierarchy of(@NotNull Class<?> clazz) {
+        return HIERARCHIES.get(clazz);
+    }
+
+    /// Gets the canonical [Type] of the given class that enforces strict mode.
+    ///
+    /// @param clazz the container [Class] of the [Type]
+    /// @return the strict [Type] with [io.github.kaktushose.proteus.type.Format#NONE]
+    @NotNull
+    static Type<?> strict(@NotNull Class<?> clazz) {
+        return STRICT.get(clazz);
+    }
+
+    /// Gets the [Type]s the path search can move to directly from the class in strict mode. These are all superclasses,
+    /// nearest first, followed by the interfaces implemented by the class itself and their superinterfaces, in
+    /// declaration order.
+    ///
+    /// @return the [Type]s to move to
+    @NotNull
+    List<Type<?>> moves() {
+        return moves;
+    }
+
+    /// Gets all supertypes of the class the path search can move to, either directly or by moving to a supertype first.
+    /// These are the superclasses and all interfaces implemented by the class or one of its superclasses, excluding the
+    /// class itself, in breadth-first order.
+    ///
+    /// @return the supertypes of the class
+    @NotNull
+    Set<Class<?>> supertypes() {
+        return supertypes;
+    }
+}
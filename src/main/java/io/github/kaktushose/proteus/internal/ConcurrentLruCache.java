@@ -21,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -181,6 +182,14 @@ public final class ConcurrentLruCache<K, V> {
         return this.cache.containsKey(key);
     }
 
+    /// Return a snapshot of the keys currently present in this cache.
+    ///
+    /// @return an unmodifiable [Set] of the present keys
+    @NotNull
+    public Set<K> keys() {
+        return Set.copyOf(this.cache.keySet());
+    }
+
     /// Immediately remove the given key and any associated value.
     ///
     /// @param key the key to evict the entry for
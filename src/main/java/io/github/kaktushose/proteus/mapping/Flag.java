@@ -4,6 +4,17 @@ package io.github.kaktushose.proteus.mapping;
 public enum Flag {
 
     /// If this flag is enabled, the [Mapper] will not allow subtypes as an input.
-    STRICT_SUB_TYPES
+    STRICT_SUB_TYPES,
+
+    /// Marks the [Mapper] as lossless, meaning that it never returns a [MappingResult.Lossy] result. If multiple paths
+    /// have the same cost, the path with the most lossless [Mapper]s will be used.
+    ///
+    /// @implNote This flag is only used as a hint for path finding, the actual [MappingResult] is still checked at runtime.
+    LOSSLESS,
+
+    /// Marks the [Mapper] as lossy, meaning that it returns [MappingResult.Lossy] results. Paths for lossless conversions
+    /// never contain such [Mapper]s, thus a lossless conversion fails without calling any mapper if only lossy paths
+    /// exist. Cannot be combined with [#LOSSLESS].
+    LOSSY
 
 }
@@ -0,0 +1,198 @@
+package io.github.kaktushose.proteus.mapping;
+
+import io.github.kaktushose.proteus.mapping.Mapper.UniMapper;
+import org.jetbrains.annotations.NotNull;
+
+/// A [UniMapper] between two primitive types that can be called without boxing its input and output.
+///
+/// Primitive mappers are registered like any other [Mapper] and are used by every conversion. Additionally, if every
+/// mapper along a conversion path is a primitive mapper, `Proteus#convertToInt`, `Proteus#convertToLong` and
+/// `Proteus#convertToDouble` run the whole path on primitive values without allocating.
+///
+/// Primitive mappers exist for all combinations of `int`, `long` and `double`. Narrowing mappers, such as
+/// [DoubleToIntMapper], only accept values in the range of their target type, see [DoubleToIntMapper#accepts(double)].
+/// Values out of range fail the mapping.
+///
+/// # Example:
+/// ```
+/// proteus.register(celsius, fahrenheit, (DoubleToDoubleMapper) value -> value * 1.8 + 32);
+/// ```
+///
+/// @param <S> the boxed source type
+/// @param <T> the boxed target type
+public sealed interface PrimitiveMapper<S, T> extends UniMapper<S, T> {
+
+    /// A [PrimitiveMapper] from `int` to `int`.
+    @FunctionalInterface
+    non-sealed interface IntToIntMapper extends PrimitiveMapper<Integer, Integer> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        int map(int source);
+
+        @NotNull
+        @Override
+        default MappingResult<Integer> from(@NotNull Integer source, @NotNull MappingContext<Integer, Integer> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A [PrimitiveMapper] from `int` to `long`.
+    @FunctionalInterface
+    non-sealed interface IntToLongMapper extends PrimitiveMapper<Integer, Long> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        long map(int source);
+
+        @NotNull
+        @Override
+        default MappingResult<Long> from(@NotNull Integer source, @NotNull MappingContext<Integer, Long> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A [PrimitiveMapper] from `int` to `double`.
+    @FunctionalInterface
+    non-sealed interface IntToDoubleMapper extends PrimitiveMapper<Integer, Double> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        double map(int source);
+
+        @NotNull
+        @Override
+        default MappingResult<Double> from(@NotNull Integer source, @NotNull MappingContext<Integer, Double> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A narrowing [PrimitiveMapper] from `long` to `int`.
+    @FunctionalInterface
+    non-sealed interface LongToIntMapper extends PrimitiveMapper<Long, Integer> {
+
+        /// Called only if [#accepts(long)] returned `true`.
+        ///
+        /// @param source the value to convert from
+        /// @return the converted value
+        int map(long source);
+
+        /// Whether the given value can be converted. By default, these are all values in the range of `int`.
+        ///
+        /// @param source the value to convert from
+        /// @return `true` if the value can be converted
+        default boolean accepts(long source) {
+            return source >= Integer.MIN_VALUE && source <= Integer.MAX_VALUE;
+        }
+
+        @NotNull
+        @Override
+        default MappingResult<Integer> from(@NotNull Long source, @NotNull MappingContext<Long, Integer> context) {
+            if (!accepts(source)) {
+                return MappingResult.failure("Number out of range for integer");
+            }
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A [PrimitiveMapper] from `long` to `long`.
+    @FunctionalInterface
+    non-sealed interface LongToLongMapper extends PrimitiveMapper<Long, Long> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        long map(long source);
+
+        @NotNull
+        @Override
+        default MappingResult<Long> from(@NotNull Long source, @NotNull MappingContext<Long, Long> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A [PrimitiveMapper] from `long` to `double`.
+    @FunctionalInterface
+    non-sealed interface LongToDoubleMapper extends PrimitiveMapper<Long, Double> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        double map(long source);
+
+        @NotNull
+        @Override
+        default MappingResult<Double> from(@NotNull Long source, @NotNull MappingContext<Long, Double> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A narrowing [PrimitiveMapper] from `double` to `int`.
+    @FunctionalInterface
+    non-sealed interface DoubleToIntMapper extends PrimitiveMapper<Double, Integer> {
+
+        /// Called only if [#accepts(double)] returned `true`.
+        ///
+        /// @param source the value to convert from
+        /// @return the converted value
+        int map(double source);
+
+        /// Whether the given value can be converted. By default, these are all values in the range of `int`.
+        ///
+        /// @param source the value to convert from
+        /// @return `true` if the value can be converted
+        default boolean accepts(double source) {
+            return !(source < Integer.MIN_VALUE || source > Integer.MAX_VALUE);
+        }
+
+        @NotNull
+        @Override
+        default MappingResult<Integer> from(@NotNull Double source, @NotNull MappingContext<Double, Integer> context) {
+            if (!accepts(source)) {
+                return MappingResult.failure("Number out of range for integer");
+            }
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A narrowing [PrimitiveMapper] from `double` to `long`.
+    @FunctionalInterface
+    non-sealed interface DoubleToLongMapper extends PrimitiveMapper<Double, Long> {
+
+        /// Called only if [#accepts(double)] returned `true`.
+        ///
+        /// @param source the value to convert from
+        /// @return the converted value
+        long map(double source);
+
+        /// Whether the given value can be converted. By default, these are all values in the range of `long`.
+        ///
+        /// @param source the value to convert from
+        /// @return `true` if the value can be converted
+        default boolean accepts(double source) {
+            return !(source < Long.MIN_VALUE || source > Long.MAX_VALUE);
+        }
+
+        @NotNull
+        @Override
+        default MappingResult<Long> from(@NotNull Double source, @NotNull MappingContext<Double, Long> context) {
+            if (!accepts(source)) {
+                return MappingResult.failure("Number out of range for long");
+            }
+            return MappingResult.lossless(map(source));
+        }
+    }
+
+    /// A [PrimitiveMapper] from `double` to `double`.
+    @FunctionalInterface
+    non-sealed interface DoubleToDoubleMapper extends PrimitiveMapper<Double, Double> {
+
+        /// @param source the value to convert from
+        /// @return the converted value
+        double map(double source);
+
+        @NotNull
+        @Override
+        default MappingResult<Double> from(@NotNull Double source, @NotNull MappingContext<Double, Double> context) {
+            return MappingResult.lossless(map(source));
+        }
+    }
+}
@@ -13,4 +13,16 @@ public interface Format {
     /// @return `true` if this format is compatible with the given [Format]
     boolean equals(Format other);
 
+    /// Returns a hash code that is consistent with [#equals(Format)], meaning that two formats that are equal must
+    /// return the same hash code. It is used to look up compatible formats without comparing against every registered
+    /// format.
+    ///
+    /// @implSpec The default implementation returns `0`, which is consistent with every implementation of
+    /// [#equals(Format)], but will put all formats into the same bucket. Override this method to speed up path finding.
+    ///
+    /// @return the hash code of this format
+    default int formatHashCode() {
+        return 0;
+    }
+
 }
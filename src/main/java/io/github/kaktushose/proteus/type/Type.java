@@ -8,11 +8,23 @@ import java.util.Objects;
 
 /// Representation of a type that can be converted from and into.
 ///
+/// @implNote Only types without a [Format] whose container is a [Class] are canonical, see [#of(Class)]. Types with a
+/// [Format] and types of parameterized [TypeReference]s are created on every call and compared by [#equals(Object)].
+/// Their hash code is computed on every call from the hash code of the [Format] and the hash code of the container,
+/// which [TypeReference] computes once. Types don't carry an id, the graph assigns dense ids to its vertices itself.
+///
 /// @param format    the [Format] describing this type
 /// @param container the [TypeReference] used to hold the data of this type
 /// @param <T>       the type of the [TypeReference]
 public record Type<T>(@NotNull Format format, @NotNull TypeReference<T> container, boolean enforceStrictMode) {
 
+    private static final ClassValue<Type<?>> CANONICAL = new ClassValue<>() {
+        @Override
+        protected Type<?> computeValue(Class<?> type) {
+            return new Type<>(Format.NONE, TypeReference.of(type), false);
+        }
+    };
+
     public Type {
         Objects.requireNonNull(format);
         Objects.requireNonNull(container);
@@ -22,10 +34,11 @@ public record Type<T>(@NotNull Format format, @NotNull TypeReference<T> containe
     /// that will have the [Format#NONE].
     ///
     /// @param value the object [Object#getClass()] should be called on
-    /// @return a new [Type] with [Format#NONE] and the container defined by `value`
+    /// @return the canonical [Type] with [Format#NONE] and the container defined by `value`
+    @SuppressWarnings("unchecked")
     public static Type<Object> dynamic(@NotNull Object value) {
         Objects.requireNonNull(value);
-        return new Type<>(Format.NONE, new TypeReference<>(value.getClass()) {}, false);
+        return (Type<Object>) CANONICAL.get(value.getClass());
     }
 
     /// Creates a new [Type] with the given [Format] and container [Class]. Primitive types will be converted to their
@@ -37,27 +50,39 @@ public record Type<T>(@NotNull Format format, @NotNull TypeReference<T> containe
     /// @return a new [Type] with the given [Format] and container [Class]
     @NotNull
     public static <T> Type<T> of(@NotNull Format format, @NotNull Class<T> container) {
-        return new Type<>(format, new TypeReference<>(wrap(container)) {}, false);
+        if (format == Format.NONE) {
+            return of(container);
+        }
+        return new Type<>(format, TypeReference.of(wrap(container)), false);
     }
 
-    /// Creates a new [Type] with the given container [Class] that will have the [Format#NONE]. Primitive types will be
+    /// Gets the [Type] of the given container [Class] that will have the [Format#NONE]. Primitive types will be
     ///  converted to their corresponding wrapper types.
     ///
+    /// @implNote Types without a [Format] are canonical, that is each container [Class] always returns the same [Type]
+    /// instance.
+    ///
     /// @param container the [Class] that will be used to hold the data of the [Type]
     /// @param <T>       the type of the container [Class]
-    /// @return a new [Type] with [Format#NONE] and the given container [Class]
+    /// @return the canonical [Type] with [Format#NONE] and the given container [Class]
     @NotNull
+    @SuppressWarnings("unchecked")
     public static <T> Type<T> of(@NotNull Class<T> container) {
-        return new Type<>(Format.NONE, new TypeReference<>(wrap(container)) {}, false);
+        return (Type<T>) CANONICAL.get(wrap(container));
     }
 
-    /// Creates a new [Type] with the given container [TypeReference] that will have the [Format#NONE].
+    /// Creates a new [Type] with the given container [TypeReference] that will have the [Format#NONE]. If the
+    /// [TypeReference] refers to a [Class], the canonical [Type] of that class is returned.
     ///
     /// @param container the [TypeReference] that will be used to hold the data of the [Type]
     /// @param <T>       the type of the container [TypeReference]
-    /// @return a new [Type] with the given [Format] and the [Format#NONE]
+    /// @return a [Type] with the given [Format] and the [Format#NONE]
     @NotNull
+    @SuppressWarnings("unchecked")
     public static <T> Type<T> of(@NotNull TypeReference<T> container) {
+        if (container.type() instanceof Class<?> clazz) {
+            return (Type<T>) CANONICAL.get(clazz);
+        }
         return new Type<>(Format.NONE, container, false);
     }
 
@@ -84,18 +109,22 @@ public record Type<T>(@NotNull Format format, @NotNull TypeReference<T> containe
     /// @param enforceStrictMode weather the copy should enforce strict mode
     /// @return a copy of this type with the value for [Type#enforceStrictMode()] set to the parameter
     public Type<T> withStrict(boolean enforceStrictMode) {
+        if (this.enforceStrictMode == enforceStrictMode) {
+            return this;
+        }
         return new Type<>(format, container, enforceStrictMode);
     }
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (!(o instanceof Type<?> type)) return false;
-        return Objects.equals(format, type.format) && Objects.equals(container, type.container);
+        return container.equals(type.container) && Objects.equals(format, type.format);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(format, container);
+        return 31 * format.hashCode() + container.hashCode();
     }
 
     @NotNull
@@ -40,7 +40,15 @@ import java.lang.reflect.Type;
 /// @see <a href="https://gafter.blogspot.nl/2006/12/super-type-tokens.html">Neal Gafter on Super Type Tokens</a>
 public abstract class TypeReference<T> {
 
+    private static final ClassValue<TypeReference<?>> CLASSES = new ClassValue<>() {
+        @Override
+        protected TypeReference<?> computeValue(Class<?> type) {
+            return new TypeReference<Object>(type) {};
+        }
+    };
+
     private final Type type;
+    private final int hash;
 
     @SuppressWarnings("unused")
     protected TypeReference() {
@@ -55,10 +63,23 @@ public abstract class TypeReference<T> {
         }
 
         this.type = actualTypeArguments[0];
+        this.hash = this.type.hashCode();
     }
 
     protected TypeReference(Type type) {
         this.type = type;
+        this.hash = type.hashCode();
+    }
+
+    /// Gets the canonical [TypeReference] of the given [Class]. Each [Class] has exactly one canonical instance.
+    ///
+    /// @param type the [Class] to get the [TypeReference] for
+    /// @param <T>  the type of the [Class]
+    /// @return the canonical [TypeReference] of the given [Class]
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <T> TypeReference<T> of(@NotNull Class<T> type) {
+        return (TypeReference<T>) CLASSES.get(type);
     }
 
     @NotNull
@@ -79,12 +100,12 @@ public abstract class TypeReference<T> {
 
     @Override
     public boolean equals(@Nullable Object other) {
-        return (this == other || (other instanceof TypeReference<?> that && this.type.equals(that.type)));
+        return (this == other || (other instanceof TypeReference<?> that && this.hash == that.hash && this.type.equals(that.type)));
     }
 
     @Override
     public int hashCode() {
-        return this.type.hashCode();
+        return this.hash;
     }
 
     @Override
@@ -4,5 +4,6 @@ module io.github.kaktushose.proteus {
     exports io.github.kaktushose.proteus.mapping;
     exports io.github.kaktushose.proteus.conversion;
     exports io.github.kaktushose.proteus.type;
+    exports io.github.kaktushose.proteus.annotation;
     exports io.github.kaktushose.proteus;
 }
\ No newline at end of file
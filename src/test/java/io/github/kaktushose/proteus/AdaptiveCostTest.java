@@ -0,0 +1,64 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.ProteusBuilder.ConflictStrategy;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveCostTest {
+
+    private static final Type<String> SOURCE = Type.of(new TestFormat("source"), String.class);
+    private static final Type<String> MIDDLE = Type.of(new TestFormat("middle"), String.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Graph graph;
+
+    @BeforeEach
+    void init() {
+        graph = new Graph(100, 0.5);
+        graph.register(SOURCE, TARGET, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1);
+        graph.register(SOURCE, MIDDLE, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1);
+        graph.register(MIDDLE, TARGET, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1);
+    }
+
+    @Test
+    void sample_withSlowCheapMapper_ShouldMoveToFasterPath() {
+        ConversionPlan.Step direct = graph.plan(SOURCE, TARGET).step(0);
+        ConversionPlan.Step first = graph.plan(SOURCE, MIDDLE).step(0);
+        ConversionPlan.Step second = graph.plan(MIDDLE, TARGET).step(0);
+        assertEquals(1, graph.plan(SOURCE, TARGET).size());
+
+        for (int i = 0; i < 10; i++) {
+            graph.sample(direct, 1_000);
+            graph.sample(first, 10);
+            graph.sample(second, 10);
+        }
+
+        assertEquals(2, graph.plan(SOURCE, TARGET).size());
+    }
+
+    @Test
+    void sample_withStableLatencies_ShouldNotReRank() {
+        ConversionPlan.Step direct = graph.plan(SOURCE, TARGET).step(0);
+        ConversionPlan.Step first = graph.plan(SOURCE, MIDDLE).step(0);
+        long version = graph.version();
+
+        for (int i = 0; i < 100; i++) {
+            graph.sample(direct, 100 + i % 3);
+            graph.sample(first, 100 - i % 3);
+        }
+
+        assertEquals(version, graph.version());
+        assertEquals(1, graph.plan(SOURCE, TARGET).size());
+    }
+
+    @Test
+    void adaptiveCosts_withNonPositiveThreshold_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Proteus.builder().adaptiveCosts(0));
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Format;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidirectionalSearchTest {
+
+    private static final Type<String> SOURCE = Type.of(new TestFormat("source"), String.class);
+    private static final Type<String> MIDDLE = Type.of(new TestFormat("middle"), String.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().searchStrategy(SearchStrategy.BIDIRECTIONAL).build();
+    }
+
+    @Test
+    void conversion_withCheaperLongerPath_ShouldUseCheaperPath() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("expensive")), 10);
+        proteus.register(SOURCE, MIDDLE, Mapper.uni((s, _) -> MappingResult.lossless(s)), 2);
+        proteus.register(MIDDLE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("cheap")), 2);
+
+        assertEquals(new ConversionResult.Success<>("cheap", true), proteus.convert("INPUT", SOURCE, TARGET));
+    }
+
+    @Test
+    void conversion_withRegistrationAfterLookup_ShouldUseNewPath() {
+        proteus.register(SOURCE, MIDDLE, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND,
+                ((ConversionResult.Failure<?>) proteus.convert("INPUT", SOURCE, TARGET)).errorType());
+
+        proteus.register(MIDDLE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("found")));
+
+        assertEquals(new ConversionResult.Success<>("found", true), proteus.convert("INPUT", SOURCE, TARGET));
+    }
+
+    @Test
+    void conversion_withPathOverSuperType_ShouldConvert() {
+        proteus.register(Type.of(FirstType.class), Type.of(SubType.class), Mapper.uni((_, _) -> MappingResult.lossless(new SubType())));
+        proteus.register(Type.of(SuperType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("super")));
+
+        assertEquals(new ConversionResult.Success<>("super", true), proteus.convert(new FirstType(), Type.of(FirstType.class), TARGET));
+    }
+
+    @Test
+    void conversion_withStrictSubTypes_ShouldReturnNoPathFound() {
+        proteus.register(Type.of(FirstType.class), Type.of(SubType.class), Mapper.uni((_, _) -> MappingResult.lossless(new SubType())));
+        proteus.register(Type.of(SuperType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("super")), Flag.STRICT_SUB_TYPES);
+
+        var result = proteus.convert(new FirstType(), Type.of(FirstType.class), TARGET);
+
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, ((ConversionResult.Failure<?>) result).errorType());
+    }
+
+    @Test
+    void existsPath_withContainerConversion_ShouldReturnTrue() {
+        final Format firstFormat = new TestFormat("firstFormat");
+        final Format secondFormat = new TestFormat("secondFormat");
+
+        proteus.register(Type.of(firstFormat, FirstType.class), Type.of(secondFormat, SecondType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+        proteus.register(Type.of(FirstType.class), Type.of(SecondType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+
+        assertTrue(proteus.existsPath(Type.of(secondFormat, FirstType.class), Type.of(secondFormat, SecondType.class)));
+    }
+
+    @Test
+    void conversion_withContainerConversionBeforeEdge_ShouldConvert() {
+        final Format format = new TestFormat("format");
+        final Type<FirstType> first = Type.of(format, FirstType.class);
+        final Type<SecondType> second = Type.of(format, SecondType.class);
+
+        proteus.register(Type.of(FirstType.class), Type.of(SecondType.class), Mapper.uni((_, _) -> MappingResult.lossless(new SecondType())));
+        proteus.register(second, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("container")));
+        proteus.register(first, MIDDLE, Mapper.uni((_, _) -> MappingResult.lossless("middle")));
+
+        assertEquals(new ConversionResult.Success<>("container", true), proteus.convert(new FirstType(), first, TARGET));
+    }
+
+    private record FirstType() {}
+
+    private record SecondType() {}
+
+    private interface SuperType {}
+
+    private record SubType() implements SuperType {}
+}
@@ -0,0 +1,71 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkConversionTest {
+
+    private static final Type<String> SOURCE = Type.of(new TestFormat("source"), String.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void bulkConversion_withRegisteredPath_ShouldConvertAllValues() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((s, _) -> MappingResult.lossless(s + "!")));
+
+        BulkResult<String> result = proteus.convertAll(List.of("a", "b", "c"), SOURCE, TARGET);
+
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("a!", "b!", "c!"), result.values());
+        assertEquals(new ConversionResult.Success<>("b!", true), result.result(1));
+    }
+
+    @Test
+    void bulkConversion_withFailingElements_ShouldIndexFailures() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((s, _) ->
+                s.isEmpty() ? MappingResult.failure("empty") : MappingResult.lossless(s)
+        ));
+
+        BulkResult<String> result = proteus.convertAll(new String[]{"a", "", "c", ""}, SOURCE, TARGET);
+
+        assertFalse(result.isSuccess());
+        assertArrayEquals(new int[]{1, 3}, result.failedIndices());
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, result.failure(1).errorType());
+        assertNull(result.failure(2));
+        assertEquals("c", result.value(2));
+    }
+
+    @Test
+    void bulkConversion_withLossyMapper_ShouldFailLossless() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+
+        BulkResult<String> lossy = proteus.convertAll(List.of("a"), SOURCE, TARGET);
+        BulkResult<String> lossless = proteus.convertAll(List.of("a"), SOURCE, TARGET, true);
+
+        assertEquals(new ConversionResult.Success<>("a", false), lossy.result(0));
+        assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, lossless.failure(0).errorType());
+    }
+
+    @Test
+    void bulkConversion_withNoPath_ShouldFailAllValues() {
+        BulkResult<String> result = proteus.convertAll(List.of("a", "b"), SOURCE, TARGET);
+
+        assertEquals(2, result.failureCount());
+        assertArrayEquals(new int[]{0, 1}, result.failedIndices());
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, result.failure(0).errorType());
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPlanTest {
+
+    private static final Type<String> FIRST = Type.of(new TestFormat("first"), String.class);
+    private static final Type<String> SECOND = Type.of(new TestFormat("second"), String.class);
+    private static final Type<String> THIRD = Type.of(new TestFormat("third"), String.class);
+    private static final StackWalker WALKER = StackWalker.getInstance(
+            Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE, StackWalker.Option.SHOW_HIDDEN_FRAMES)
+    );
+
+    private static boolean compiled() {
+        return compiledClass() != null;
+    }
+
+    private static Class<?> compiledClass() {
+        return WALKER.walk(frames -> frames.map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type.isHidden() && type.getName().contains("CompiledPlanTemplate"))
+                .findFirst()
+                .orElse(null));
+    }
+
+    @Test
+    void compiledPlan_afterThreshold_ShouldRunInHiddenClass() {
+        Proteus proteus = Proteus.builder().compileThreshold(2).build();
+        List<Boolean> calls = new ArrayList<>();
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> {
+            calls.add(compiled());
+            return MappingResult.lossless(s + "2");
+        }));
+        proteus.register(SECOND, THIRD, Mapper.uni((s, _) -> MappingResult.lossless(s + "3")));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(new ConversionResult.Success<>("a23", true), proteus.convert("a", FIRST, THIRD));
+        }
+
+        assertEquals(List.of(false, false, true, true), calls);
+    }
+
+    @Test
+    void compiledPlan_withFailingAndLossySteps_ShouldMatchUncompiledResults() {
+        Proteus proteus = Proteus.builder().compileThreshold(0).build();
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+        proteus.register(SECOND, THIRD, Mapper.uni((s, _) ->
+                s.isEmpty() ? MappingResult.failure("empty") : MappingResult.lossless(s)
+        ));
+
+        assertEquals(new ConversionResult.Success<>("a", true), proteus.convert("a", FIRST, THIRD));
+
+        var failure = (ConversionResult.Failure<?>) proteus.convert("", FIRST, THIRD);
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, failure.errorType());
+        assertEquals(SECOND, failure.context().step().from());
+
+        var lossless = (ConversionResult.Failure<?>) proteus.convert("a", FIRST, THIRD, true);
+        assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, lossless.errorType());
+        assertEquals(FIRST, lossless.context().step().from());
+    }
+
+    @Test
+    void compiledPlan_withTooManySteps_ShouldStayFused() {
+        Proteus proteus = Proteus.builder().compileThreshold(0).build();
+        List<Type<String>> types = new ArrayList<>();
+        for (int i = 0; i <= PlanCompiler.MAX_STEPS + 1; i++) {
+            types.add(Type.of(new TestFormat("step" + i), String.class));
+        }
+        for (int i = 0; i < types.size() - 1; i++) {
+            proteus.register(types.get(i), types.get(i + 1), Mapper.uni((s, _) -> {
+                assertFalse(compiled());
+                return MappingResult.lossless(s + "!");
+            }));
+        }
+
+        var result = proteus.convert("a", types.getFirst(), types.getLast());
+
+        assertEquals(new ConversionResult.Success<>("a" + "!".repeat(PlanCompiler.MAX_STEPS + 1), true), result);
+    }
+
+    @Test
+    void compiledPlan_beyondBudget_ShouldRevertFirstCompiledPlan() {
+        Proteus proteus = Proteus.builder().compileThreshold(0).build();
+        List<Boolean> calls = new ArrayList<>();
+        proteus.register(FIRST, THIRD, Mapper.uni((s, _) -> {
+            calls.add(compiled());
+            return MappingResult.lossless(s);
+        }));
+        proteus.convert("a", FIRST, THIRD);
+
+        for (int i = 0; i < PlanCompiler.MAX_COMPILED_PLANS; i++) {
+            Type<String> source = Type.of(new TestFormat("source" + i), String.class);
+            proteus.register(source, THIRD, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+            proteus.convert("a", source, THIRD);
+        }
+        proteus.convert("a", FIRST, THIRD);
+
+        assertEquals(List.of(true, false), calls);
+    }
+
+    @Test
+    void compiledPlan_afterRegistrationWithSamePath_ShouldStayCompiled() {
+        Proteus proteus = Proteus.builder().compileThreshold(2).build();
+        List<Boolean> calls = new ArrayList<>();
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> {
+            calls.add(compiled());
+            return MappingResult.lossless(s + "2");
+        }));
+        proteus.register(SECOND, THIRD, Mapper.uni((s, _) -> MappingResult.lossless(s + "3")));
+        for (int i = 0; i < 3; i++) {
+            proteus.convert("a", FIRST, THIRD);
+        }
+
+        // affects the cached plan, but the search finds the same path again
+        proteus.register(FIRST, Type.of(new TestFormat("fourth"), String.class), Mapper.uni((s, _) -> MappingResult.lossless(s)));
+
+        assertEquals(new ConversionResult.Success<>("a23", true), proteus.convert("a", FIRST, THIRD));
+        assertEquals(List.of(false, false, true, true), calls);
+    }
+
+    @Test
+    void compiledPlan_withDroppedInstance_ShouldUnloadHiddenClass() throws InterruptedException {
+        WeakReference<Class<?>> hiddenClass = compileAndDrop();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hiddenClass.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(hiddenClass.get());
+    }
+
+    private static WeakReference<Class<?>> compileAndDrop() {
+        Proteus proteus = Proteus.builder().compileThreshold(0).build();
+        List<Class<?>> classes = new ArrayList<>();
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> {
+            classes.add(compiledClass());
+            return MappingResult.lossless(s);
+        }));
+        proteus.convert("a", FIRST, SECOND);
+
+        assertNotNull(classes.getFirst());
+        return new WeakReference<>(classes.getFirst());
+    }
+
+    @Test
+    void compileThreshold_withNegativeValue_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Proteus.builder().compileThreshold(-1));
+    }
+}
@@ -38,4 +38,25 @@ class ContainerConversionTest {
         assertEquals(ConversionResult.Success.class, result.getClass());
         assertEquals(String.valueOf(input), ((ConversionResult.Success<String>) result).value());
     }
+
+    @Test
+    void conversion_withFormatWithoutHashCode_ShouldWork() {
+        final Format format = new UnhashedFormat("unhashed");
+        proteus = Proteus.builder().defaultMappers(ProteusBuilder.DefaultMapper.WIDENING_PRIMITIVE).build();
+        proteus.from(Type.of(format, Long.class)).into(TEST_TYPE_THREE, Mapper.uni((s, _) ->
+                MappingResult.lossless(String.valueOf(s)))
+        );
+
+        var result = proteus.convert(10, Type.of(format, Integer.class), TEST_TYPE_THREE);
+
+        assertEquals(new ConversionResult.Success<>("10", true), result);
+    }
+
+    private record UnhashedFormat(String name) implements Format {
+
+        @Override
+        public boolean equals(Format other) {
+            return other instanceof UnhashedFormat(String otherName) && name.equals(otherName);
+        }
+    }
 }
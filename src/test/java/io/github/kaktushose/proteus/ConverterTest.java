@@ -0,0 +1,65 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConverterTest {
+
+    private static final Type<String> SOURCE = Type.of(new TestFormat("source"), String.class);
+    private static final Type<String> MIDDLE = Type.of(new TestFormat("middle"), String.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void converter_withRegisteredPath_ShouldConvert() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((s, _) -> MappingResult.lossless(s + "!")));
+        Converter<String, String> converter = proteus.converter(SOURCE, TARGET);
+
+        assertEquals(new ConversionResult.Success<>("a!", true), converter.convert("a"));
+        assertEquals(new ConversionResult.Success<>("b!", true), converter.convert("b"));
+    }
+
+    @Test
+    void converter_withRegistrationAfterLookup_ShouldUseNewPath() {
+        proteus.register(SOURCE, MIDDLE, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+        Converter<String, String> converter = proteus.converter(SOURCE, TARGET);
+        var result = converter.convert("INPUT");
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, ((ConversionResult.Failure<?>) result).errorType());
+
+        proteus.register(MIDDLE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("found")));
+
+        assertEquals(new ConversionResult.Success<>("found", true), converter.convert("INPUT"));
+    }
+
+    @Test
+    void converter_withOverriddenMapper_ShouldUseNewMapper() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("old")));
+        Converter<String, String> converter = proteus.converter(SOURCE, TARGET);
+        assertEquals(new ConversionResult.Success<>("old", true), converter.convert("INPUT"));
+
+        proteus.register(SOURCE, TARGET, Mapper.uni((_, _) -> MappingResult.lossless("new")), ProteusBuilder.ConflictStrategy.OVERRIDE);
+
+        assertEquals(new ConversionResult.Success<>("new", true), converter.convert("INPUT"));
+    }
+
+    @Test
+    void converter_withLossyPath_ShouldFailLossless() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+        Converter<String, String> converter = proteus.converter(SOURCE, TARGET, true);
+
+        var result = converter.convert("INPUT");
+
+        assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, ((ConversionResult.Failure<?>) result).errorType());
+    }
+}
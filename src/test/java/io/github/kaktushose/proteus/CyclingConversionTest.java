@@ -9,6 +9,9 @@ import io.github.kaktushose.proteus.type.Type;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CyclingConversionTest {
@@ -47,6 +50,22 @@ class CyclingConversionTest {
         assertThrows(CyclingConversionException.class, () -> proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO));
     }
 
+    @Test
+    void conversion_withSelfCallAfterWarmup_ShouldThrow() {
+        AtomicInteger calls = new AtomicInteger();
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> {
+            if (calls.incrementAndGet() > 1000) {
+                proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO);
+            }
+            return MappingResult.lossless(s);
+        }));
+        for (int i = 0; i < 1000; i++) {
+            proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO);
+        }
+
+        assertThrows(CyclingConversionException.class, () -> proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO));
+    }
+
     @Test
     void conversion_withNestedCall_ShouldWork() {
         proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) ->
@@ -70,4 +89,43 @@ class CyclingConversionTest {
 
         assertDoesNotThrow(() ->proteus.convert("INPUT", TEST_TYPE_ONE, TEST_TYPE_TWO, false));
     }
+
+    @Test
+    void conversion_afterCyclingCall_ShouldClearCallstack() {
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> {
+            proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO);
+            return MappingResult.lossless(s);
+        }));
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_THREE, Mapper.uni((s, _) ->
+                MappingResult.lossless(s)
+        ));
+
+        var exception = assertThrows(CyclingConversionException.class, () -> proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO));
+        assertTrue(exception.getMessage().contains("was called by"));
+
+        assertDoesNotThrow(() -> proteus.convert("INPUT", TEST_TYPE_ONE, TEST_TYPE_THREE));
+    }
+
+    @Test
+    void conversion_withCyclingCallOnVirtualThread_ShouldThrow() throws InterruptedException {
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> {
+            proteus.convert("", TEST_TYPE_TWO, TEST_TYPE_ONE);
+            return MappingResult.lossless(s);
+        }));
+        proteus.from(TEST_TYPE_TWO).into(TEST_TYPE_ONE, Mapper.uni((s, _) -> {
+            proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO);
+            return MappingResult.lossless(s);
+        }));
+
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                proteus.convert("", TEST_TYPE_ONE, TEST_TYPE_TWO);
+            } catch (Throwable throwable) {
+                thrown.set(throwable);
+            }
+        }).join();
+
+        assertInstanceOf(CyclingConversionException.class, thrown.get());
+    }
 }
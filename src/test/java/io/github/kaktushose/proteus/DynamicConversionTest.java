@@ -0,0 +1,99 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicConversionTest {
+
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void dynamicConversion_withRegisteredPath_ShouldConvert() {
+        proteus.register(Type.of(FirstType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("first")));
+
+        assertEquals(new ConversionResult.Success<>("first", true), proteus.convertDynamic(new FirstType(), TARGET));
+        assertEquals(new ConversionResult.Success<>("first", true), proteus.convertDynamic(new FirstType(), TARGET));
+    }
+
+    @Test
+    void dynamicConversion_withDifferentRuntimeClasses_ShouldUseMatchingPath() {
+        proteus.register(Type.of(FirstType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("first")));
+        proteus.register(Type.of(SecondType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("second")));
+
+        assertEquals(new ConversionResult.Success<>("first", true), proteus.convertDynamic(new FirstType(), TARGET));
+        assertEquals(new ConversionResult.Success<>("second", true), proteus.convertDynamic(new SecondType(), TARGET));
+    }
+
+    @Test
+    void dynamicConversion_withRegistrationAfterLookup_ShouldUseNewPath() {
+        var result = proteus.convertDynamic(new FirstType(), TARGET);
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, ((ConversionResult.Failure<?>) result).errorType());
+
+        proteus.register(Type.of(FirstType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless("first")));
+
+        assertEquals(new ConversionResult.Success<>("first", true), proteus.convertDynamic(new FirstType(), TARGET));
+    }
+
+    @Test
+    void dynamicConversion_withRuntimeClassAsTarget_ShouldReturnSourceValue() {
+        FirstType value = new FirstType();
+
+        assertEquals(new ConversionResult.Success<>(value, true), proteus.convertDynamic(value, Type.of(FirstType.class)));
+    }
+
+    @Test
+    void dynamicConversion_withDroppedInstance_ShouldBeCollected() throws InterruptedException {
+        WeakReference<Proteus> dropped = convertDynamicAndDrop();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dropped.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(dropped.get());
+    }
+
+    @Test
+    void dynamicRoutes_withMoreClassesThanLimit_ShouldEvictLeastUsedClass() {
+        DynamicRoutes routes = new DynamicRoutes(new Graph(1000), 2);
+
+        routes.plan(FirstType.class, TARGET, false);
+        routes.plan(SecondType.class, TARGET, false);
+        routes.plan(FirstType.class, TARGET, false);
+        routes.plan(ThirdType.class, TARGET, false);
+
+        assertTrue(routes.contains(FirstType.class));
+        assertFalse(routes.contains(SecondType.class));
+        assertTrue(routes.contains(ThirdType.class));
+    }
+
+    private static WeakReference<Proteus> convertDynamicAndDrop() {
+        Proteus instance = Proteus.builder().defaultMappers().build();
+        // the mapper references the instance, like mappers that convert nested values do
+        instance.register(Type.of(FirstType.class), TARGET, Mapper.uni((_, _) -> MappingResult.lossless(instance.toString())));
+        instance.convertDynamic(new FirstType(), TARGET);
+        return new WeakReference<>(instance);
+    }
+
+    private record FirstType() {}
+
+    private record SecondType() {}
+
+    private record ThirdType() {}
+}
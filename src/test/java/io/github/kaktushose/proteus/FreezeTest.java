@@ -0,0 +1,151 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.ProteusBuilder.ConflictStrategy;
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.Flag;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Format;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreezeTest {
+
+    private static final Type<String> TEST_TYPE_ONE = Type.of(new TestFormat("TestTypeOne"), String.class);
+    private static final Type<String> TEST_TYPE_TWO = Type.of(new TestFormat("TestTypeTwo"), String.class);
+    private static final Type<String> TEST_TYPE_THREE = Type.of(new TestFormat("TestTypeThree"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void frozenConversion_withRegisteredPath_ShouldConvert() {
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s + "2")));
+        proteus.from(TEST_TYPE_TWO).into(TEST_TYPE_THREE, Mapper.uni((s, _) -> MappingResult.lossless(s + "3")));
+
+        Proteus frozen = proteus.freeze();
+
+        assertTrue(frozen.isFrozen());
+        assertEquals(new ConversionResult.Success<>("123", true), frozen.convert("1", TEST_TYPE_ONE, TEST_TYPE_THREE));
+    }
+
+    @Test
+    void frozenConversion_withDefaultMappers_ShouldConvert() {
+        Proteus frozen = Proteus.create().freeze();
+
+        assertEquals(new ConversionResult.Success<>(10L, true), frozen.convert(10, Type.of(Integer.class), Type.of(Long.class)));
+    }
+
+    @Test
+    void frozenConversion_withUnreachableVertex_ShouldReturnNoPathFound() {
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+
+        Proteus frozen = proteus.freeze();
+        var result = frozen.convert("1", TEST_TYPE_TWO, TEST_TYPE_ONE);
+
+        assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, ((ConversionResult.Failure<?>) result).errorType());
+    }
+
+    @Test
+    void frozenConversion_withSubTypeOfVertex_ShouldConvert() {
+        proteus.from(Type.of(CharSequence.class)).into(TEST_TYPE_ONE, Mapper.uni((s, _) -> MappingResult.lossless(s.toString())));
+
+        Proteus frozen = proteus.freeze();
+
+        assertEquals(new ConversionResult.Success<>("1", true), frozen.convert(CharBuffer.wrap("1"), Type.of(CharBuffer.class), TEST_TYPE_ONE));
+    }
+
+    @Test
+    void register_onFrozenInstance_ShouldThrow() {
+        Proteus frozen = proteus.freeze();
+
+        assertThrows(IllegalStateException.class, () ->
+                frozen.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s)))
+        );
+    }
+
+    @Test
+    void register_afterFreeze_ShouldNotAffectFrozenInstance() {
+        Proteus frozen = proteus.freeze();
+
+        proteus.from(TEST_TYPE_ONE).into(TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+
+        assertTrue(proteus.existsPath(TEST_TYPE_ONE, TEST_TYPE_TWO));
+        assertFalse(frozen.existsPath(TEST_TYPE_ONE, TEST_TYPE_TWO));
+    }
+
+    @Test
+    void freeze_withMixedGraph_ShouldResolveSamePathsAsSearch() {
+        Graph graph = new Graph(1000);
+        Type<String> one = Type.of(new TestFormat("one"), String.class);
+        Type<CharSequence> sequence = Type.of(new TestFormat("one"), CharSequence.class);
+        Type<Integer> number = Type.of(new TestFormat("two"), Integer.class);
+        List<Type<?>> types = List.of(one, sequence, number, TEST_TYPE_ONE, TEST_TYPE_TWO, TEST_TYPE_THREE,
+                Type.of(String.class), Type.of(CharSequence.class), Type.of(StringBuilder.class), Type.of(Integer.class), Type.of(Long.class));
+        graph.register(TEST_TYPE_ONE, TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1);
+        graph.register(TEST_TYPE_TWO, TEST_TYPE_THREE, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1, Flag.LOSSY);
+        graph.register(TEST_TYPE_ONE, TEST_TYPE_THREE, Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 2, Flag.LOSSLESS);
+        graph.register(TEST_TYPE_THREE, Type.of(String.class), Mapper.uni((s, _) -> MappingResult.lossless(s)), ConflictStrategy.FAIL, 1);
+        graph.register(Type.of(CharSequence.class), one, Mapper.uni((s, _) -> MappingResult.lossless(s.toString())), ConflictStrategy.FAIL, 1);
+        graph.register(Type.of(StringBuilder.class), Type.of(String.class), Mapper.uni((s, _) -> MappingResult.lossless(s.toString())), ConflictStrategy.FAIL, 1);
+        graph.register(Type.of(String.class), Type.of(Integer.class), Mapper.uni((s, _) -> MappingResult.lossy(s.length())), ConflictStrategy.FAIL, 1, Flag.LOSSY);
+        graph.register(Type.of(Integer.class), Type.of(Long.class), Mapper.uni((i, _) -> MappingResult.lossless((long) i)), ConflictStrategy.FAIL, 1);
+        graph.register(Type.of(Long.class), Type.of(Integer.class), Mapper.uni((l, _) -> MappingResult.lossy(l.intValue())), ConflictStrategy.FAIL, 1, Flag.LOSSY);
+        graph.register(number, sequence, Mapper.uni((i, _) -> MappingResult.lossless(String.valueOf(i))), ConflictStrategy.FAIL, 1);
+        graph.register(sequence, TEST_TYPE_ONE, Mapper.uni((s, _) -> MappingResult.lossless(s.toString())), ConflictStrategy.FAIL, 3);
+
+        Graph frozen = graph.freeze();
+
+        for (Type<?> source : types) {
+            for (Type<?> target : types) {
+                for (boolean lossless : new boolean[]{false, true}) {
+                    assertEquals(graph.plan(source, target, lossless).path(), frozen.plan(source, target, lossless).path(),
+                            "%s -> %s (lossless: %s)".formatted(source, target, lossless));
+                }
+            }
+        }
+    }
+
+    @Test
+    void frozenConversion_withSuperTypeOfCompatibleFormat_ShouldEqualUnfrozenConversion() {
+        Type<String> head = Type.of(new VersionedFormat("versioned", 1), String.class);
+        Type<CharSequence> target = Type.of(new VersionedFormat("versioned", 2), CharSequence.class);
+        ConversionResult<CharSequence> expected = new ConversionResult.Success<>("12", true);
+
+        for (SearchStrategy strategy : SearchStrategy.values()) {
+            Proteus unfrozen = Proteus.builder().defaultMappers().searchStrategy(strategy).build();
+            unfrozen.from(TEST_TYPE_ONE).into(head, Mapper.uni((s, _) -> MappingResult.lossless(s + "2")));
+            // the target has no outgoing edges, thus it can only be reached by moving from the head to its supertype
+            unfrozen.from(TEST_TYPE_TWO).into(target, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+            Proteus frozen = unfrozen.freeze();
+
+            assertEquals(expected, unfrozen.convert("1", TEST_TYPE_ONE, target), strategy.name());
+            assertEquals(expected, frozen.convert("1", TEST_TYPE_ONE, target), strategy.name());
+        }
+    }
+
+    // compatible with every version of the same name, but only equal to the same version
+    private record VersionedFormat(String name, int version) implements Format {
+
+        @Override
+        public boolean equals(Format other) {
+            return other instanceof VersionedFormat(String otherName, int _) && name.equals(otherName);
+        }
+
+        @Override
+        public int formatHashCode() {
+            return name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedPlanTest {
+
+    private static final Type<String> FIRST = Type.of(new TestFormat("first"), String.class);
+    private static final Type<String> SECOND = Type.of(new TestFormat("second"), String.class);
+    private static final Type<String> THIRD = Type.of(new TestFormat("third"), String.class);
+    private static final Type<String> FOURTH = Type.of(new TestFormat("fourth"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void fusedPlan_withMultipleSteps_ShouldApplyAllMappersInOrder() {
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> MappingResult.lossless(s + "2")));
+        proteus.register(SECOND, THIRD, Mapper.uni((s, _) -> MappingResult.lossless(s + "3")));
+        proteus.register(THIRD, FOURTH, Mapper.uni((s, _) -> MappingResult.lossless(s + "4")));
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(new ConversionResult.Success<>(i + "234", true), proteus.convert(String.valueOf(i), FIRST, FOURTH));
+        }
+    }
+
+    @Test
+    void fusedPlan_withLossyStep_ShouldReportLastStep() {
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+        proteus.register(SECOND, THIRD, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+        proteus.register(THIRD, FOURTH, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+
+        assertEquals(new ConversionResult.Success<>("a", true), proteus.convert("a", FIRST, THIRD));
+        assertEquals(new ConversionResult.Success<>("a", false), proteus.convert("a", FIRST, FOURTH));
+
+        var result = proteus.convert("a", FIRST, FOURTH, true);
+        assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, ((ConversionResult.Failure<?>) result).errorType());
+    }
+
+    @Test
+    void fusedPlan_withFailingStep_ShouldStopAtThatStep() {
+        proteus.register(FIRST, SECOND, Mapper.uni((s, _) -> MappingResult.lossless(s)));
+        proteus.register(SECOND, THIRD, Mapper.uni((_, _) -> MappingResult.failure("broken")));
+        proteus.register(THIRD, FOURTH, Mapper.uni((_, _) -> fail("must not be called")));
+
+        var failure = (ConversionResult.Failure<?>) proteus.convert("a", FIRST, FOURTH);
+
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, failure.errorType());
+        assertEquals("broken", failure.message());
+        assertNotNull(failure.context());
+        assertEquals(SECOND, failure.context().step().from());
+    }
+
+    @Test
+    void fusedPlan_withThrowingMapper_ShouldRethrow() {
+        proteus.register(FIRST, SECOND, Mapper.uni((_, _) -> {
+            throw new IllegalArgumentException("thrown");
+        }));
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> proteus.convert("a", FIRST, SECOND));
+        assertEquals("thrown", exception.getMessage());
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.kaktushose.proteus;
 
 import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Flag;
 import io.github.kaktushose.proteus.mapping.Mapper;
 import io.github.kaktushose.proteus.mapping.MappingResult;
 import io.github.kaktushose.proteus.type.Type;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class LosslessConversionTest {
 
@@ -66,4 +69,35 @@ class LosslessConversionTest {
         assertEquals(new ConversionResult.Success<>(INPUT , true), result);
     }
 
+    @Test
+    void losslessConversion_WithDeclaredLossyShortcut_ShouldUseLosslessPath() {
+        final var middle = Type.of(new TestFormat("middle"), String.class);
+        proteus.register(TEST_TYPE_ONE, TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossy(s)), Flag.LOSSY);
+        proteus.register(TEST_TYPE_ONE, middle, Mapper.uni((s, _) -> MappingResult.lossless(s)), Flag.LOSSLESS);
+        proteus.register(middle, TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossless(s)), Flag.LOSSLESS);
+
+        assertEquals(new ConversionResult.Success<>(INPUT, true), proteus.convert(INPUT, TEST_TYPE_ONE, TEST_TYPE_TWO, true));
+        assertEquals(new ConversionResult.Success<>(INPUT, false), proteus.convert(INPUT, TEST_TYPE_ONE, TEST_TYPE_TWO));
+    }
+
+    @Test
+    void losslessConversion_WithOnlyDeclaredLossyPath_ShouldFailWithoutCallingMapper() {
+        AtomicBoolean called = new AtomicBoolean();
+        proteus.register(TEST_TYPE_ONE, TEST_TYPE_TWO, Mapper.uni((s, _) -> {
+            called.set(true);
+            return MappingResult.lossy(s);
+        }), Flag.LOSSY);
+
+        var result = proteus.convert(INPUT, TEST_TYPE_ONE, TEST_TYPE_TWO, true);
+
+        assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, ((ConversionResult.Failure<?>) result).errorType());
+        assertFalse(called.get());
+    }
+
+    @Test
+    void register_WithLossyAndLosslessFlag_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> proteus.register(
+                TEST_TYPE_ONE, TEST_TYPE_TWO, Mapper.uni((s, _) -> MappingResult.lossy(s)), Flag.LOSSY, Flag.LOSSLESS
+        ));
+    }
 }
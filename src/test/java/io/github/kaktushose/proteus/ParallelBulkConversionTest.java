@@ -0,0 +1,96 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.conversion.CyclingConversionException;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBulkConversionTest {
+
+    private static final Type<Integer> SOURCE = Type.of(new TestFormat("source"), Integer.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void parallelConversion_withManyValues_ShouldKeepOrder() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) -> MappingResult.lossless(String.valueOf(i))));
+        List<Integer> values = IntStream.range(0, 100_000).boxed().toList();
+
+        BulkResult<String> result = proteus.convertAllParallel(values, SOURCE, TARGET);
+
+        assertTrue(result.isSuccess());
+        assertEquals(values.stream().map(String::valueOf).toList(), result.values());
+    }
+
+    @Test
+    void parallelConversion_withFailingElements_ShouldIndexFailuresInOrder() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) ->
+                i % 1000 == 0 ? MappingResult.failure("divisible") : MappingResult.lossless(String.valueOf(i))
+        ));
+        Integer[] values = IntStream.range(0, 10_000).boxed().toArray(Integer[]::new);
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            BulkResult<String> result = proteus.convertAllParallel(values, SOURCE, TARGET, false, pool);
+
+            assertArrayEquals(IntStream.range(0, 10).map(i -> i * 1000).toArray(), result.failedIndices());
+            assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, result.failure(2000).errorType());
+            assertEquals("2001", result.value(2001));
+        }
+    }
+
+    @Test
+    void parallelConversion_onExecutor_ShouldIndexFailuresInOrder() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) ->
+                i % 1000 == 0 ? MappingResult.failure("divisible") : MappingResult.lossless(String.valueOf(i))
+        ));
+        Integer[] values = IntStream.range(0, 10_000).boxed().toArray(Integer[]::new);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            BulkResult<String> result = proteus.convertAllParallel(values, SOURCE, TARGET, false, executor);
+
+            assertArrayEquals(IntStream.range(0, 10).map(i -> i * 1000).toArray(), result.failedIndices());
+            assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, result.failure(2000).errorType());
+            assertEquals("2001", result.value(2001));
+            assertEquals(values.length, result.values().size());
+        }
+    }
+
+    @Test
+    void parallelConversion_onExecutorWithCyclingCall_ShouldThrow() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) -> {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                proteus.convertAllParallel(new Integer[]{i}, SOURCE, TARGET, false, executor);
+            }
+            return MappingResult.lossless(String.valueOf(i));
+        }));
+
+        assertThrows(CyclingConversionException.class, () -> proteus.convert(1, SOURCE, TARGET));
+    }
+
+    @Test
+    void parallelConversion_withCyclingCall_ShouldThrow() {
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) -> {
+            proteus.convertAllParallel(List.of(i), SOURCE, TARGET);
+            return MappingResult.lossless(String.valueOf(i));
+        }));
+
+        assertThrows(CyclingConversionException.class, () -> proteus.convert(1, SOURCE, TARGET));
+    }
+}
@@ -1,6 +1,11 @@
 package io.github.kaktushose.proteus;
 
+import io.github.kaktushose.proteus.ProteusBuilder.ConflictStrategy;
+import io.github.kaktushose.proteus.ProteusBuilder.SearchStrategy;
 import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.graph.ConversionPlan;
+import io.github.kaktushose.proteus.graph.Graph;
+import io.github.kaktushose.proteus.mapping.Flag;
 import io.github.kaktushose.proteus.mapping.Mapper;
 import io.github.kaktushose.proteus.mapping.MappingResult;
 import io.github.kaktushose.proteus.type.Format;
@@ -8,6 +13,10 @@ import io.github.kaktushose.proteus.type.Type;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PathFindingTest {
@@ -43,6 +52,26 @@ class PathFindingTest {
         assertTrue(proteus.existsPath(Type.of(FirstType.class), Type.of(SecondType.class)));
     }
 
+    @Test
+    void existsPath_withRegistrationAfterLookup_ShouldReturnTrue() {
+        assertFalse(proteus.existsPath(Type.of(FirstType.class), Type.of(SecondType.class)));
+
+        proteus.register(Type.of(FirstType.class), Type.of(SecondType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+
+        assertTrue(proteus.existsPath(Type.of(FirstType.class), Type.of(SecondType.class)));
+    }
+
+    @Test
+    void conversion_withOverriddenMapperAfterLookup_ShouldUseNewMapper() {
+        final var target = Type.of(new TestFormat("target"), String.class);
+        proteus.register(TEST_TYPE_ONE, target, Mapper.uni((_, _) -> MappingResult.lossless("old")));
+        assertEquals(new ConversionResult.Success<>("old", true), proteus.convert("INPUT", TEST_TYPE_ONE, target));
+
+        proteus.register(TEST_TYPE_ONE, target, Mapper.uni((_, _) -> MappingResult.lossless("new")), ProteusBuilder.ConflictStrategy.OVERRIDE);
+
+        assertEquals(new ConversionResult.Success<>("new", true), proteus.convert("INPUT", TEST_TYPE_ONE, target));
+    }
+
     @Test
     void existsPath_withSourceAsTaget_ShouldReturnTrue() {
         assertTrue(proteus.existsPath(Type.of(FirstType.class), Type.of(FirstType.class)));
@@ -81,7 +110,149 @@ class PathFindingTest {
         assertFalse(proteus.existsPath(Type.of(secondFormat, FirstType.class), Type.of(secondFormat, SecondType.class)));
     }
 
+    @Test
+    void conversion_withCheaperLongerPath_ShouldUseCheaperPath() {
+        final var middle = Type.of(new TestFormat("middle"), String.class);
+        final var target = Type.of(new TestFormat("target"), String.class);
+        proteus.register(TEST_TYPE_ONE, target, Mapper.uni((_, _) -> MappingResult.lossless("expensive")), 10);
+        proteus.register(TEST_TYPE_ONE, middle, Mapper.uni((s, _) -> MappingResult.lossless(s)), 2);
+        proteus.register(middle, target, Mapper.uni((_, _) -> MappingResult.lossless("cheap")), 2);
+
+        assertEquals(new ConversionResult.Success<>("cheap", true), proteus.convert("INPUT", TEST_TYPE_ONE, target));
+    }
+
+    @Test
+    void conversion_withSameCost_ShouldPreferLosslessPath() {
+        final var lossy = Type.of(new TestFormat("lossy"), String.class);
+        final var lossless = Type.of(new TestFormat("lossless"), String.class);
+        final var target = Type.of(new TestFormat("target"), String.class);
+        proteus.register(TEST_TYPE_ONE, lossy, Mapper.uni((s, _) -> MappingResult.lossy(s)));
+        proteus.register(lossy, target, Mapper.uni((_, _) -> MappingResult.lossless("lossy")), Flag.LOSSLESS);
+        proteus.register(TEST_TYPE_ONE, lossless, Mapper.uni((s, _) -> MappingResult.lossless(s)), Flag.LOSSLESS);
+        proteus.register(lossless, target, Mapper.uni((_, _) -> MappingResult.lossless("lossless")), Flag.LOSSLESS);
+
+        assertEquals(new ConversionResult.Success<>("lossless", true), proteus.convert("INPUT", TEST_TYPE_ONE, target));
+    }
+
+    @Test
+    void register_withNegativeCost_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () ->
+                proteus.register(Type.of(FirstType.class), Type.of(SecondType.class), Mapper.uni((_, _) -> MappingResult.failure("")), -1)
+        );
+    }
+
+    @Test
+    void existsPath_withPathOverSuperType_ShouldReturnTrue() {
+        proteus.register(Type.of(SubType.class), Type.of(FirstType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+        proteus.register(Type.of(SuperType.class), Type.of(SecondType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+
+        assertTrue(proteus.existsPath(Type.of(SubType.class), Type.of(SecondType.class)));
+        assertFalse(proteus.existsPath(Type.of(SuperType.class), Type.of(FirstType.class)));
+    }
+
+    @Test
+    void existsPath_withSubTypeOfTarget_ShouldReturnTrue() {
+        proteus.register(Type.of(FirstType.class), Type.of(SubType.class), Mapper.uni((_, _) -> MappingResult.failure("")));
+
+        assertTrue(proteus.existsPath(Type.of(FirstType.class), Type.of(SuperType.class)));
+    }
+
+    @Test
+    void plan_withRegistrationsBetweenLookups_ShouldEqualPlanOfRebuiltGraph() {
+        assertPlansOfRebuiltGraph(SearchStrategy.FORWARD);
+        assertPlansOfRebuiltGraph(SearchStrategy.BIDIRECTIONAL);
+    }
+
+    private static void assertPlansOfRebuiltGraph(SearchStrategy strategy) {
+        // edges only connect types of the same group, so that container conversions can't recurse
+        List<Type<?>> plain = new ArrayList<>();
+        List<Type<?>> formatted = new ArrayList<>();
+        for (Class<?> container : List.of(String.class, CharSequence.class, Integer.class, Number.class)) {
+            plain.add(Type.of(container));
+            for (int i = 0; i < 3; i++) {
+                formatted.add(Type.of(new TestFormat("format" + i), container));
+            }
+        }
+        List<Type<?>> types = new ArrayList<>(plain);
+        types.addAll(formatted);
+        Random random = new Random(42);
+        List<Object[]> registered = new ArrayList<>();
+        Graph incremental = new Graph(1000, 0, strategy);
+        // enough edges to exceed the capacity of the appended edges at least once
+        for (int i = 0; i < 150; i++) {
+            List<Type<?>> group = random.nextInt(4) == 0 ? plain : formatted;
+            Type<?> source = group.get(random.nextInt(group.size()));
+            Type<?> target = group.get(random.nextInt(group.size()));
+            if (source.equals(target)) {
+                continue;
+            }
+            Object[] registration = {source, target, random.nextInt(5), random.nextBoolean() ? Flag.LOSSY : Flag.LOSSLESS};
+            registered.add(registration);
+            register(incremental, registration);
+            incremental.plan(types.get(random.nextInt(types.size())), types.get(random.nextInt(types.size())));
+        }
+
+        Graph rebuilt = new Graph(1000, 0, strategy);
+        registered.forEach(registration -> register(rebuilt, registration));
+        for (Type<?> source : types) {
+            for (Type<?> target : types) {
+                for (boolean lossless : new boolean[]{false, true}) {
+                    ConversionPlan expected = rebuilt.plan(source, target, lossless);
+                    ConversionPlan actual = incremental.plan(source, target, lossless);
+                    String route = "%s -> %s (lossless: %s)".formatted(source, target, lossless);
+                    assertEquals(expected.isEmpty(), actual.isEmpty(), route);
+                    assertEquals(expected.cost(), actual.cost(), route);
+                }
+            }
+        }
+    }
+
+    @Test
+    void existsPath_withRegistrationsBetweenLookups_ShouldEqualExistsPathOfRebuiltGraph() {
+        // every formatted type has its own format, so that no container conversions are searched
+        List<Type<?>> types = new ArrayList<>();
+        for (Class<?> container : List.of(String.class, CharSequence.class, StringBuilder.class, Integer.class, Number.class, Long.class)) {
+            types.add(Type.of(container));
+            for (int i = 0; i < 2; i++) {
+                types.add(Type.of(new TestFormat(container.getSimpleName() + i), container));
+            }
+        }
+        Random random = new Random(7);
+        List<Object[]> registered = new ArrayList<>();
+        Graph incremental = new Graph(1000);
+        for (int i = 0; i < 40; i++) {
+            Type<?> source = types.get(random.nextInt(types.size()));
+            Type<?> target = types.get(random.nextInt(types.size()));
+            if (source.equals(target)) {
+                continue;
+            }
+            Object[] registration = {source, target, 1, random.nextInt(4) == 0 ? Flag.STRICT_SUB_TYPES : Flag.LOSSLESS};
+            registered.add(registration);
+            register(incremental, registration);
+            // keeps the reachability index up to date, so that the next registration extends it incrementally
+            incremental.existsPath(types.get(random.nextInt(types.size())), types.get(random.nextInt(types.size())));
+        }
+
+        Graph rebuilt = new Graph(1000);
+        registered.forEach(registration -> register(rebuilt, registration));
+        for (Type<?> source : types) {
+            for (Type<?> target : types) {
+                assertEquals(rebuilt.existsPath(source, target), incremental.existsPath(source, target), "%s -> %s".formatted(source, target));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void register(Graph graph, Object[] registration) {
+        graph.register((Type<Object>) registration[0], (Type<Object>) registration[1], Mapper.uni((s, _) -> MappingResult.lossless(s)),
+                ConflictStrategy.IGNORE, (int) registration[2], (Flag) registration[3]);
+    }
+
     private record FirstType() {}
 
     private record SecondType() {}
+
+    private interface SuperType {}
+
+    private record SubType() implements SuperType {}
 }
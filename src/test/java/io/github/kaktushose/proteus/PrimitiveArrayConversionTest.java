@@ -0,0 +1,58 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveArrayConversionTest {
+
+    private static final Type<byte[]> BYTE_ARRAY = Type.of(byte[].class);
+    private static final Type<char[]> CHARACTER_ARRAY = Type.of(char[].class);
+    private static final Type<int[]> INTEGER_ARRAY = Type.of(int[].class);
+    private static final Type<long[]> LONG_ARRAY = Type.of(long[].class);
+    private static final Type<float[]> FLOAT_ARRAY = Type.of(float[].class);
+    private static final Type<double[]> DOUBLE_ARRAY = Type.of(double[].class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder()
+                .defaultMappers(ProteusBuilder.DefaultMapper.WIDENING_PRIMITIVE_ARRAY, ProteusBuilder.DefaultMapper.NARROWING_PRIMITIVE_ARRAY)
+                .build();
+    }
+
+    @Test
+    void arrayConversion_withWidening_ShouldConvertAllElements() {
+        assertArrayEquals(new long[]{1, -2, Integer.MAX_VALUE}, proteus.convert(new int[]{1, -2, Integer.MAX_VALUE}, INTEGER_ARRAY, LONG_ARRAY).orElseThrow());
+        assertArrayEquals(new double[]{-128, 127}, proteus.convert(new byte[]{-128, 127}, BYTE_ARRAY, DOUBLE_ARRAY).orElseThrow());
+        assertArrayEquals(new int[]{'a', 'b'}, proteus.convert(new char[]{'a', 'b'}, CHARACTER_ARRAY, INTEGER_ARRAY).orElseThrow());
+    }
+
+    @Test
+    void arrayConversion_withNarrowing_ShouldConvertAllElements() {
+        assertArrayEquals(new float[]{1.5f, -2.5f}, proteus.convert(new double[]{1.5, -2.5}, DOUBLE_ARRAY, FLOAT_ARRAY).orElseThrow());
+        assertArrayEquals(new int[]{1, -2}, proteus.convert(new double[]{1.9, -2.9}, DOUBLE_ARRAY, INTEGER_ARRAY).orElseThrow());
+    }
+
+    @Test
+    void arrayConversion_withOutOfRangeElement_ShouldFailWithIndex() {
+        ConversionResult<int[]> result = proteus.convert(new double[]{1, 2, 1e20, -1e20}, DOUBLE_ARRAY, INTEGER_ARRAY);
+
+        ConversionResult.Failure<?> failure = (ConversionResult.Failure<?>) result;
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, failure.errorType());
+        assertEquals("Number out of range for integer at index 2", failure.message());
+    }
+
+    @Test
+    void arrayConversion_withEmptyArray_ShouldConvert() {
+        assertArrayEquals(new long[0], proteus.convert(new int[0], INTEGER_ARRAY, LONG_ARRAY).orElseThrow());
+    }
+
+    @Test
+    void existsPath_withDefaultInstance_ShouldNotConvertStringToArray() {
+        assertFalse(Proteus.create().existsPath(Type.of(String.class), LONG_ARRAY));
+    }
+}
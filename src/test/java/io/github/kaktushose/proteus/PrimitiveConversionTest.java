@@ -0,0 +1,94 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.DoubleToDoubleMapper;
+import io.github.kaktushose.proteus.mapping.PrimitiveMapper.DoubleToLongMapper;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveConversionTest {
+
+    private static final Type<Integer> INTEGER = Type.of(Integer.class);
+    private static final Type<Long> LONG = Type.of(Long.class);
+    private static final Type<Double> DOUBLE = Type.of(Double.class);
+    private static final Type<Double> CELSIUS = Type.of(new TestFormat("celsius"), Double.class);
+    private static final Type<Double> FAHRENHEIT = Type.of(new TestFormat("fahrenheit"), Double.class);
+    private static final Type<Long> ROUNDED = Type.of(new TestFormat("rounded"), Long.class);
+    private static Proteus proteus;
+
+    @BeforeEach
+    void init() {
+        proteus = Proteus.builder().defaultMappers().build();
+    }
+
+    @Test
+    void primitiveConversion_withDefaultMappers_ShouldConvert() {
+        Proteus proteus = Proteus.create();
+
+        assertEquals(5L, proteus.convertToLong(5, INTEGER, LONG, _ -> fail()));
+        assertEquals(5.0, proteus.convertToDouble(5, INTEGER, DOUBLE, _ -> fail()));
+        assertEquals(-7, proteus.convertToInt(-7.0, DOUBLE, INTEGER, _ -> fail()));
+        assertEquals(Long.MAX_VALUE, proteus.convertToLong(Long.MAX_VALUE, LONG, LONG, _ -> fail()));
+    }
+
+    @Test
+    void primitiveConversion_withOutOfRangeValue_ShouldCallFailureHandler() {
+        Proteus proteus = Proteus.create();
+        AtomicReference<ConversionResult.Failure<Integer>> failure = new AtomicReference<>();
+
+        int result = proteus.convertToInt(1e20, DOUBLE, INTEGER, f -> {
+            failure.set(f);
+            return -1;
+        });
+
+        assertEquals(-1, result);
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, failure.get().errorType());
+        assertEquals("Number out of range for integer", failure.get().message());
+    }
+
+    @Test
+    void primitiveConversion_withPrimitiveChain_ShouldConvert() {
+        proteus.register(CELSIUS, FAHRENHEIT, (DoubleToDoubleMapper) value -> value * 1.8 + 32);
+        proteus.register(FAHRENHEIT, ROUNDED, (DoubleToLongMapper) Math::round);
+
+        assertEquals(212L, proteus.convertToLong(100.0, CELSIUS, ROUNDED, _ -> fail()));
+        assertEquals(new ConversionResult.Success<>(212L, true), proteus.convert(100.0, CELSIUS, ROUNDED));
+    }
+
+    @Test
+    void primitiveConversion_withBoxedMapper_ShouldFallBack() {
+        proteus.register(CELSIUS, FAHRENHEIT, (DoubleToDoubleMapper) value -> value * 1.8 + 32);
+        proteus.register(FAHRENHEIT, ROUNDED, Mapper.uni((value, _) -> MappingResult.lossless(Math.round(value))));
+
+        assertEquals(212L, proteus.convertToLong(100.0, CELSIUS, ROUNDED, _ -> fail()));
+    }
+
+    @Test
+    void primitiveConversion_withLossyMapper_ShouldFailLossless() {
+        proteus.register(FAHRENHEIT, ROUNDED, Mapper.uni((value, _) -> MappingResult.lossy(Math.round(value))));
+
+        long result = proteus.convertToLong(1.5, FAHRENHEIT, ROUNDED, f -> {
+            assertEquals(ConversionResult.Failure.ErrorType.NO_LOSSLESS_CONVERSION, f.errorType());
+            return -1;
+        });
+
+        assertEquals(-1, result);
+    }
+
+    @Test
+    void primitiveConversion_withNoPath_ShouldCallFailureHandler() {
+        double result = proteus.convertToDouble(1.0, CELSIUS, FAHRENHEIT, f -> {
+            assertEquals(ConversionResult.Failure.ErrorType.NO_PATH_FOUND, f.errorType());
+            return Double.NaN;
+        });
+
+        assertTrue(Double.isNaN(result));
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.kaktushose.proteus;
+
+import io.github.kaktushose.proteus.conversion.BulkResult;
+import io.github.kaktushose.proteus.conversion.ConversionResult;
+import io.github.kaktushose.proteus.mapping.Mapper;
+import io.github.kaktushose.proteus.mapping.MappingResult;
+import io.github.kaktushose.proteus.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamConversionTest {
+
+    private static final Type<Integer> SOURCE = Type.of(new TestFormat("source"), Integer.class);
+    private static final Type<String> TARGET = Type.of(new TestFormat("target"), String.class);
+    private static Converter<Integer, String> converter;
+
+    @BeforeEach
+    void init() {
+        Proteus proteus = Proteus.builder().defaultMappers().build();
+        proteus.register(SOURCE, TARGET, Mapper.uni((i, _) ->
+                i % 10 == 0 ? MappingResult.failure("divisible") : MappingResult.lossless(String.valueOf(i))
+        ));
+        converter = proteus.converter(SOURCE, TARGET);
+    }
+
+    @Test
+    void bulkResultCollector_withParallelStream_ShouldKeepOrder() {
+        BulkResult<String> result = IntStream.range(0, 100_000).boxed().parallel().collect(converter.toBulkResult());
+
+        assertEquals(100_000, result.size());
+        assertEquals(10_000, result.failureCount());
+        assertEquals("12345", result.value(12345));
+        assertEquals(ConversionResult.Failure.ErrorType.MAPPING_FAILED, result.failure(12340).errorType());
+    }
+
+    @Test
+    void listCollector_withFailingElements_ShouldPartitionFailures() {
+        List<ConversionResult.Failure<String>> failures = new ArrayList<>();
+
+        List<String> values = IntStream.range(0, 25).boxed().collect(converter.toList(failures::add));
+
+        assertEquals(22, values.size());
+        assertEquals("1", values.getFirst());
+        assertEquals(3, failures.size());
+    }
+
+    @Test
+    void dropFailures_withParallelStream_ShouldDropFailures() {
+        Queue<ConversionResult.Failure<String>> failures = new ConcurrentLinkedQueue<>();
+
+        List<String> values = IntStream.range(0, 1_000).boxed().parallel()
+                .<String>mapMulti(converter.dropFailures(failures::add))
+                .toList();
+
+        assertEquals(900, values.size());
+        assertEquals("999", values.getLast());
+        assertEquals(100, failures.size());
+    }
+}
@@ -12,4 +12,9 @@ record TestFormat(String format) implements Format {
         return false;
     }
 
+    @Override
+    public int formatHashCode() {
+        return format.hashCode();
+    }
+
 }
@@ -4,10 +4,12 @@ import io.github.kaktushose.proteus.conversion.ConversionResult;
 import io.github.kaktushose.proteus.mapping.Mapper;
 import io.github.kaktushose.proteus.mapping.MappingResult;
 import io.github.kaktushose.proteus.type.Type;
+import io.github.kaktushose.proteus.type.TypeReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class TypeTest {
@@ -45,6 +47,14 @@ class TypeTest {
         assertEquals(Type.dynamic(1), Type.of(Integer.class));
     }
 
+    @Test
+    void typeDeclaration_withSameClass_ShouldReturnCanonicalInstance() {
+        assertSame(Type.of(Integer.class), Type.of(int.class));
+        assertSame(Type.of(Integer.class), Type.dynamic(1));
+        assertSame(Type.of(String.class), Type.of(new TypeReference<String>() {}));
+        assertEquals(Type.of(new TestFormat(""), String.class).hashCode(), Type.of(new TestFormat(""), String.class).hashCode());
+    }
+
     @Test
     void fromMappingAction_andIntoMappingAction_ShouldBeIdentical() {
         final var firstType = Type.of(new TestFormat("first"), Integer.class);